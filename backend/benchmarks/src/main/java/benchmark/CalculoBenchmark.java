@@ -0,0 +1,178 @@
+package benchmark;
+
+import dto.AnaliticaDTO;
+import dto.BattleSimulateRequest;
+import dto.BattleSimulateResponse;
+import dto.ComparacionDTO;
+import dto.PokemonSimilarDTO;
+import dto.QuizDTO;
+import dto.TeamOptimizeRequest;
+import dto.TeamOptimizeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.AnaliticaService;
+import service.BattleSimulatorService;
+import service.CatalogoService;
+import service.ComparadorService;
+import service.EfectividadService;
+import service.QuizService;
+import service.SimilaresService;
+import service.TeamOptimizerService;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculos sobre la instantánea del catálogo: optimizador de equipos, simulador de
+ * combates, quiz, similares, comparador y analítica
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CalculoBenchmark {
+
+    private static final int SIMULACIONES = 10_000;
+    private static final int ANCHO_HAZ = 256;
+    private static final int SIN_LIMITE_MS = 60_000;
+
+    private TeamOptimizerService teamOptimizerService;
+    private BattleSimulatorService battleSimulatorService;
+    private QuizService quizService;
+    private SimilaresService similaresService;
+    private ComparadorService comparadorService;
+    private AnaliticaService analiticaService;
+    private CatalogoService catalogoService;
+    private int[] ids;
+
+    @Setup
+    public void preparar() {
+        teamOptimizerService = Entorno.bean(TeamOptimizerService.class);
+        battleSimulatorService = Entorno.bean(BattleSimulatorService.class);
+        quizService = Entorno.bean(QuizService.class);
+        similaresService = Entorno.bean(SimilaresService.class);
+        comparadorService = Entorno.bean(ComparadorService.class);
+        analiticaService = Entorno.bean(AnaliticaService.class);
+        catalogoService = Entorno.bean(CatalogoService.class);
+        ids = Entorno.idsPokemon();
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    /**
+     * Búsqueda en haz con presupuesto de 50 ms (mide el tiempo hasta la mejor solución o el límite)
+     */
+    @Benchmark
+    public TeamOptimizeResponse optimizarEquipo() {
+        TeamOptimizeRequest request = new TeamOptimizeRequest();
+        request.setTamano(6);
+        request.setPresupuestoMs(50);
+        return teamOptimizerService.optimizar(request);
+    }
+
+    /**
+     * Aceleración con el número de núcleos: la misma búsqueda completa (haz de
+     * ANCHO_HAZ, sin corte por tiempo) con un pool fork-join de 1, 2, 4 y 8 hilos
+     */
+    @Benchmark
+    public TeamOptimizeResponse optimizarEquipoConHilos(Paralelismo paralelismo) {
+        TeamOptimizeRequest request = new TeamOptimizeRequest();
+        request.setTamano(6);
+        request.setAnchoHaz(ANCHO_HAZ);
+        request.setPresupuestoMs(SIN_LIMITE_MS);
+        return paralelismo.servicio.optimizar(request);
+    }
+
+    /**
+     * SIMULACIONES combates 3 contra 3 (simulaciones/s = SIMULACIONES / tiempo)
+     */
+    @Benchmark
+    public BattleSimulateResponse simularCombates() {
+        BattleSimulateRequest request = new BattleSimulateRequest();
+        request.setEquipoA(List.of(ids[0], ids[1], ids[2]));
+        request.setEquipoB(List.of(ids[3], ids[4], ids[5]));
+        request.setSimulaciones(SIMULACIONES);
+        request.setSemilla(7L);
+        return battleSimulatorService.simular(request);
+    }
+
+    @Benchmark
+    public QuizDTO generarQuiz() {
+        return quizService.generar("normal", null, 10, ThreadLocalRandom.current().nextLong(), null);
+    }
+
+    @Benchmark
+    public List<PokemonSimilarDTO> similares() {
+        return similaresService.similares(idAleatorio(), 10, false);
+    }
+
+    @Benchmark
+    public List<PokemonSimilarDTO> similaresPorTipos() {
+        return similaresService.similares(idAleatorio(), 10, true);
+    }
+
+    /**
+     * Tres Pokémon distintos (consecutivos a partir de uno aleatorio)
+     */
+    @Benchmark
+    public ComparacionDTO comparar() {
+        int i = ThreadLocalRandom.current().nextInt(ids.length - 2);
+        return comparadorService.comparar(List.of(ids[i], ids[i + 1], ids[i + 2]));
+    }
+
+    /**
+     * Analítica recalculada: se invalida la instantánea en cada llamada
+     * (incluye reconstruir la instantánea del catálogo)
+     */
+    @Benchmark
+    public AnaliticaDTO analiticaCompleta() {
+        catalogoService.invalidar();
+        return analiticaService.obtener();
+    }
+
+    private int idAleatorio() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    /**
+     * Optimizador con un pool propio de 'hilos' hilos (el de la aplicación usa todos los núcleos)
+     */
+    @State(Scope.Benchmark)
+    public static class Paralelismo {
+
+        @Param({"1", "2", "4", "8"})
+        public int hilos;
+
+        private ForkJoinPool pool;
+        private TeamOptimizerService servicio;
+
+        @Setup
+        public void preparar() {
+            pool = new ForkJoinPool(hilos);
+            servicio = new TeamOptimizerService(Entorno.bean(CatalogoService.class),
+                    Entorno.bean(EfectividadService.class), pool, SIN_LIMITE_MS, SIN_LIMITE_MS);
+        }
+
+        @TearDown
+        public void cerrar() {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.PokemonDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.PokemonService;
+import service.VisitasService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas del catálogo: montaje de PokemonDTO, búsqueda por nombre y serialización JSON
+ *
+ * obtenerPorIdConVisita mide lo mismo que obtenerPorId más el contador de visitas
+ * de la ficha: la diferencia es el coste que añade al camino de lectura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogoBenchmark {
+
+    private PokemonService pokemonService;
+    private VisitasService visitasService;
+    private ObjectMapper objectMapper;
+    private int[] ids;
+    private List<PokemonDTO> listado;
+
+    @Setup
+    public void preparar() {
+        pokemonService = Entorno.bean(PokemonService.class);
+        visitasService = Entorno.bean(VisitasService.class);
+        objectMapper = Entorno.bean(ObjectMapper.class);
+        ids = Entorno.idsPokemon();
+        listado = pokemonService.obtenerPorGeneracion(1);
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    @Benchmark
+    public PokemonDTO obtenerPorId() {
+        return pokemonService.obtenerPorId(idAleatorio());
+    }
+
+    @Benchmark
+    public PokemonDTO obtenerPorIdConVisita() {
+        PokemonDTO pokemon = pokemonService.obtenerPorId(idAleatorio());
+        visitasService.registrar(pokemon.getId());
+        return pokemon;
+    }
+
+    @Benchmark
+    public List<PokemonDTO> obtenerPorGeneracion() {
+        return pokemonService.obtenerPorGeneracion(1 + ThreadLocalRandom.current().nextInt(9));
+    }
+
+    @Benchmark
+    public List<PokemonDTO> buscarPorNombre() {
+        return pokemonService.buscarPorNombre("chu");
+    }
+
+    @Benchmark
+    public byte[] serializarListado() throws Exception {
+        return objectMapper.writeValueAsBytes(listado);
+    }
+
+    private int idAleatorio() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
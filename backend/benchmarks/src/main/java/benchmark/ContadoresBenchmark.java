@@ -0,0 +1,76 @@
+package benchmark;
+
+import dto.RecomendacionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import service.PopularidadService;
+import service.RecomendacionService;
+import service.VisitasService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contadores en memoria bajo concurrencia (popularidad y visitas) y consulta de recomendaciones
+ *
+ * Los contadores se miden con 8 hilos a la vez: el coste por operación no debe crecer
+ * por contención. Los volcados programados siguen activos durante la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContadoresBenchmark {
+
+    private PopularidadService popularidadService;
+    private VisitasService visitasService;
+    private RecomendacionService recomendacionService;
+    private int[] ids;
+
+    @Setup
+    public void preparar() {
+        popularidadService = Entorno.bean(PopularidadService.class);
+        visitasService = Entorno.bean(VisitasService.class);
+        recomendacionService = Entorno.bean(RecomendacionService.class);
+        ids = Entorno.idsPokemon();
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void sumarPopularidad() {
+        popularidadService.sumar(idAleatorio());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void registrarVisita() {
+        visitasService.registrar(idAleatorio());
+    }
+
+    @Benchmark
+    public List<RecomendacionDTO> recomendados() {
+        return recomendacionService.recomendados(idAleatorio(), 10);
+    }
+
+    private int idAleatorio() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
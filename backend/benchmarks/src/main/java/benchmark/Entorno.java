@@ -0,0 +1,100 @@
+package benchmark;
+
+import com.pokedex.PokedexApplication;
+import loader.GeneradorDatosSinteticos;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import service.CatalogoService;
+import service.PopularidadService;
+import service.RecomendacionService;
+import service.TipoRegistry;
+
+import java.nio.file.Path;
+
+/**
+ * Contexto de Spring compartido por los benchmarks de un mismo proceso
+ *
+ * Arranca la aplicación completa contra H2 en memoria y la siembra
+ * con GeneradorDatosSinteticos. El tamaño de la fixture se elige con propiedades del
+ * sistema, que hay que pasar a los procesos de JMH con -jvmArgsAppend:
+ *
+ *   -jvmArgsAppend "-Dfixture.pokemon=100000 -Dfixture.usuarios=50000 -Dfixture.favoritos=2000000"
+ */
+public final class Entorno {
+
+    public static final int POKEMON = Integer.getInteger("fixture.pokemon", 1_000);
+    public static final int USUARIOS = Integer.getInteger("fixture.usuarios", 2_000);
+    public static final long FAVORITOS = Long.getLong("fixture.favoritos", 50_000L);
+    public static final long SEMILLA = Long.getLong("fixture.semilla", 42L);
+
+    private static ConfigurableApplicationContext contexto;
+    private static GeneradorDatosSinteticos.Resumen fixture;
+
+    private Entorno() {
+    }
+
+    /**
+     * Contexto arrancado y sembrado (la primera vez)
+     */
+    public static synchronized ConfigurableApplicationContext contexto() {
+        if (contexto == null) {
+            Path temporal = Path.of(System.getProperty("java.io.tmpdir"), "pokedex-benchmarks");
+            contexto = new SpringApplicationBuilder(PokedexApplication.class).run(
+                    "--spring.datasource.url=jdbc:h2:mem:pokedex;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.main.banner-mode=off",
+                    "--server.port=0",
+                    "--logging.level.root=WARN",
+                    // La cola de variantes se llena durante SubidasBenchmark (aviso por cada subida)
+                    "--logging.level.service.FileStorageService=ERROR",
+                    "--file.upload-dir=" + temporal.resolve("pokemon"),
+                    "--file.avatar-dir=" + temporal.resolve("avatars"),
+                    "--file.atlas-dir=" + temporal.resolve("atlas"),
+                    "--file.mirror-on-startup=false");
+
+            fixture = new GeneradorDatosSinteticos(contexto.getBean(JdbcTemplate.class), SEMILLA,
+                    contexto.getBean(CatalogoService.class)).generar(POKEMON, USUARIOS, FAVORITOS);
+
+            // Las cachés en memoria se cargaron con la BD vacía
+            contexto.getBean(TipoRegistry.class).recargar();
+            contexto.getBean(PopularidadService.class).run(null);
+            contexto.getBean(RecomendacionService.class).reconstruir();
+        }
+        return contexto;
+    }
+
+    /**
+     * Parar el contexto (sus hilos no son daemon y retrasarían el fin del proceso de JMH)
+     */
+    public static synchronized void cerrar() {
+        if (contexto != null) {
+            contexto.close();
+            contexto = null;
+        }
+    }
+
+    public static <T> T bean(Class<T> tipo) {
+        return contexto().getBean(tipo);
+    }
+
+    public static synchronized GeneradorDatosSinteticos.Resumen fixture() {
+        contexto();
+        return fixture;
+    }
+
+    /**
+     * ids de los Pokémon de la fixture, en orden de número
+     */
+    public static int[] idsPokemon() {
+        GeneradorDatosSinteticos.Resumen resumen = fixture();
+        return bean(JdbcTemplate.class).queryForList(
+                        "SELECT idPokemon FROM Pokemon WHERE numero >= ? ORDER BY numero", Integer.class,
+                        resumen.getPrimerNumero())
+                .stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,102 @@
+package benchmark;
+
+import entity.Favorito;
+import entity.User;
+import loader.GeneradorDatosSinteticos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import repository.FavoritoRepository;
+import repository.UserRepository;
+import service.FavoritoService;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alternar favoritos con 8 hilos sobre pocos pares (usuario, Pokémon), para que choquen
+ *
+ * toggle es FavoritoService.toggleFavorito (DELETE de una sentencia + INSERT idempotente);
+ * toggleLeerYEscribir reproduce el camino anterior: cargar el User, comprobar si existe
+ * el favorito y después insertarlo o cargarlo y borrarlo. Con el índice único, sus
+ * inserciones duplicadas fallan y se cuentan como conflicto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FavoritosBenchmark {
+
+    private static final int USUARIOS = 50;
+    private static final int POKEMON = 20;
+
+    private FavoritoService favoritoService;
+    private FavoritoRepository favoritoRepository;
+    private UserRepository userRepository;
+    private TransactionTemplate transaccion;
+    private int[] ids;
+
+    @Setup
+    public void preparar() {
+        favoritoService = Entorno.bean(FavoritoService.class);
+        favoritoRepository = Entorno.bean(FavoritoRepository.class);
+        userRepository = Entorno.bean(UserRepository.class);
+        transaccion = new TransactionTemplate(Entorno.bean(PlatformTransactionManager.class));
+        ids = Entorno.idsPokemon();
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean toggle() {
+        return favoritoService.toggleFavorito(usuarioAleatorio(), pokemonAleatorio());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean toggleLeerYEscribir() {
+        String username = usuarioAleatorio();
+        int pokemonId = pokemonAleatorio();
+        try {
+            return Boolean.TRUE.equals(transaccion.execute(estado -> {
+                User usuario = userRepository.findByUsername(username).orElseThrow();
+                Optional<Favorito> existente = favoritoRepository.findByUsuarioAndPokemonId(usuario, pokemonId);
+                if (existente.isPresent()) {
+                    favoritoRepository.delete(existente.get());
+                    return false;
+                }
+                favoritoRepository.save(new Favorito(usuario, pokemonId));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return true;
+        }
+    }
+
+    private String usuarioAleatorio() {
+        return GeneradorDatosSinteticos.PREFIJO_USUARIO + (1 + ThreadLocalRandom.current().nextInt(USUARIOS));
+    }
+
+    private int pokemonAleatorio() {
+        return ids[ThreadLocalRandom.current().nextInt(POKEMON)];
+    }
+}
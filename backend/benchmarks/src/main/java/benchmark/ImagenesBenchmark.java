@@ -0,0 +1,178 @@
+package benchmark;
+
+import controller.FileController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.StreamUtils;
+import service.FileStorageService;
+import service.ImageVariant;
+import util.ImagenUtil;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servir la imagen de un Pokémon (GET /api/pokemon/{id}/imagen): latencia por petición
+ *
+ * servir y revalidar pasan por FileController.downloadImage (índice en memoria,
+ * ETag, 304 y FileChannel.transferTo; MockHttpServletRequest no anuncia sendfile,
+ * así que el cuerpo se copia siempre). servirAnterior repite el camino anterior:
+ * buscar el archivo probando extensiones con Files.exists, UrlResource,
+ * Files.probeContentType y copia del flujo como hace ResourceHttpMessageConverter.
+ *
+ * Para comparar también la memoria asignada por petición: -prof gc
+ * (gc.alloc.rate.norm, en bytes por operación).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImagenesBenchmark {
+
+    private static final int IMAGENES = 64;
+    private static final int LADO = 256;
+    private static final String[] EXTENSIONES = {".png", ".jpg", ".jpeg", ".gif"};
+
+    private FileController fileController;
+    private FileStorageService fileStorageService;
+    private int[] ids;
+    private String[] etags;
+
+    @Setup
+    public void preparar() throws IOException {
+        fileController = Entorno.bean(FileController.class);
+        fileStorageService = Entorno.bean(FileStorageService.class);
+        int[] todos = Entorno.idsPokemon();
+        ids = new int[IMAGENES];
+        etags = new String[IMAGENES];
+        for (int i = 0; i < IMAGENES; i++) {
+            ids[i] = todos[i];
+            fileStorageService.storeFile(
+                    new MockMultipartFile("file", "sprite.png", "image/png", png(i)), ids[i]);
+            etags[i] = fileStorageService.getImage(ids[i]).getEtag();
+        }
+        esperarVariantes();
+    }
+
+    /**
+     * Las variantes se generan en segundo plano: sin esperar, esa generación
+     * competiría por la CPU con la medición
+     */
+    private void esperarVariantes() {
+        long limite = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        for (int id : ids) {
+            while (fileStorageService.getImage(id, ImageVariant.COMPRESSED) == null) {
+                if (System.nanoTime() > limite) {
+                    throw new IllegalStateException("Variantes sin generar para " + id);
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse servir() {
+        int i = ThreadLocalRandom.current().nextInt(IMAGENES);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileController.downloadImage(ids[i], null, null, peticion(ids[i]), response);
+        return response;
+    }
+
+    /**
+     * Petición condicional con el ETag actual (304, sin cuerpo)
+     */
+    @Benchmark
+    public MockHttpServletResponse revalidar() {
+        int i = ThreadLocalRandom.current().nextInt(IMAGENES);
+        MockHttpServletRequest request = peticion(ids[i]);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etags[i]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        fileController.downloadImage(ids[i], null, null, request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse servirAnterior() throws IOException {
+        int i = ThreadLocalRandom.current().nextInt(IMAGENES);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String fileName = null;
+        for (String ext : EXTENSIONES) {
+            String candidato = "pokemon_" + ids[i] + ext;
+            if (Files.exists(fileStorageService.loadFile(candidato))) {
+                fileName = candidato;
+                break;
+            }
+        }
+        if (fileName == null) {
+            throw new IllegalStateException("Sin imagen para " + ids[i]);
+        }
+
+        Path filePath = fileStorageService.loadFile(fileName);
+        Resource resource = new UrlResource(filePath.toUri());
+        if (!resource.exists()) {
+            throw new IllegalStateException("Imagen no encontrada: " + fileName);
+        }
+        String contentType = Files.probeContentType(filePath);
+        if (contentType == null) {
+            contentType = "application/octet-stream";
+        }
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + resource.getFilename() + "\"");
+        response.setContentLengthLong(resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            StreamUtils.copy(in, response.getOutputStream());
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest peticion(int id) {
+        return new MockHttpServletRequest("GET", "/api/pokemon/" + id + "/imagen");
+    }
+
+    /**
+     * PNG de LADO x LADO con un color que depende de la semilla
+     */
+    private static byte[] png(int semilla) throws IOException {
+        BufferedImage imagen = new BufferedImage(LADO, LADO, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < LADO; y++) {
+            for (int x = 0; x < LADO; x++) {
+                imagen.setRGB(x, y, 0xFF000000 | (semilla * 7919 + x * 31 + y * 17));
+            }
+        }
+        return ImagenUtil.aPng(imagen);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import service.KdTree;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vecinos más cercanos: árbol k-d frente a fuerza bruta sobre estadísticas sintéticas
+ * (6 dimensiones, como las de SimilaresService). No necesita el contexto de Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KdTreeBenchmark {
+
+    private static final int DIMENSIONES = 6;
+    private static final int K = 10;
+
+    @Param({"1000", "100000"})
+    private int tamano;
+
+    private float[] puntos;
+    private KdTree arbol;
+    private int[] indices;
+    private float[] distancias;
+    private int siguiente;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom random = new SplittableRandom(42);
+        puntos = new float[tamano * DIMENSIONES];
+        for (int i = 0; i < puntos.length; i++) {
+            puntos[i] = 20 + random.nextInt(180);
+        }
+        arbol = new KdTree(puntos, DIMENSIONES);
+        indices = new int[K];
+        distancias = new float[K];
+    }
+
+    @Benchmark
+    public int arbolKd() {
+        int i = siguiente();
+        return arbol.vecinos(consulta(i), K, i, indices, distancias);
+    }
+
+    /**
+     * Recorrido completo manteniendo los K mejores (inserción ordenada)
+     */
+    @Benchmark
+    public int fuerzaBruta() {
+        int consulta = siguiente();
+        int encontrados = 0;
+        for (int p = 0; p < tamano; p++) {
+            if (p == consulta) {
+                continue;
+            }
+            float d = 0;
+            for (int e = 0; e < DIMENSIONES; e++) {
+                float diferencia = puntos[p * DIMENSIONES + e] - puntos[consulta * DIMENSIONES + e];
+                d += diferencia * diferencia;
+            }
+            if (encontrados < K || d < distancias[encontrados - 1]) {
+                int pos = Math.min(encontrados, K - 1);
+                while (pos > 0 && distancias[pos - 1] > d) {
+                    distancias[pos] = distancias[pos - 1];
+                    indices[pos] = indices[pos - 1];
+                    pos--;
+                }
+                distancias[pos] = d;
+                indices[pos] = p;
+                if (encontrados < K) {
+                    encontrados++;
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    private int siguiente() {
+        siguiente = (siguiente + 7919) % tamano;
+        return siguiente;
+    }
+
+    private float[] consulta(int i) {
+        float[] consulta = new float[DIMENSIONES];
+        System.arraycopy(puntos, i * DIMENSIONES, consulta, 0, DIMENSIONES);
+        return consulta;
+    }
+}
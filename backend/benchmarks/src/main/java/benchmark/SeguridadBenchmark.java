@@ -0,0 +1,103 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import security.JwtAuthenticationFilter;
+import util.JwtUtil;
+
+import jakarta.servlet.FilterChain;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de JWT por petición: verificación (con y sin caché), generación y filtro completo
+ *
+ * verificarFirma hace siempre el parseo y la comprobación HMAC (extractExpiration no
+ * usa la caché); verificarCacheado es el caso habitual de un token repetido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeguridadBenchmark {
+
+    private static final FilterChain CADENA_VACIA = (request, response) -> { };
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filtro;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        jwtUtil = Entorno.bean(JwtUtil.class);
+        filtro = Entorno.bean(JwtAuthenticationFilter.class);
+        token = jwtUtil.generateToken("sintetico_1", "USER");
+        jwtUtil.verifyToken(token);
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken verificarCacheado() {
+        return jwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Date verificarFirma() {
+        return jwtUtil.extractExpiration(token);
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return jwtUtil.generateToken("sintetico_1", "USER");
+    }
+
+    /**
+     * Lectura pública con token: el contexto de seguridad queda diferido
+     * (no se lee la autenticación, que obligaría a verificar el token)
+     */
+    @Benchmark
+    public void filtroLecturaPublica(Blackhole blackhole) throws Exception {
+        filtrar("GET", "/api/pokemon/1", blackhole);
+    }
+
+    /**
+     * Ruta protegida: el token se verifica y se crea la autenticación
+     */
+    @Benchmark
+    public void filtroRutaProtegida(Blackhole blackhole) throws Exception {
+        filtrar("POST", "/api/favoritos/1", blackhole);
+    }
+
+    private void filtrar(String metodo, String ruta, Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, ruta);
+        request.setServletPath(ruta);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filtro.doFilter(request, response, CADENA_VACIA);
+            blackhole.consume(request);
+            blackhole.consume(response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
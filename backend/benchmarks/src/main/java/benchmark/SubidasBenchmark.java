@@ -0,0 +1,94 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import service.FileStorageService;
+import service.PokemonService;
+import util.ImagenUtil;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subida de imágenes con 8 hilos: latencia (percentiles con SampleTime) y operaciones/s
+ *
+ * Mismo camino que FileController.uploadImage: comprobación de existencia, temporal
+ * con hash, publicación por rename y actualización de imagenUrl. subirDistintas usa
+ * contenido nuevo en cada subida; subirRepetida, siempre el mismo (se deduplica con
+ * un enlace duro al archivo de otro Pokémon).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubidasBenchmark {
+
+    private static final int LADO = 256;
+
+    private FileStorageService fileStorageService;
+    private PokemonService pokemonService;
+    private int[] ids;
+    private byte[] repetida;
+
+    @Setup
+    public void preparar() throws IOException {
+        fileStorageService = Entorno.bean(FileStorageService.class);
+        pokemonService = Entorno.bean(PokemonService.class);
+        ids = Entorno.idsPokemon();
+        repetida = png(0);
+    }
+
+    @TearDown
+    public void cerrar() {
+        Entorno.cerrar();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String subirDistintas() throws IOException {
+        return subir(png(ThreadLocalRandom.current().nextInt()));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String subirRepetida() {
+        return subir(repetida);
+    }
+
+    private String subir(byte[] contenido) {
+        int id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        pokemonService.comprobarExiste(id);
+        String fileName = fileStorageService.storeFile(
+                new MockMultipartFile("file", "sprite.png", "image/png", contenido), id);
+        pokemonService.actualizarImagenUrl(id, fileStorageService.getImageUrl(id));
+        return fileName;
+    }
+
+    /**
+     * PNG de LADO x LADO con un color que depende de la semilla
+     */
+    private static byte[] png(int semilla) throws IOException {
+        BufferedImage imagen = new BufferedImage(LADO, LADO, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < LADO; y++) {
+            for (int x = 0; x < LADO; x++) {
+                imagen.setRGB(x, y, 0xFF000000 | (semilla + x * 31 + y * 17));
+            }
+        }
+        return ImagenUtil.aPng(imagen);
+    }
+}
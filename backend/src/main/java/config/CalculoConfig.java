@@ -0,0 +1,31 @@
+package config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool fork-join para los cálculos sobre el catálogo (optimizador de equipos, simulaciones...)
+ *
+ * Es un pool propio y no el común, para que un cálculo largo no compita con
+ * los parallelStream de otras partes de la aplicación.
+ */
+@Configuration
+public class CalculoConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool calculoPool(@Value("${calculo.threads:0}") int threads) {
+        int paralelismo = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ForkJoinPool(paralelismo, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("calculo-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+}
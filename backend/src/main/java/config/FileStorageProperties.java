@@ -12,9 +12,35 @@ public class FileStorageProperties {
 
     private String uploadDir;
 
+    // Avatares de usuario (almacenados por hash de contenido)
+    private String avatarDir;
+    private long avatarMaxBytes;
+    private int avatarMaxSize;
+
+    // Variantes de las imágenes de Pokémon (miniatura, mediana, comprimida)
+    private int variantThreads;
+    private int variantQueueCapacity;
+    private float compressedQuality;
+
+    // Atlas de sprites (cacheados en disco por hash de contenido)
+    private String atlasDir;
+
+    // Espejo local del artwork oficial (descargas en paralelo acotado)
+    private int mirrorThreads;
+    private boolean mirrorOnStartup;
+
     public FileStorageProperties() {
         // Directorio por defecto
         this.uploadDir = "uploads/pokemon";
+        this.avatarDir = "uploads/avatars";
+        this.avatarMaxBytes = 2 * 1024 * 1024;
+        this.avatarMaxSize = 256;
+        this.variantThreads = 1;
+        this.variantQueueCapacity = 64;
+        this.compressedQuality = 0.8f;
+        this.atlasDir = "uploads/atlas";
+        this.mirrorThreads = 4;
+        this.mirrorOnStartup = false;
     }
 
     public String getUploadDir() {
@@ -24,4 +50,76 @@ public class FileStorageProperties {
     public void setUploadDir(String uploadDir) {
         this.uploadDir = uploadDir;
     }
-}
\ No newline at end of file
+
+    public String getAvatarDir() {
+        return avatarDir;
+    }
+
+    public void setAvatarDir(String avatarDir) {
+        this.avatarDir = avatarDir;
+    }
+
+    public long getAvatarMaxBytes() {
+        return avatarMaxBytes;
+    }
+
+    public void setAvatarMaxBytes(long avatarMaxBytes) {
+        this.avatarMaxBytes = avatarMaxBytes;
+    }
+
+    public int getAvatarMaxSize() {
+        return avatarMaxSize;
+    }
+
+    public void setAvatarMaxSize(int avatarMaxSize) {
+        this.avatarMaxSize = avatarMaxSize;
+    }
+
+    public int getVariantThreads() {
+        return variantThreads;
+    }
+
+    public void setVariantThreads(int variantThreads) {
+        this.variantThreads = variantThreads;
+    }
+
+    public int getVariantQueueCapacity() {
+        return variantQueueCapacity;
+    }
+
+    public void setVariantQueueCapacity(int variantQueueCapacity) {
+        this.variantQueueCapacity = variantQueueCapacity;
+    }
+
+    public float getCompressedQuality() {
+        return compressedQuality;
+    }
+
+    public void setCompressedQuality(float compressedQuality) {
+        this.compressedQuality = compressedQuality;
+    }
+
+    public String getAtlasDir() {
+        return atlasDir;
+    }
+
+    public void setAtlasDir(String atlasDir) {
+        this.atlasDir = atlasDir;
+    }
+
+    public int getMirrorThreads() {
+        return mirrorThreads;
+    }
+
+    public void setMirrorThreads(int mirrorThreads) {
+        this.mirrorThreads = mirrorThreads;
+    }
+
+    public boolean isMirrorOnStartup() {
+        return mirrorOnStartup;
+    }
+
+    public void setMirrorOnStartup(boolean mirrorOnStartup) {
+        this.mirrorOnStartup = mirrorOnStartup;
+    }
+}
@@ -0,0 +1,85 @@
+package config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice único (usuario_id, pokemon_id) de favoritos en bases de datos ya existentes
+ *
+ * ddl-auto=update intenta crear uk_favoritos_usuario_pokemon, pero si la tabla ya
+ * tiene filas duplicadas el ALTER falla (solo queda en el log) y la tabla se queda
+ * sin índice. Al arrancar, antes que los servicios que leen favoritos, se comprueba
+ * que el índice existe; si no, se borran los duplicados (se conserva el más antiguo)
+ * y se crea.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MigracionFavoritos implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionFavoritos.class);
+
+    static final String INDICE = "uk_favoritos_usuario_pokemon";
+
+    // La tabla derivada evita el error 1093 de MySQL (borrar leyendo la misma tabla)
+    private static final String BORRAR_DUPLICADOS =
+            "DELETE FROM favoritos WHERE id IN (SELECT id FROM (" +
+            "SELECT f.id FROM favoritos f JOIN favoritos g ON g.usuario_id = f.usuario_id " +
+            "AND g.pokemon_id = f.pokemon_id AND g.id < f.id) duplicados)";
+
+    private static final String CREAR_INDICE =
+            "ALTER TABLE favoritos ADD CONSTRAINT " + INDICE + " UNIQUE (usuario_id, pokemon_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public MigracionFavoritos(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (tieneIndiceUnico()) {
+            return;
+        }
+        int borrados = jdbcTemplate.update(BORRAR_DUPLICADOS);
+        jdbcTemplate.execute(CREAR_INDICE);
+        log.info("Creado el índice {} (favoritos duplicados eliminados: {})", INDICE, borrados);
+    }
+
+    /**
+     * Si algún índice único de favoritos cubre exactamente (usuario_id, pokemon_id)
+     */
+    boolean tieneIndiceUnico() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexion -> {
+            DatabaseMetaData metadatos = conexion.getMetaData();
+            String tabla = metadatos.storesUpperCaseIdentifiers() ? "FAVORITOS" : "favoritos";
+            Map<String, List<String>> columnas = new HashMap<>();
+            try (ResultSet indices = metadatos.getIndexInfo(conexion.getCatalog(), null, tabla, true, false)) {
+                while (indices.next()) {
+                    String nombre = indices.getString("INDEX_NAME");
+                    String columna = indices.getString("COLUMN_NAME");
+                    if (nombre != null && columna != null) {
+                        columnas.computeIfAbsent(nombre, n -> new ArrayList<>()).add(columna.toLowerCase());
+                    }
+                }
+            }
+            return columnas.values().stream().anyMatch(c ->
+                    c.size() == 2 && c.contains("usuario_id") && c.contains("pokemon_id"));
+        }));
+    }
+}
@@ -0,0 +1,12 @@
+package config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activa las tareas periódicas (@Scheduled), como el volcado del ranking del quiz
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
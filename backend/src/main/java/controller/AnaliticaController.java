@@ -0,0 +1,32 @@
+package controller;
+
+import dto.AnaliticaDTO;
+import service.AnaliticaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para la analítica del catálogo
+ */
+@RestController
+@RequestMapping("/api/analitica")
+@CrossOrigin(origins = "*")
+public class AnaliticaController {
+
+    private final AnaliticaService analiticaService;
+
+    @Autowired
+    public AnaliticaController(AnaliticaService analiticaService) {
+        this.analiticaService = analiticaService;
+    }
+
+    /**
+     * GET /api/analitica
+     * Recuentos por tipo, generación y combinación de tipos, y distribución de las estadísticas
+     */
+    @GetMapping
+    public ResponseEntity<AnaliticaDTO> obtener() {
+        return ResponseEntity.ok(analiticaService.obtener());
+    }
+}
@@ -5,7 +5,9 @@ import dto.LoginRequest;
 import dto.ProfileUpdateRequest;
 import dto.RegisterRequest;
 import service.AuthService;
+import service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,6 +32,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.register(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (PasswordHashingService.BusyException e) {
+            return servidorOcupado(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -44,6 +48,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingService.BusyException e) {
+            return servidorOcupado(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
         }
@@ -72,6 +78,8 @@ public class AuthController {
             AuthResponse response = authService.updateProfile(username, request);
 
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingService.BusyException e) {
+            return servidorOcupado(e);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (Exception e) {
@@ -132,4 +140,13 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error al validar token");
         }
     }
+
+    /**
+     * Respuesta 503 cuando el pool de hashing de contraseñas está saturado
+     */
+    private ResponseEntity<?> servidorOcupado(PasswordHashingService.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package controller;
+
+import service.FileStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controlador para servir avatares de usuario
+ * Los avatares se identifican por el hash de su contenido, así que nunca cambian
+ * y se pueden cachear de forma indefinida.
+ */
+@RestController
+@RequestMapping("/api/avatars")
+@CrossOrigin(origins = "*")
+public class AvatarController {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    /**
+     * GET /api/avatars/{hash}
+     * Público (sin autenticación)
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<?> obtenerAvatar(@PathVariable String hash, WebRequest webRequest) {
+        Path ruta = fileStorageService.loadAvatar(hash);
+        if (ruta == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + hash + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .eTag(etag)
+                .body(new FileSystemResource(ruta));
+    }
+}
@@ -0,0 +1,55 @@
+package controller;
+
+import dto.BattleSimulateRequest;
+import service.BattleSimulatorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para el simulador de combates
+ */
+@RestController
+@RequestMapping("/api/battle")
+@CrossOrigin(origins = "*")
+public class BattleController {
+
+    private final BattleSimulatorService battleSimulatorService;
+
+    @Autowired
+    public BattleController(BattleSimulatorService battleSimulatorService) {
+        this.battleSimulatorService = battleSimulatorService;
+    }
+
+    /**
+     * GET /api/battle/simulate?a=1&b=4&simulaciones=10000&semilla=42
+     * Probabilidad de victoria en un 1 contra 1 (para el comparador)
+     */
+    @GetMapping("/simulate")
+    public ResponseEntity<?> simular1v1(@RequestParam Integer a,
+                                        @RequestParam Integer b,
+                                        @RequestParam(required = false) Integer simulaciones,
+                                        @RequestParam(required = false) Long semilla) {
+        BattleSimulateRequest request = new BattleSimulateRequest();
+        request.setEquipoA(List.of(a));
+        request.setEquipoB(List.of(b));
+        request.setSimulaciones(simulaciones);
+        request.setSemilla(semilla);
+        return simular(request);
+    }
+
+    /**
+     * POST /api/battle/simulate
+     * Probabilidad de victoria entre dos equipos de hasta 6 Pokémon
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<?> simular(@RequestBody BattleSimulateRequest request) {
+        try {
+            return ResponseEntity.ok(battleSimulatorService.simular(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
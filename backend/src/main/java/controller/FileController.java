@@ -1,21 +1,19 @@
 package controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import service.FileStorageService;
+import service.ImageVariant;
 import service.PokemonService;
+import service.StoredImage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 /**
  * Controlador para gestión de archivos (imágenes de Pokémon)
@@ -25,6 +23,15 @@ import java.nio.file.Path;
 @CrossOrigin(origins = "*")
 public class FileController {
 
+    // Las imágenes pueden cambiar al volver a subirlas: caché de un día con revalidación por ETag
+    private static final String CACHE_IMAGENES = "public, max-age=86400";
+
+    // URL versionada (?v= coincide con el contenido actual): el contenido de esa URL no cambia nunca
+    private static final String CACHE_INMUTABLE = "public, max-age=31536000, immutable";
+
+    // Variante pedida aún sin generar: se sirve el original con caché corta
+    private static final String CACHE_VARIANTE_PENDIENTE = "public, max-age=60";
+
     @Autowired
     private FileStorageService fileStorageService;
 
@@ -41,14 +48,14 @@ public class FileController {
     public ResponseEntity<?> uploadImage(@PathVariable Integer id,
                                          @RequestParam("file") MultipartFile file) {
         try {
-            // Verificar que el Pokémon existe
-            pokemonService.obtenerPorId(id);
+            // Verificar que el Pokémon existe (sin construir el DTO)
+            pokemonService.comprobarExiste(id);
 
             // Guardar archivo
             String fileName = fileStorageService.storeFile(file, id);
 
-            // Actualizar URL en el Pokémon
-            String imageUrl = "/api/pokemon/" + id + "/imagen";
+            // Actualizar URL en el Pokémon (versionada por contenido)
+            String imageUrl = fileStorageService.getImageUrl(id);
             pokemonService.actualizarImagenUrl(id, imageUrl);
 
             return ResponseEntity.ok("Imagen subida exitosamente: " + fileName);
@@ -60,43 +67,48 @@ public class FileController {
 
     /**
      * Descargar/Ver imagen de un Pokémon
-     * GET /api/pokemon/{id}/imagen
+     * GET /api/pokemon/{id}/imagen?size=thumb|medium|original|compressed&v={version}
      * Público (sin autenticación)
+     *
+     * Se sirve desde el índice en memoria (sin tocar el disco para buscar el archivo),
+     * con ETag fuerte, Last-Modified, 304 y soporte de Range. El cuerpo se envía con
+     * sendfile de Tomcat cuando está disponible, o con FileChannel.transferTo.
+     * Las variantes se generan al subir la imagen; nunca se decodifica nada aquí.
+     * Si ?v= coincide con la versión actual la respuesta se cachea como inmutable.
      */
     @GetMapping("/{id}/imagen")
-    public ResponseEntity<?> downloadImage(@PathVariable Integer id) {
+    public ResponseEntity<?> downloadImage(@PathVariable Integer id,
+                                           @RequestParam(required = false) String size,
+                                           @RequestParam(required = false) String v,
+                                           HttpServletRequest request,
+                                           HttpServletResponse response) {
+        ImageVariant variante;
         try {
-            // Buscar archivo del Pokémon
-            String fileName = fileStorageService.getFileNameForPokemon(id);
-
-            if (fileName == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("El Pokémon no tiene imagen");
-            }
-
-            // Cargar archivo
-            Path filePath = fileStorageService.loadFile(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("Imagen no encontrada");
-            }
+            variante = ImageVariant.desdeParametro(size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-            // Determinar tipo de contenido
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
+        StoredImage original = fileStorageService.getImage(id);
+        if (original == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("El Pokémon no tiene imagen");
+        }
 
-            // Retornar imagen
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "inline; filename=\"" + resource.getFilename() + "\"")
-                    .body(resource);
+        String cacheControl = original.getVersion().equals(v) ? CACHE_INMUTABLE : CACHE_IMAGENES;
+        StoredImage imagen = fileStorageService.getImage(id, variante);
+        if (imagen == null) {
+            imagen = original;
+            cacheControl = CACHE_VARIANTE_PENDIENTE;
+        }
 
+        try {
+            ImageResponseWriter.servir(imagen, cacheControl, request, response);
+            return null; // Respuesta ya escrita
         } catch (IOException e) {
+            if (response.isCommitted()) {
+                return null;
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error al cargar imagen: " + e.getMessage());
         }
@@ -112,19 +124,14 @@ public class FileController {
     public ResponseEntity<?> deleteImage(@PathVariable Integer id) {
         try {
             // Verificar que el Pokémon existe
-            pokemonService.obtenerPorId(id);
+            pokemonService.comprobarExiste(id);
 
-            // Buscar archivo
-            String fileName = fileStorageService.getFileNameForPokemon(id);
-
-            if (fileName == null) {
+            // Eliminar archivo (y quitarlo del índice)
+            if (!fileStorageService.deleteImage(id)) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("El Pokémon no tiene imagen");
             }
 
-            // Eliminar archivo
-            fileStorageService.deleteFile(fileName);
-
             // Actualizar URL en el Pokémon (null)
             pokemonService.actualizarImagenUrl(id, null);
 
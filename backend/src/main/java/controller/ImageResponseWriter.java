@@ -0,0 +1,108 @@
+package controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import service.StoredImage;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Envío de imágenes almacenadas en disco (imágenes de Pokémon y atlas de sprites)
+ */
+final class ImageResponseWriter {
+
+    // Atributos de Tomcat para enviar archivos con sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ImageResponseWriter() {
+    }
+
+    /**
+     * Escribir una imagen en la respuesta: validación condicional (304),
+     * cabeceras de caché, rango de bytes (206) y transferencia sin copiar al heap.
+     */
+    static void servir(StoredImage imagen, String cacheControl,
+                              HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(imagen.getEtag(), imagen.getLastModified())) {
+            return; // 304 Not Modified (ETag y Last-Modified ya establecidos)
+        }
+
+        long size = imagen.getSize();
+        long inicio = 0;
+        long fin = size; // exclusivo
+
+        // Range: solo se atiende un rango y solo si If-Range coincide (o no se envía)
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(imagen.getEtag()))) {
+            List<HttpRange> rangos;
+            try {
+                rangos = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                rangos = List.of();
+            }
+            if (rangos.size() == 1) {
+                HttpRange rango = rangos.get(0);
+                try {
+                    inicio = rango.getRangeStart(size);
+                    fin = rango.getRangeEnd(size) + 1;
+                } catch (IllegalArgumentException e) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + inicio + "-" + (fin - 1) + "/" + size);
+            }
+        }
+
+        long longitud = fin - inicio;
+        response.setContentType(imagen.getMimeType());
+        response.setContentLengthLong(longitud);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "inline; filename=\"" + imagen.getFileName() + "\"");
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || longitud == 0) {
+            return;
+        }
+
+        // sendfile de Tomcat: el conector envía el archivo directamente desde el kernel
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, imagen.getPath().toString());
+            request.setAttribute(SENDFILE_START, inicio);
+            request.setAttribute(SENDFILE_END, fin);
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(imagen.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long posicion = inicio;
+            while (posicion < fin) {
+                long enviados = canal.transferTo(posicion, fin - posicion, salida);
+                if (enviados <= 0) {
+                    break;
+                }
+                posicion += enviados;
+            }
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package controller;
 
 import dto.PokemonDTO;
+import service.ComparadorService;
+import service.EfectividadService;
 import service.PokemonService;
+import service.PopularidadService;
+import service.RecomendacionService;
+import service.SimilaresService;
+import service.VisitasService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +24,28 @@ import java.util.List;
 public class PokemonController {
 
     private final PokemonService pokemonService;
+    private final EfectividadService efectividadService;
+    private final SimilaresService similaresService;
+    private final ComparadorService comparadorService;
+    private final PopularidadService popularidadService;
+    private final RecomendacionService recomendacionService;
+    private final VisitasService visitasService;
 
     @Autowired
-    public PokemonController(PokemonService pokemonService) {
+    public PokemonController(PokemonService pokemonService,
+                             EfectividadService efectividadService,
+                             SimilaresService similaresService,
+                             ComparadorService comparadorService,
+                             PopularidadService popularidadService,
+                             RecomendacionService recomendacionService,
+                             VisitasService visitasService) {
         this.pokemonService = pokemonService;
+        this.efectividadService = efectividadService;
+        this.similaresService = similaresService;
+        this.comparadorService = comparadorService;
+        this.popularidadService = popularidadService;
+        this.recomendacionService = recomendacionService;
+        this.visitasService = visitasService;
     }
 
     // ==================== READ ====================
@@ -42,7 +66,111 @@ public class PokemonController {
     @GetMapping("/{id}")
     public ResponseEntity<PokemonDTO> obtenerPorId(@PathVariable Integer id) {
         try {
-            return ResponseEntity.ok(pokemonService.obtenerPorId(id));
+            PokemonDTO pokemon = pokemonService.obtenerPorId(id);
+            visitasService.registrar(pokemon.getId());
+            return ResponseEntity.ok(pokemon);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * GET /api/pokemon/{id}/debilidades
+     * Perfil defensivo del Pokémon según sus tipos
+     */
+    @GetMapping("/{id}/debilidades")
+    public ResponseEntity<?> obtenerDebilidades(@PathVariable Integer id) {
+        try {
+            return ResponseEntity.ok(efectividadService.perfilPokemon(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * GET /api/pokemon/comparar?ids=1,4,7
+     * Comparar de 2 a 6 Pokémon: estadísticas, posición y percentil en el catálogo,
+     * diferencias con el mejor y enfrentamientos de tipos
+     */
+    @GetMapping("/comparar")
+    public ResponseEntity<?> comparar(@RequestParam List<Integer> ids) {
+        try {
+            return ResponseEntity.ok(comparadorService.comparar(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * GET /api/pokemon/populares?limite=20
+     * Pokémon con más usuarios que los tienen en favoritos
+     */
+    @GetMapping("/populares")
+    public ResponseEntity<?> obtenerPopulares(@RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(popularidadService.top(limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/pokemon/populares/tendencia?limite=20
+     * Pokémon que más se han añadido a favoritos en la última hora (altas menos bajas)
+     */
+    @GetMapping("/populares/tendencia")
+    public ResponseEntity<?> obtenerTendencia(@RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(popularidadService.tendencia(limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/pokemon/mas-vistos?periodo=hora&limite=20
+     * Pokémon cuya ficha más se ha consultado en la última hora, el último día o en total
+     */
+    @GetMapping("/mas-vistos")
+    public ResponseEntity<?> obtenerMasVistos(@RequestParam(defaultValue = "hora") String periodo,
+                                              @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(visitasService.masVistos(periodo, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/pokemon/{id}/similares?k=10&tipos=true
+     * Pokémon con las estadísticas más parecidas (opcionalmente, favoreciendo los tipos en común)
+     */
+    @GetMapping("/{id}/similares")
+    public ResponseEntity<?> obtenerSimilares(@PathVariable Integer id,
+                                              @RequestParam(required = false) Integer k,
+                                              @RequestParam(defaultValue = "false") boolean tipos) {
+        try {
+            return ResponseEntity.ok(similaresService.similares(id, k, tipos));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * GET /api/pokemon/{id}/recomendados?limite=10
+     * Quien tiene este Pokémon en favoritos también tiene... (de mayor a menor afinidad)
+     */
+    @GetMapping("/{id}/recomendados")
+    public ResponseEntity<?> obtenerRecomendados(@PathVariable Integer id,
+                                                 @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(recomendacionService.recomendados(id, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -55,7 +183,9 @@ public class PokemonController {
     @GetMapping("/numero/{numero}")
     public ResponseEntity<PokemonDTO> obtenerPorNumero(@PathVariable Integer numero) {
         try {
-            return ResponseEntity.ok(pokemonService.obtenerPorNumero(numero));
+            PokemonDTO pokemon = pokemonService.obtenerPorNumero(numero);
+            visitasService.registrar(pokemon.getId());
+            return ResponseEntity.ok(pokemon);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
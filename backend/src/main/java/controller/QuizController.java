@@ -0,0 +1,112 @@
+package controller;
+
+import dto.QuizRespuestasRequest;
+import service.QuizRankingService;
+import service.QuizService;
+import service.UserLookupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+/**
+ * Controlador REST para el quiz generado a partir del catálogo
+ */
+@RestController
+@RequestMapping("/api/quiz")
+@CrossOrigin(origins = "*")
+public class QuizController {
+
+    private final QuizService quizService;
+    private final QuizRankingService quizRankingService;
+    private final UserLookupService userLookupService;
+
+    @Autowired
+    public QuizController(QuizService quizService,
+                          QuizRankingService quizRankingService,
+                          UserLookupService userLookupService) {
+        this.quizService = quizService;
+        this.quizRankingService = quizRankingService;
+        this.userLookupService = userLookupService;
+    }
+
+    /**
+     * GET /api/quiz?dificultad=normal&generacion=1&preguntas=10&semilla=42
+     * Generar un quiz nuevo (sin respuestas). Con sesión y sin semilla, el código queda ligado
+     * al usuario: lo puntúa una vez en el ranking y después puede revisarlo.
+     * Con semilla (o sin sesión) el quiz se puede repetir, pero no entra en el ranking.
+     */
+    @GetMapping
+    public ResponseEntity<?> generar(@RequestParam(required = false) String dificultad,
+                                     @RequestParam(required = false) Integer generacion,
+                                     @RequestParam(required = false) Integer preguntas,
+                                     @RequestParam(required = false) Long semilla,
+                                     Principal principal) {
+        try {
+            Integer usuarioId = principal != null ? userLookupService.obtenerId(principal.getName()) : null;
+            return ResponseEntity.ok(quizService.generar(dificultad, generacion, preguntas, semilla, usuarioId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/quiz/{codigo}/revision
+     * Mismas preguntas del quiz con las respuestas correctas
+     * Requiere autenticación: solo para quien envió el quiz
+     */
+    @GetMapping("/{codigo}/revision")
+    public ResponseEntity<?> revision(@PathVariable String codigo, Principal principal) {
+        try {
+            Integer usuarioId = userLookupService.obtenerId(principal.getName());
+            return ResponseEntity.ok(quizService.revision(codigo, usuarioId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * POST /api/quiz/{codigo}/respuestas
+     * Puntuar un quiz; con sesión iniciada el resultado entra en el ranking
+     */
+    @PostMapping("/{codigo}/respuestas")
+    public ResponseEntity<?> puntuar(@PathVariable String codigo,
+                                     @RequestBody QuizRespuestasRequest request,
+                                     Principal principal) {
+        try {
+            Integer usuarioId = principal != null ? userLookupService.obtenerId(principal.getName()) : null;
+            return ResponseEntity.ok(quizService.puntuar(codigo, request.getRespuestas(), usuarioId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/quiz/ranking?generacion=1&limite=100
+     * Mejores puntuaciones (global o de una generación)
+     */
+    @GetMapping("/ranking")
+    public ResponseEntity<?> ranking(@RequestParam(required = false) Integer generacion,
+                                     @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(quizRankingService.top(generacion, limite));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/quiz/ranking/yo?generacion=1
+     * Posición del usuario autenticado
+     */
+    @GetMapping("/ranking/yo")
+    public ResponseEntity<?> miPosicion(@RequestParam(required = false) Integer generacion, Principal principal) {
+        try {
+            Integer usuarioId = userLookupService.obtenerId(principal.getName());
+            return ResponseEntity.ok(quizRankingService.miPosicion(usuarioId, generacion));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package controller;
+
+import dto.SpriteAtlasDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import service.SpriteAtlasService;
+import service.StoredImage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controlador de atlas de sprites para la cuadrícula de la Pokédex
+ * Un atlas es un único PNG con las miniaturas y un mapa de coordenadas
+ */
+@RestController
+@RequestMapping("/api/pokemon/sprites")
+@CrossOrigin(origins = "*")
+public class SpriteAtlasController {
+
+    // El nombre del atlas es el hash de su contenido: nunca cambia
+    private static final String CACHE_ATLAS = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private SpriteAtlasService spriteAtlasService;
+
+    /**
+     * Atlas de una generación
+     * GET /api/pokemon/sprites/generacion/{generacion}
+     */
+    @GetMapping("/generacion/{generacion}")
+    public ResponseEntity<?> atlasGeneracion(@PathVariable Integer generacion) {
+        try {
+            SpriteAtlasDTO atlas = spriteAtlasService.atlasGeneracion(generacion);
+            return ResponseEntity.ok(atlas);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Atlas de un conjunto de Pokémon (ordenados por id)
+     * GET /api/pokemon/sprites?ids=1,4,7
+     */
+    @GetMapping
+    public ResponseEntity<?> atlas(@RequestParam List<Integer> ids) {
+        try {
+            SpriteAtlasDTO atlas = spriteAtlasService.atlas(ids);
+            return ResponseEntity.ok(atlas);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Imagen del atlas
+     * GET /api/pokemon/sprites/{clave}.png
+     */
+    @GetMapping("/{clave}.png")
+    public ResponseEntity<?> imagen(@PathVariable String clave,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response) {
+        StoredImage atlas = spriteAtlasService.getAtlas(clave);
+        if (atlas == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Atlas no encontrado");
+        }
+
+        try {
+            ImageResponseWriter.servir(atlas, CACHE_ATLAS, request, response);
+            return null; // Respuesta ya escrita
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                return null;
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al cargar el atlas: " + e.getMessage());
+        }
+    }
+}
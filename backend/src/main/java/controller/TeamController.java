@@ -0,0 +1,40 @@
+package controller;
+
+import dto.TeamOptimizeRequest;
+import dto.TeamOptimizeResponse;
+import service.TeamOptimizerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para la construcción de equipos
+ */
+@RestController
+@RequestMapping("/api/team")
+@CrossOrigin(origins = "*")
+public class TeamController {
+
+    private final TeamOptimizerService teamOptimizerService;
+
+    @Autowired
+    public TeamController(TeamOptimizerService teamOptimizerService) {
+        this.teamOptimizerService = teamOptimizerService;
+    }
+
+    /**
+     * POST /api/team/optimize
+     * Buscar el equipo con mejor cobertura de tipos y estadísticas según las restricciones
+     * (miembros fijos, generaciones permitidas, estadísticas mínimas, tamaño y presupuesto de tiempo)
+     */
+    @PostMapping("/optimize")
+    public ResponseEntity<?> optimizar(@RequestBody(required = false) TeamOptimizeRequest request) {
+        try {
+            TeamOptimizeResponse respuesta = teamOptimizerService.optimizar(
+                    request != null ? request : new TeamOptimizeRequest());
+            return ResponseEntity.ok(respuesta);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package controller;
 
+import dto.EfectividadDTO;
+import dto.PerfilDefensivoDTO;
 import dto.TipoDTO;
+import service.EfectividadService;
 import service.TipoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controlador REST para Tipos de Pokémon
@@ -17,19 +25,29 @@ import java.util.List;
 public class TipoController {
 
     private final TipoService tipoService;
+    private final EfectividadService efectividadService;
 
     @Autowired
-    public TipoController(TipoService tipoService) {
+    public TipoController(TipoService tipoService, EfectividadService efectividadService) {
         this.tipoService = tipoService;
+        this.efectividadService = efectividadService;
     }
 
     /**
      * GET /api/tipos
      * Obtener todos los tipos
+     * Los tipos casi nunca cambian: ETag con la versión del registro y caché de una hora
      */
     @GetMapping
-    public ResponseEntity<List<TipoDTO>> obtenerTodos() {
-        return ResponseEntity.ok(tipoService.obtenerTodos());
+    public ResponseEntity<List<TipoDTO>> obtenerTodos(WebRequest request) {
+        String etag = "\"tipos-" + tipoService.version() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .eTag(etag)
+                .body(tipoService.obtenerTodos());
     }
 
     /**
@@ -57,4 +75,62 @@ public class TipoController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // ==================== EFECTIVIDAD ====================
+
+    /**
+     * GET /api/tipos/efectividad
+     * Tabla completa de efectividad (multiplicadores[atacante][defensor])
+     */
+    @GetMapping("/efectividad")
+    public ResponseEntity<EfectividadDTO> tablaEfectividad() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .body(efectividadService.tabla());
+    }
+
+    /**
+     * GET /api/tipos/efectividad/multiplicador?atacante=Fuego&defensor=Planta&defensor=Volador
+     * Multiplicador de un ataque contra uno o dos tipos
+     */
+    @GetMapping("/efectividad/multiplicador")
+    public ResponseEntity<?> multiplicador(@RequestParam String atacante,
+                                           @RequestParam List<String> defensor) {
+        try {
+            Map<String, Object> respuesta = new LinkedHashMap<>();
+            respuesta.put("atacante", atacante);
+            respuesta.put("defensores", defensor);
+            respuesta.put("multiplicador", efectividadService.multiplicador(atacante, defensor));
+            return ResponseEntity.ok(respuesta);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/tipos/efectividad/ataque/{tipo}
+     * Multiplicadores de un tipo atacante contra cada tipo
+     */
+    @GetMapping("/efectividad/ataque/{tipo}")
+    public ResponseEntity<?> ataque(@PathVariable String tipo) {
+        try {
+            return ResponseEntity.ok(efectividadService.ataque(tipo));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET /api/tipos/perfil?tipos=Fuego,Volador
+     * Perfil defensivo de una combinación de tipos (debilidades, resistencias, inmunidades)
+     */
+    @GetMapping("/perfil")
+    public ResponseEntity<?> perfil(@RequestParam List<String> tipos) {
+        try {
+            PerfilDefensivoDTO perfil = efectividadService.perfil(tipos);
+            return ResponseEntity.ok(perfil);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
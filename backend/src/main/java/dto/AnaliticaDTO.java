@@ -0,0 +1,77 @@
+package dto;
+
+import java.util.Map;
+
+/**
+ * Analítica del catálogo: Pokémon por tipo, por generación y por combinación de tipos
+ * (de más a menos frecuente) y distribución de cada estadística
+ */
+public class AnaliticaDTO {
+    private Integer totalPokemon;
+    private Integer conEstadisticas;
+    private Map<String, Integer> porTipo;
+    private Map<Integer, Integer> porGeneracion;
+    private Map<String, Integer> combinacionesTipos;
+    private Map<String, DistribucionDTO> estadisticas;
+
+    public AnaliticaDTO() {}
+
+    public AnaliticaDTO(Integer totalPokemon, Integer conEstadisticas, Map<String, Integer> porTipo,
+                        Map<Integer, Integer> porGeneracion, Map<String, Integer> combinacionesTipos,
+                        Map<String, DistribucionDTO> estadisticas) {
+        this.totalPokemon = totalPokemon;
+        this.conEstadisticas = conEstadisticas;
+        this.porTipo = porTipo;
+        this.porGeneracion = porGeneracion;
+        this.combinacionesTipos = combinacionesTipos;
+        this.estadisticas = estadisticas;
+    }
+
+    public Integer getTotalPokemon() {
+        return totalPokemon;
+    }
+
+    public void setTotalPokemon(Integer totalPokemon) {
+        this.totalPokemon = totalPokemon;
+    }
+
+    public Integer getConEstadisticas() {
+        return conEstadisticas;
+    }
+
+    public void setConEstadisticas(Integer conEstadisticas) {
+        this.conEstadisticas = conEstadisticas;
+    }
+
+    public Map<String, Integer> getPorTipo() {
+        return porTipo;
+    }
+
+    public void setPorTipo(Map<String, Integer> porTipo) {
+        this.porTipo = porTipo;
+    }
+
+    public Map<Integer, Integer> getPorGeneracion() {
+        return porGeneracion;
+    }
+
+    public void setPorGeneracion(Map<Integer, Integer> porGeneracion) {
+        this.porGeneracion = porGeneracion;
+    }
+
+    public Map<String, Integer> getCombinacionesTipos() {
+        return combinacionesTipos;
+    }
+
+    public void setCombinacionesTipos(Map<String, Integer> combinacionesTipos) {
+        this.combinacionesTipos = combinacionesTipos;
+    }
+
+    public Map<String, DistribucionDTO> getEstadisticas() {
+        return estadisticas;
+    }
+
+    public void setEstadisticas(Map<String, DistribucionDTO> estadisticas) {
+        this.estadisticas = estadisticas;
+    }
+}
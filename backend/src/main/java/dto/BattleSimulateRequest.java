@@ -0,0 +1,48 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Petición de simulación de combates: dos equipos de 1 a 6 Pokémon (IDs, en orden de salida),
+ * número de combates y semilla opcional (misma semilla, mismo resultado)
+ */
+public class BattleSimulateRequest {
+    private List<Integer> equipoA;
+    private List<Integer> equipoB;
+    private Integer simulaciones;
+    private Long semilla;
+
+    public BattleSimulateRequest() {}
+
+    public List<Integer> getEquipoA() {
+        return equipoA;
+    }
+
+    public void setEquipoA(List<Integer> equipoA) {
+        this.equipoA = equipoA;
+    }
+
+    public List<Integer> getEquipoB() {
+        return equipoB;
+    }
+
+    public void setEquipoB(List<Integer> equipoB) {
+        this.equipoB = equipoB;
+    }
+
+    public Integer getSimulaciones() {
+        return simulaciones;
+    }
+
+    public void setSimulaciones(Integer simulaciones) {
+        this.simulaciones = simulaciones;
+    }
+
+    public Long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+}
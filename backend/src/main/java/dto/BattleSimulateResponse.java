@@ -0,0 +1,128 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Resultado de la simulación de combates: victorias de cada equipo, empates
+ * (combates que llegan al límite de turnos) y probabilidades de victoria
+ */
+public class BattleSimulateResponse {
+    private List<PokemonResumenDTO> equipoA;
+    private List<PokemonResumenDTO> equipoB;
+    private Long simulaciones;
+    private Long victoriasA;
+    private Long victoriasB;
+    private Long empates;
+    private Double probabilidadA;
+    private Double probabilidadB;
+    private Double turnosMedios;
+    private Long semilla;
+    private Long tiempoMs;
+
+    public BattleSimulateResponse() {}
+
+    public BattleSimulateResponse(List<PokemonResumenDTO> equipoA, List<PokemonResumenDTO> equipoB,
+                                  Long simulaciones, Long victoriasA, Long victoriasB, Long empates,
+                                  Double probabilidadA, Double probabilidadB, Double turnosMedios,
+                                  Long semilla, Long tiempoMs) {
+        this.equipoA = equipoA;
+        this.equipoB = equipoB;
+        this.simulaciones = simulaciones;
+        this.victoriasA = victoriasA;
+        this.victoriasB = victoriasB;
+        this.empates = empates;
+        this.probabilidadA = probabilidadA;
+        this.probabilidadB = probabilidadB;
+        this.turnosMedios = turnosMedios;
+        this.semilla = semilla;
+        this.tiempoMs = tiempoMs;
+    }
+
+    public List<PokemonResumenDTO> getEquipoA() {
+        return equipoA;
+    }
+
+    public void setEquipoA(List<PokemonResumenDTO> equipoA) {
+        this.equipoA = equipoA;
+    }
+
+    public List<PokemonResumenDTO> getEquipoB() {
+        return equipoB;
+    }
+
+    public void setEquipoB(List<PokemonResumenDTO> equipoB) {
+        this.equipoB = equipoB;
+    }
+
+    public Long getSimulaciones() {
+        return simulaciones;
+    }
+
+    public void setSimulaciones(Long simulaciones) {
+        this.simulaciones = simulaciones;
+    }
+
+    public Long getVictoriasA() {
+        return victoriasA;
+    }
+
+    public void setVictoriasA(Long victoriasA) {
+        this.victoriasA = victoriasA;
+    }
+
+    public Long getVictoriasB() {
+        return victoriasB;
+    }
+
+    public void setVictoriasB(Long victoriasB) {
+        this.victoriasB = victoriasB;
+    }
+
+    public Long getEmpates() {
+        return empates;
+    }
+
+    public void setEmpates(Long empates) {
+        this.empates = empates;
+    }
+
+    public Double getProbabilidadA() {
+        return probabilidadA;
+    }
+
+    public void setProbabilidadA(Double probabilidadA) {
+        this.probabilidadA = probabilidadA;
+    }
+
+    public Double getProbabilidadB() {
+        return probabilidadB;
+    }
+
+    public void setProbabilidadB(Double probabilidadB) {
+        this.probabilidadB = probabilidadB;
+    }
+
+    public Double getTurnosMedios() {
+        return turnosMedios;
+    }
+
+    public void setTurnosMedios(Double turnosMedios) {
+        this.turnosMedios = turnosMedios;
+    }
+
+    public Long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+
+    public Long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(Long tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+}
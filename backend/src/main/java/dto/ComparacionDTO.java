@@ -0,0 +1,45 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Comparación de 2 a 6 Pokémon: datos de cada uno y enfrentamientos de tipos entre ellos
+ */
+public class ComparacionDTO {
+    private List<ComparacionPokemonDTO> pokemon;
+    private List<EnfrentamientoDTO> enfrentamientos;
+    private Integer tamanoCatalogo;
+
+    public ComparacionDTO() {}
+
+    public ComparacionDTO(List<ComparacionPokemonDTO> pokemon, List<EnfrentamientoDTO> enfrentamientos,
+                          Integer tamanoCatalogo) {
+        this.pokemon = pokemon;
+        this.enfrentamientos = enfrentamientos;
+        this.tamanoCatalogo = tamanoCatalogo;
+    }
+
+    public List<ComparacionPokemonDTO> getPokemon() {
+        return pokemon;
+    }
+
+    public void setPokemon(List<ComparacionPokemonDTO> pokemon) {
+        this.pokemon = pokemon;
+    }
+
+    public List<EnfrentamientoDTO> getEnfrentamientos() {
+        return enfrentamientos;
+    }
+
+    public void setEnfrentamientos(List<EnfrentamientoDTO> enfrentamientos) {
+        this.enfrentamientos = enfrentamientos;
+    }
+
+    public Integer getTamanoCatalogo() {
+        return tamanoCatalogo;
+    }
+
+    public void setTamanoCatalogo(Integer tamanoCatalogo) {
+        this.tamanoCatalogo = tamanoCatalogo;
+    }
+}
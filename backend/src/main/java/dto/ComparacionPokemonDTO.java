@@ -0,0 +1,99 @@
+package dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Un Pokémon dentro de una comparación: estadísticas (y total), posición y percentil en el catálogo
+ * (percentil = % del catálogo por debajo, contando los empates como la mitad) y diferencia
+ * con el mejor de la comparación en cada estadística (0 = es el mejor)
+ */
+public class ComparacionPokemonDTO {
+    private Integer id;
+    private Integer numero;
+    private String nombre;
+    private List<String> tipos;
+    private Map<String, Integer> estadisticas;
+    private Map<String, Integer> rangos;
+    private Map<String, Float> percentiles;
+    private Map<String, Integer> diferencias;
+
+    public ComparacionPokemonDTO() {}
+
+    public ComparacionPokemonDTO(Integer id, Integer numero, String nombre, List<String> tipos,
+                                 Map<String, Integer> estadisticas, Map<String, Integer> rangos,
+                                 Map<String, Float> percentiles, Map<String, Integer> diferencias) {
+        this.id = id;
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tipos = tipos;
+        this.estadisticas = estadisticas;
+        this.rangos = rangos;
+        this.percentiles = percentiles;
+        this.diferencias = diferencias;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Integer numero) {
+        this.numero = numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public Map<String, Integer> getEstadisticas() {
+        return estadisticas;
+    }
+
+    public void setEstadisticas(Map<String, Integer> estadisticas) {
+        this.estadisticas = estadisticas;
+    }
+
+    public Map<String, Integer> getRangos() {
+        return rangos;
+    }
+
+    public void setRangos(Map<String, Integer> rangos) {
+        this.rangos = rangos;
+    }
+
+    public Map<String, Float> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(Map<String, Float> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public Map<String, Integer> getDiferencias() {
+        return diferencias;
+    }
+
+    public void setDiferencias(Map<String, Integer> diferencias) {
+        this.diferencias = diferencias;
+    }
+}
@@ -0,0 +1,88 @@
+package dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribución de una estadística en el catálogo: media, mediana, extremos, percentiles
+ * y histograma (conteos por intervalos de anchoIntervalo desde 0)
+ */
+public class DistribucionDTO {
+    private Double media;
+    private Integer mediana;
+    private Integer minimo;
+    private Integer maximo;
+    private Map<String, Integer> percentiles;
+    private Integer anchoIntervalo;
+    private List<Integer> histograma;
+
+    public DistribucionDTO() {}
+
+    public DistribucionDTO(Double media, Integer mediana, Integer minimo, Integer maximo,
+                           Map<String, Integer> percentiles, Integer anchoIntervalo,
+                           List<Integer> histograma) {
+        this.media = media;
+        this.mediana = mediana;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.percentiles = percentiles;
+        this.anchoIntervalo = anchoIntervalo;
+        this.histograma = histograma;
+    }
+
+    public Double getMedia() {
+        return media;
+    }
+
+    public void setMedia(Double media) {
+        this.media = media;
+    }
+
+    public Integer getMediana() {
+        return mediana;
+    }
+
+    public void setMediana(Integer mediana) {
+        this.mediana = mediana;
+    }
+
+    public Integer getMinimo() {
+        return minimo;
+    }
+
+    public void setMinimo(Integer minimo) {
+        this.minimo = minimo;
+    }
+
+    public Integer getMaximo() {
+        return maximo;
+    }
+
+    public void setMaximo(Integer maximo) {
+        this.maximo = maximo;
+    }
+
+    public Map<String, Integer> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(Map<String, Integer> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public Integer getAnchoIntervalo() {
+        return anchoIntervalo;
+    }
+
+    public void setAnchoIntervalo(Integer anchoIntervalo) {
+        this.anchoIntervalo = anchoIntervalo;
+    }
+
+    public List<Integer> getHistograma() {
+        return histograma;
+    }
+
+    public void setHistograma(List<Integer> histograma) {
+        this.histograma = histograma;
+    }
+}
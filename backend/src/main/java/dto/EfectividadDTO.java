@@ -0,0 +1,35 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Tabla completa de efectividad: multiplicadores[atacante][defensor]
+ * en el orden de la lista de tipos
+ */
+public class EfectividadDTO {
+    private List<String> tipos;
+    private float[][] multiplicadores;
+
+    public EfectividadDTO() {}
+
+    public EfectividadDTO(List<String> tipos, float[][] multiplicadores) {
+        this.tipos = tipos;
+        this.multiplicadores = multiplicadores;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public float[][] getMultiplicadores() {
+        return multiplicadores;
+    }
+
+    public void setMultiplicadores(float[][] multiplicadores) {
+        this.multiplicadores = multiplicadores;
+    }
+}
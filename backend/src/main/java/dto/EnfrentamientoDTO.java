@@ -0,0 +1,42 @@
+package dto;
+
+/**
+ * Multiplicador del mejor ataque con tipo propio de un Pokémon contra otro
+ */
+public class EnfrentamientoDTO {
+    private Integer atacanteId;
+    private Integer defensorId;
+    private Float multiplicador;
+
+    public EnfrentamientoDTO() {}
+
+    public EnfrentamientoDTO(Integer atacanteId, Integer defensorId, Float multiplicador) {
+        this.atacanteId = atacanteId;
+        this.defensorId = defensorId;
+        this.multiplicador = multiplicador;
+    }
+
+    public Integer getAtacanteId() {
+        return atacanteId;
+    }
+
+    public void setAtacanteId(Integer atacanteId) {
+        this.atacanteId = atacanteId;
+    }
+
+    public Integer getDefensorId() {
+        return defensorId;
+    }
+
+    public void setDefensorId(Integer defensorId) {
+        this.defensorId = defensorId;
+    }
+
+    public Float getMultiplicador() {
+        return multiplicador;
+    }
+
+    public void setMultiplicador(Float multiplicador) {
+        this.multiplicador = multiplicador;
+    }
+}
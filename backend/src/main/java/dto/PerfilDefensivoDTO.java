@@ -0,0 +1,68 @@
+package dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Perfil defensivo de una combinación de tipos:
+ * multiplicador de daño recibido de cada tipo atacante y listas de debilidades,
+ * resistencias e inmunidades
+ */
+public class PerfilDefensivoDTO {
+    private List<String> tipos;
+    private Map<String, Float> multiplicadores;
+    private List<String> debilidades;
+    private List<String> resistencias;
+    private List<String> inmunidades;
+
+    public PerfilDefensivoDTO() {}
+
+    public PerfilDefensivoDTO(List<String> tipos, Map<String, Float> multiplicadores,
+                              List<String> debilidades, List<String> resistencias, List<String> inmunidades) {
+        this.tipos = tipos;
+        this.multiplicadores = multiplicadores;
+        this.debilidades = debilidades;
+        this.resistencias = resistencias;
+        this.inmunidades = inmunidades;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public Map<String, Float> getMultiplicadores() {
+        return multiplicadores;
+    }
+
+    public void setMultiplicadores(Map<String, Float> multiplicadores) {
+        this.multiplicadores = multiplicadores;
+    }
+
+    public List<String> getDebilidades() {
+        return debilidades;
+    }
+
+    public void setDebilidades(List<String> debilidades) {
+        this.debilidades = debilidades;
+    }
+
+    public List<String> getResistencias() {
+        return resistencias;
+    }
+
+    public void setResistencias(List<String> resistencias) {
+        this.resistencias = resistencias;
+    }
+
+    public List<String> getInmunidades() {
+        return inmunidades;
+    }
+
+    public void setInmunidades(List<String> inmunidades) {
+        this.inmunidades = inmunidades;
+    }
+}
@@ -15,6 +15,7 @@ public class PokemonDTO {
     private BigDecimal peso;
     private String descripcion;
     private String imagenUrl;
+    private String imagenUrlOrigen;
     private Integer generacion;
     private List<String> tipos;
     private EstadisticasDTO estadisticas;
@@ -94,6 +95,14 @@ public class PokemonDTO {
         this.imagenUrl = imagenUrl;
     }
 
+    public String getImagenUrlOrigen() {
+        return imagenUrlOrigen;
+    }
+
+    public void setImagenUrlOrigen(String imagenUrlOrigen) {
+        this.imagenUrlOrigen = imagenUrlOrigen;
+    }
+
     public Integer getGeneracion() {
         return generacion;
     }
@@ -0,0 +1,54 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Datos mínimos de un Pokémon para listados de resultados (equipos, rankings...)
+ */
+public class PokemonResumenDTO {
+    private Integer id;
+    private Integer numero;
+    private String nombre;
+    private List<String> tipos;
+
+    public PokemonResumenDTO() {}
+
+    public PokemonResumenDTO(Integer id, Integer numero, String nombre, List<String> tipos) {
+        this.id = id;
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tipos = tipos;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Integer numero) {
+        this.numero = numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+}
@@ -0,0 +1,76 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Pokémon con estadísticas parecidas: distancia euclídea entre las 6 estadísticas base
+ * (reducida según los tipos en común si se pide) y número de tipos compartidos
+ */
+public class PokemonSimilarDTO {
+    private Integer id;
+    private Integer numero;
+    private String nombre;
+    private List<String> tipos;
+    private Float distancia;
+    private Integer tiposComunes;
+
+    public PokemonSimilarDTO() {}
+
+    public PokemonSimilarDTO(Integer id, Integer numero, String nombre, List<String> tipos,
+                             Float distancia, Integer tiposComunes) {
+        this.id = id;
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tipos = tipos;
+        this.distancia = distancia;
+        this.tiposComunes = tiposComunes;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Integer numero) {
+        this.numero = numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public Float getDistancia() {
+        return distancia;
+    }
+
+    public void setDistancia(Float distancia) {
+        this.distancia = distancia;
+    }
+
+    public Integer getTiposComunes() {
+        return tiposComunes;
+    }
+
+    public void setTiposComunes(Integer tiposComunes) {
+        this.tiposComunes = tiposComunes;
+    }
+}
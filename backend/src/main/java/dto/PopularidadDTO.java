@@ -0,0 +1,75 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Popularidad de un Pokémon: usuarios que lo tienen en favoritos y altas netas recientes
+ */
+public class PopularidadDTO {
+    private Integer id;
+    private Integer numero;
+    private String nombre;
+    private List<String> tipos;
+    private Long favoritos;
+    private Long recientes;
+
+    public PopularidadDTO() {}
+
+    public PopularidadDTO(Integer id, Integer numero, String nombre, List<String> tipos, Long favoritos,
+                          Long recientes) {
+        this.id = id;
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tipos = tipos;
+        this.favoritos = favoritos;
+        this.recientes = recientes;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Integer numero) {
+        this.numero = numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public Long getFavoritos() {
+        return favoritos;
+    }
+
+    public void setFavoritos(Long favoritos) {
+        this.favoritos = favoritos;
+    }
+
+    public Long getRecientes() {
+        return recientes;
+    }
+
+    public void setRecientes(Long recientes) {
+        this.recientes = recientes;
+    }
+}
@@ -0,0 +1,55 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Quiz generado a partir del catálogo
+ * (codigo identifica el quiz: semilla, dificultad, generación y número de preguntas)
+ */
+public class QuizDTO {
+    private String codigo;
+    private String dificultad;
+    private Integer generacion;
+    private List<QuizPreguntaDTO> preguntas;
+
+    public QuizDTO() {}
+
+    public QuizDTO(String codigo, String dificultad, Integer generacion, List<QuizPreguntaDTO> preguntas) {
+        this.codigo = codigo;
+        this.dificultad = dificultad;
+        this.generacion = generacion;
+        this.preguntas = preguntas;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getDificultad() {
+        return dificultad;
+    }
+
+    public void setDificultad(String dificultad) {
+        this.dificultad = dificultad;
+    }
+
+    public Integer getGeneracion() {
+        return generacion;
+    }
+
+    public void setGeneracion(Integer generacion) {
+        this.generacion = generacion;
+    }
+
+    public List<QuizPreguntaDTO> getPreguntas() {
+        return preguntas;
+    }
+
+    public void setPreguntas(List<QuizPreguntaDTO> preguntas) {
+        this.preguntas = preguntas;
+    }
+}
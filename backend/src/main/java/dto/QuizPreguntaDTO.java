@@ -0,0 +1,65 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Pregunta de quiz; respuestaCorrecta (índice en opciones) solo se rellena en la revisión
+ */
+public class QuizPreguntaDTO {
+    private String categoria;
+    private String pregunta;
+    private List<String> opciones;
+    private Integer pokemonId;
+    private Integer respuestaCorrecta;
+
+    public QuizPreguntaDTO() {}
+
+    public QuizPreguntaDTO(String categoria, String pregunta, List<String> opciones, Integer pokemonId,
+                           Integer respuestaCorrecta) {
+        this.categoria = categoria;
+        this.pregunta = pregunta;
+        this.opciones = opciones;
+        this.pokemonId = pokemonId;
+        this.respuestaCorrecta = respuestaCorrecta;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public void setCategoria(String categoria) {
+        this.categoria = categoria;
+    }
+
+    public String getPregunta() {
+        return pregunta;
+    }
+
+    public void setPregunta(String pregunta) {
+        this.pregunta = pregunta;
+    }
+
+    public List<String> getOpciones() {
+        return opciones;
+    }
+
+    public void setOpciones(List<String> opciones) {
+        this.opciones = opciones;
+    }
+
+    public Integer getPokemonId() {
+        return pokemonId;
+    }
+
+    public void setPokemonId(Integer pokemonId) {
+        this.pokemonId = pokemonId;
+    }
+
+    public Integer getRespuestaCorrecta() {
+        return respuestaCorrecta;
+    }
+
+    public void setRespuestaCorrecta(Integer respuestaCorrecta) {
+        this.respuestaCorrecta = respuestaCorrecta;
+    }
+}
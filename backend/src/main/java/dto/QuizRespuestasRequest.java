@@ -0,0 +1,20 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Respuestas enviadas para un quiz: índice de la opción elegida en cada pregunta (null = sin responder)
+ */
+public class QuizRespuestasRequest {
+    private List<Integer> respuestas;
+
+    public QuizRespuestasRequest() {}
+
+    public List<Integer> getRespuestas() {
+        return respuestas;
+    }
+
+    public void setRespuestas(List<Integer> respuestas) {
+        this.respuestas = respuestas;
+    }
+}
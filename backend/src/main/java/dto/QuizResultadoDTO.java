@@ -0,0 +1,87 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Resultado de un quiz puntuado en el servidor
+ * (las posiciones solo se rellenan si el usuario ha iniciado sesión)
+ */
+public class QuizResultadoDTO {
+    private String codigo;
+    private Integer aciertos;
+    private Integer total;
+    private Integer puntos;
+    private List<Integer> respuestasCorrectas;
+    private Integer posicionGlobal;
+    private Integer posicionGeneracion;
+
+    public QuizResultadoDTO() {}
+
+    public QuizResultadoDTO(String codigo, Integer aciertos, Integer total, Integer puntos,
+                            List<Integer> respuestasCorrectas, Integer posicionGlobal,
+                            Integer posicionGeneracion) {
+        this.codigo = codigo;
+        this.aciertos = aciertos;
+        this.total = total;
+        this.puntos = puntos;
+        this.respuestasCorrectas = respuestasCorrectas;
+        this.posicionGlobal = posicionGlobal;
+        this.posicionGeneracion = posicionGeneracion;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public Integer getAciertos() {
+        return aciertos;
+    }
+
+    public void setAciertos(Integer aciertos) {
+        this.aciertos = aciertos;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public Integer getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(Integer puntos) {
+        this.puntos = puntos;
+    }
+
+    public List<Integer> getRespuestasCorrectas() {
+        return respuestasCorrectas;
+    }
+
+    public void setRespuestasCorrectas(List<Integer> respuestasCorrectas) {
+        this.respuestasCorrectas = respuestasCorrectas;
+    }
+
+    public Integer getPosicionGlobal() {
+        return posicionGlobal;
+    }
+
+    public void setPosicionGlobal(Integer posicionGlobal) {
+        this.posicionGlobal = posicionGlobal;
+    }
+
+    public Integer getPosicionGeneracion() {
+        return posicionGeneracion;
+    }
+
+    public void setPosicionGeneracion(Integer posicionGeneracion) {
+        this.posicionGeneracion = posicionGeneracion;
+    }
+}
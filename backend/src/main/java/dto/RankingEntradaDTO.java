@@ -0,0 +1,85 @@
+package dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del ranking del quiz (mejor puntuación de un usuario)
+ */
+public class RankingEntradaDTO {
+    private Integer posicion;
+    private String username;
+    private Integer puntos;
+    private Integer aciertos;
+    private Integer total;
+    private String dificultad;
+    private LocalDateTime fecha;
+
+    public RankingEntradaDTO() {}
+
+    public RankingEntradaDTO(Integer posicion, String username, Integer puntos, Integer aciertos,
+                             Integer total, String dificultad, LocalDateTime fecha) {
+        this.posicion = posicion;
+        this.username = username;
+        this.puntos = puntos;
+        this.aciertos = aciertos;
+        this.total = total;
+        this.dificultad = dificultad;
+        this.fecha = fecha;
+    }
+
+    public Integer getPosicion() {
+        return posicion;
+    }
+
+    public void setPosicion(Integer posicion) {
+        this.posicion = posicion;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public Integer getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(Integer puntos) {
+        this.puntos = puntos;
+    }
+
+    public Integer getAciertos() {
+        return aciertos;
+    }
+
+    public void setAciertos(Integer aciertos) {
+        this.aciertos = aciertos;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public String getDificultad() {
+        return dificultad;
+    }
+
+    public void setDificultad(String dificultad) {
+        this.dificultad = dificultad;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+}
@@ -0,0 +1,52 @@
+package dto;
+
+/**
+ * Posición de un usuario en un ranking del quiz (generacion = null para el global)
+ */
+public class RankingPosicionDTO {
+    private Integer generacion;
+    private Integer posicion;
+    private Integer puntos;
+    private Integer participantes;
+
+    public RankingPosicionDTO() {}
+
+    public RankingPosicionDTO(Integer generacion, Integer posicion, Integer puntos, Integer participantes) {
+        this.generacion = generacion;
+        this.posicion = posicion;
+        this.puntos = puntos;
+        this.participantes = participantes;
+    }
+
+    public Integer getGeneracion() {
+        return generacion;
+    }
+
+    public void setGeneracion(Integer generacion) {
+        this.generacion = generacion;
+    }
+
+    public Integer getPosicion() {
+        return posicion;
+    }
+
+    public void setPosicion(Integer posicion) {
+        this.posicion = posicion;
+    }
+
+    public Integer getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(Integer puntos) {
+        this.puntos = puntos;
+    }
+
+    public Integer getParticipantes() {
+        return participantes;
+    }
+
+    public void setParticipantes(Integer participantes) {
+        this.participantes = participantes;
+    }
+}
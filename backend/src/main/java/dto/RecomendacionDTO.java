@@ -0,0 +1,75 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Pokémon recomendado: usuarios que tienen en favoritos ambos Pokémon y afinidad (coseno) entre ellos
+ */
+public class RecomendacionDTO {
+    private Integer id;
+    private Integer numero;
+    private String nombre;
+    private List<String> tipos;
+    private Integer coincidencias;
+    private Double afinidad;
+
+    public RecomendacionDTO() {}
+
+    public RecomendacionDTO(Integer id, Integer numero, String nombre, List<String> tipos,
+                            Integer coincidencias, Double afinidad) {
+        this.id = id;
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tipos = tipos;
+        this.coincidencias = coincidencias;
+        this.afinidad = afinidad;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Integer numero) {
+        this.numero = numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public Integer getCoincidencias() {
+        return coincidencias;
+    }
+
+    public void setCoincidencias(Integer coincidencias) {
+        this.coincidencias = coincidencias;
+    }
+
+    public Double getAfinidad() {
+        return afinidad;
+    }
+
+    public void setAfinidad(Double afinidad) {
+        this.afinidad = afinidad;
+    }
+}
@@ -0,0 +1,76 @@
+package dto;
+
+import java.util.Map;
+
+/**
+ * Atlas de sprites: URL de la imagen y posición de cada Pokémon en ella
+ * (sprites: idPokemon -> [x, y, ancho, alto])
+ */
+public class SpriteAtlasDTO {
+    private String imagenUrl;
+    private Integer celda;
+    private Integer columnas;
+    private Integer ancho;
+    private Integer alto;
+    private Map<Integer, int[]> sprites;
+
+    public SpriteAtlasDTO() {}
+
+    public SpriteAtlasDTO(String imagenUrl, Integer celda, Integer columnas, Integer ancho, Integer alto,
+                          Map<Integer, int[]> sprites) {
+        this.imagenUrl = imagenUrl;
+        this.celda = celda;
+        this.columnas = columnas;
+        this.ancho = ancho;
+        this.alto = alto;
+        this.sprites = sprites;
+    }
+
+    public String getImagenUrl() {
+        return imagenUrl;
+    }
+
+    public void setImagenUrl(String imagenUrl) {
+        this.imagenUrl = imagenUrl;
+    }
+
+    public Integer getCelda() {
+        return celda;
+    }
+
+    public void setCelda(Integer celda) {
+        this.celda = celda;
+    }
+
+    public Integer getColumnas() {
+        return columnas;
+    }
+
+    public void setColumnas(Integer columnas) {
+        this.columnas = columnas;
+    }
+
+    public Integer getAncho() {
+        return ancho;
+    }
+
+    public void setAncho(Integer ancho) {
+        this.ancho = ancho;
+    }
+
+    public Integer getAlto() {
+        return alto;
+    }
+
+    public void setAlto(Integer alto) {
+        this.alto = alto;
+    }
+
+    public Map<Integer, int[]> getSprites() {
+        return sprites;
+    }
+
+    public void setSprites(Map<Integer, int[]> sprites) {
+        this.sprites = sprites;
+    }
+}
@@ -0,0 +1,73 @@
+package dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Restricciones para el optimizador de equipos (todas opcionales):
+ * - fijos: IDs de Pokémon que deben estar en el equipo
+ * - generaciones: generaciones permitidas para el resto de miembros
+ * - estadisticasMinimas: mínimo por estadística (ps, ataque, defensa, velocidad,
+ *   ataqueEspecial, defensaEspecial o total)
+ * - tamano: miembros del equipo (1-6, por defecto 6)
+ * - presupuestoMs: tiempo máximo de búsqueda
+ * - anchoHaz: equipos parciales que se conservan en cada paso de la búsqueda
+ */
+public class TeamOptimizeRequest {
+    private List<Integer> fijos;
+    private List<Integer> generaciones;
+    private Map<String, Integer> estadisticasMinimas;
+    private Integer tamano;
+    private Integer presupuestoMs;
+    private Integer anchoHaz;
+
+    public TeamOptimizeRequest() {}
+
+    public List<Integer> getFijos() {
+        return fijos;
+    }
+
+    public void setFijos(List<Integer> fijos) {
+        this.fijos = fijos;
+    }
+
+    public List<Integer> getGeneraciones() {
+        return generaciones;
+    }
+
+    public void setGeneraciones(List<Integer> generaciones) {
+        this.generaciones = generaciones;
+    }
+
+    public Map<String, Integer> getEstadisticasMinimas() {
+        return estadisticasMinimas;
+    }
+
+    public void setEstadisticasMinimas(Map<String, Integer> estadisticasMinimas) {
+        this.estadisticasMinimas = estadisticasMinimas;
+    }
+
+    public Integer getTamano() {
+        return tamano;
+    }
+
+    public void setTamano(Integer tamano) {
+        this.tamano = tamano;
+    }
+
+    public Integer getPresupuestoMs() {
+        return presupuestoMs;
+    }
+
+    public void setPresupuestoMs(Integer presupuestoMs) {
+        this.presupuestoMs = presupuestoMs;
+    }
+
+    public Integer getAnchoHaz() {
+        return anchoHaz;
+    }
+
+    public void setAnchoHaz(Integer anchoHaz) {
+        this.anchoHaz = anchoHaz;
+    }
+}
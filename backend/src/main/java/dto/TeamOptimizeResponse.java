@@ -0,0 +1,108 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Resultado del optimizador de equipos: miembros, puntuación y resumen de cobertura
+ * (completo = false si se agotó el presupuesto de tiempo antes de terminar la búsqueda)
+ */
+public class TeamOptimizeResponse {
+    private List<PokemonResumenDTO> equipo;
+    private Float puntuacion;
+    private List<String> tiposCubiertos;
+    private List<String> tiposSinCobertura;
+    private List<String> resistencias;
+    private List<String> debilidadesCompartidas;
+    private Long evaluados;
+    private Long tiempoMs;
+    private Boolean completo;
+
+    public TeamOptimizeResponse() {}
+
+    public TeamOptimizeResponse(List<PokemonResumenDTO> equipo, Float puntuacion,
+                                List<String> tiposCubiertos, List<String> tiposSinCobertura,
+                                List<String> resistencias, List<String> debilidadesCompartidas,
+                                Long evaluados, Long tiempoMs, Boolean completo) {
+        this.equipo = equipo;
+        this.puntuacion = puntuacion;
+        this.tiposCubiertos = tiposCubiertos;
+        this.tiposSinCobertura = tiposSinCobertura;
+        this.resistencias = resistencias;
+        this.debilidadesCompartidas = debilidadesCompartidas;
+        this.evaluados = evaluados;
+        this.tiempoMs = tiempoMs;
+        this.completo = completo;
+    }
+
+    public List<PokemonResumenDTO> getEquipo() {
+        return equipo;
+    }
+
+    public void setEquipo(List<PokemonResumenDTO> equipo) {
+        this.equipo = equipo;
+    }
+
+    public Float getPuntuacion() {
+        return puntuacion;
+    }
+
+    public void setPuntuacion(Float puntuacion) {
+        this.puntuacion = puntuacion;
+    }
+
+    public List<String> getTiposCubiertos() {
+        return tiposCubiertos;
+    }
+
+    public void setTiposCubiertos(List<String> tiposCubiertos) {
+        this.tiposCubiertos = tiposCubiertos;
+    }
+
+    public List<String> getTiposSinCobertura() {
+        return tiposSinCobertura;
+    }
+
+    public void setTiposSinCobertura(List<String> tiposSinCobertura) {
+        this.tiposSinCobertura = tiposSinCobertura;
+    }
+
+    public List<String> getResistencias() {
+        return resistencias;
+    }
+
+    public void setResistencias(List<String> resistencias) {
+        this.resistencias = resistencias;
+    }
+
+    public List<String> getDebilidadesCompartidas() {
+        return debilidadesCompartidas;
+    }
+
+    public void setDebilidadesCompartidas(List<String> debilidadesCompartidas) {
+        this.debilidadesCompartidas = debilidadesCompartidas;
+    }
+
+    public Long getEvaluados() {
+        return evaluados;
+    }
+
+    public void setEvaluados(Long evaluados) {
+        this.evaluados = evaluados;
+    }
+
+    public Long getTiempoMs() {
+        return tiempoMs;
+    }
+
+    public void setTiempoMs(Long tiempoMs) {
+        this.tiempoMs = tiempoMs;
+    }
+
+    public Boolean getCompleto() {
+        return completo;
+    }
+
+    public void setCompleto(Boolean completo) {
+        this.completo = completo;
+    }
+}
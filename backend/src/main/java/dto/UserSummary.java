@@ -0,0 +1,54 @@
+package dto;
+
+/**
+ * Proyección ligera de User (sin avatar ni datos de perfil)
+ * Usada cuando solo se necesita el id, el rol o si la cuenta está habilitada
+ */
+public class UserSummary {
+    private Integer id;
+    private String username;
+    private String role;
+    private Boolean enabled;
+
+    public UserSummary() {
+    }
+
+    public UserSummary(Integer id, String username, String role, Boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.enabled = enabled;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,64 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * Visitas a la ficha de un Pokémon en un periodo (última hora, último día o total)
+ */
+public class VisitasDTO {
+    private Integer id;
+    private Integer numero;
+    private String nombre;
+    private List<String> tipos;
+    private Long visitas;
+
+    public VisitasDTO() {}
+
+    public VisitasDTO(Integer id, Integer numero, String nombre, List<String> tipos, Long visitas) {
+        this.id = id;
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tipos = tipos;
+        this.visitas = visitas;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getNumero() {
+        return numero;
+    }
+
+    public void setNumero(Integer numero) {
+        this.numero = numero;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<String> getTipos() {
+        return tipos;
+    }
+
+    public void setTipos(List<String> tipos) {
+        this.tipos = tipos;
+    }
+
+    public Long getVisitas() {
+        return visitas;
+    }
+
+    public void setVisitas(Long visitas) {
+        this.visitas = visitas;
+    }
+}
@@ -4,14 +4,18 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "favoritos")
+@Table(name = "favoritos",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_favoritos_usuario_pokemon",
+                columnNames = {"usuario_id", "pokemon_id"}
+        ))
 public class Favorito {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     private User usuario;
 
@@ -34,9 +34,19 @@ public class Pokemon {
     @Column(name = "imagen_url", length = 255)
     private String imagenUrl;
 
+    // URL original (raw.githubusercontent.com) cuando imagenUrl apunta a la copia local
+    @Column(name = "imagen_url_origen", length = 255)
+    private String imagenUrlOrigen;
+
     @Column(name = "generacion", nullable = false)
     private Integer generacion;
 
+    // Veces que se ha consultado su ficha: solo la actualiza VisitasService (UPDATE por lotes),
+    // así que JPA no la inserta ni la sobrescribe al guardar el Pokémon
+    @Column(name = "visitas", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long visitas;
+
     // Constructores
     public Pokemon() {}
 
@@ -109,6 +119,14 @@ public class Pokemon {
         this.imagenUrl = imagenUrl;
     }
 
+    public String getImagenUrlOrigen() {
+        return imagenUrlOrigen;
+    }
+
+    public void setImagenUrlOrigen(String imagenUrlOrigen) {
+        this.imagenUrlOrigen = imagenUrlOrigen;
+    }
+
     public Integer getGeneracion() {
         return generacion;
     }
@@ -116,4 +134,12 @@ public class Pokemon {
     public void setGeneracion(Integer generacion) {
         this.generacion = generacion;
     }
-}
\ No newline at end of file
+
+    public Long getVisitas() {
+        return visitas;
+    }
+
+    public void setVisitas(Long visitas) {
+        this.visitas = visitas;
+    }
+}
@@ -0,0 +1,52 @@
+package entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad PokemonPopularidad - Número de usuarios que tienen cada Pokémon en favoritos
+ *
+ * Agregado que PopularidadService vuelca en diferido; evita el GROUP BY sobre favoritos.
+ */
+@Entity
+@Table(name = "pokemon_popularidad")
+public class PokemonPopularidad {
+
+    @Id
+    @Column(name = "pokemon_id")
+    private Integer pokemonId;
+
+    @Column(name = "favoritos", nullable = false)
+    private Long favoritos;
+
+    @Column(name = "actualizado", nullable = false)
+    private LocalDateTime actualizado;
+
+    // Constructores
+    public PokemonPopularidad() {}
+
+    // Getters y Setters
+    public Integer getPokemonId() {
+        return pokemonId;
+    }
+
+    public void setPokemonId(Integer pokemonId) {
+        this.pokemonId = pokemonId;
+    }
+
+    public Long getFavoritos() {
+        return favoritos;
+    }
+
+    public void setFavoritos(Long favoritos) {
+        this.favoritos = favoritos;
+    }
+
+    public LocalDateTime getActualizado() {
+        return actualizado;
+    }
+
+    public void setActualizado(LocalDateTime actualizado) {
+        this.actualizado = actualizado;
+    }
+}
@@ -0,0 +1,99 @@
+package entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad QuizRanking - Mejor puntuación de cada usuario en el quiz
+ * (generacion = 0 para el ranking global)
+ *
+ * Se escribe en diferido desde QuizRankingService; el ranking se consulta en memoria.
+ */
+@Entity
+@Table(name = "quiz_ranking")
+@IdClass(QuizRankingId.class)
+public class QuizRanking {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Integer usuarioId;
+
+    @Id
+    @Column(name = "generacion")
+    private Integer generacion;
+
+    @Column(name = "puntos", nullable = false)
+    private Integer puntos;
+
+    @Column(name = "aciertos", nullable = false)
+    private Integer aciertos;
+
+    @Column(name = "total", nullable = false)
+    private Integer total;
+
+    @Column(name = "dificultad", nullable = false, length = 10)
+    private String dificultad;
+
+    @Column(name = "fecha", nullable = false)
+    private LocalDateTime fecha;
+
+    // Constructores
+    public QuizRanking() {}
+
+    // Getters y Setters
+    public Integer getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Integer usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Integer getGeneracion() {
+        return generacion;
+    }
+
+    public void setGeneracion(Integer generacion) {
+        this.generacion = generacion;
+    }
+
+    public Integer getPuntos() {
+        return puntos;
+    }
+
+    public void setPuntos(Integer puntos) {
+        this.puntos = puntos;
+    }
+
+    public Integer getAciertos() {
+        return aciertos;
+    }
+
+    public void setAciertos(Integer aciertos) {
+        this.aciertos = aciertos;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public String getDificultad() {
+        return dificultad;
+    }
+
+    public void setDificultad(String dificultad) {
+        this.dificultad = dificultad;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+}
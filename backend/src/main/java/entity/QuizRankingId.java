@@ -0,0 +1,50 @@
+package entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Clase de clave compuesta para QuizRanking
+ */
+public class QuizRankingId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer usuarioId;
+    private Integer generacion;
+
+    public QuizRankingId() {}
+
+    public QuizRankingId(Integer usuarioId, Integer generacion) {
+        this.usuarioId = usuarioId;
+        this.generacion = generacion;
+    }
+
+    public Integer getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Integer usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Integer getGeneracion() {
+        return generacion;
+    }
+
+    public void setGeneracion(Integer generacion) {
+        this.generacion = generacion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        QuizRankingId that = (QuizRankingId) o;
+        return Objects.equals(usuarioId, that.usuarioId) && Objects.equals(generacion, that.generacion);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(usuarioId, generacion);
+    }
+}
@@ -56,8 +56,9 @@ public class User {
     @Column(name = "language", length = 20)
     private String language;
 
-    @Column(name = "avatar", columnDefinition = "TEXT")
-    private String avatar;
+    // Hash SHA-256 del avatar (la imagen se guarda en disco, ver FileStorageService)
+    @Column(name = "avatar_hash", length = 64)
+    private String avatarHash;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -193,12 +194,12 @@ public class User {
         this.language = language;
     }
 
-    public String getAvatar() {
-        return avatar;
+    public String getAvatarHash() {
+        return avatarHash;
     }
 
-    public void setAvatar(String avatar) {
-        this.avatar = avatar;
+    public void setAvatarHash(String avatarHash) {
+        this.avatarHash = avatarHash;
     }
 
     public LocalDateTime getCreatedAt() {
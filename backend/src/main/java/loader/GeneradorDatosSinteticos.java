@@ -0,0 +1,487 @@
+package loader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import service.CatalogoService;
+import service.IntIntMap;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generador determinista de datos sintéticos para pruebas de escala
+ *
+ * Escribe Pokémon (con Estadísticas, Pokemon_tipo y Evolucion), usuarios y favoritos
+ * con inserciones por lotes de JDBC, contra la BD que use el JdbcTemplate (una BD
+ * local o embebida dedicada a pruebas). Con la misma semilla y los mismos tamaños,
+ * sobre una BD vacía, se generan exactamente los mismos datos:
+ *
+ *   new GeneradorDatosSinteticos(jdbcTemplate, 42).generar(100_000, 200_000, 10_000_000);
+ *
+ * Los datos imitan la forma de los reales: tipos con frecuencias parecidas a las
+ * oficiales, estadísticas que crecen a lo largo de cadenas de 1 a 3 evoluciones,
+ * favoritos repartidos con una ley de Zipf (unos pocos Pokémon acaparan la mayoría)
+ * y usuarios con un número de favoritos muy desigual (log-normal).
+ * Los Pokémon se numeran a continuación del mayor número existente, así que pueden
+ * convivir con el catálogo real. Todos los usuarios tienen la contraseña CONTRASENA.
+ */
+public class GeneradorDatosSinteticos {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorDatosSinteticos.class);
+
+    public static final String PREFIJO_USUARIO = "sintetico_";
+    public static final String CONTRASENA = "sintetico";
+
+    private static final int LOTE = 5_000;
+    private static final int GENERACIONES = 9;
+
+    // Frecuencia relativa de cada tipo como tipo principal (aproximada a la oficial)
+    private static final Map<String, Integer> PESO_TIPOS = Map.ofEntries(
+            Map.entry("normal", 12), Map.entry("fire", 7), Map.entry("water", 13),
+            Map.entry("electric", 6), Map.entry("grass", 9), Map.entry("ice", 4),
+            Map.entry("fighting", 4), Map.entry("poison", 5), Map.entry("ground", 4),
+            Map.entry("flying", 2), Map.entry("psychic", 6), Map.entry("bug", 8),
+            Map.entry("rock", 5), Map.entry("ghost", 3), Map.entry("dragon", 3),
+            Map.entry("dark", 4), Map.entry("steel", 3), Map.entry("fairy", 2));
+
+    private static final String[] SILABAS = {
+            "pi", "ka", "chu", "bul", "ba", "saur", "char", "man", "der", "squi", "tle", "ra",
+            "ta", "pid", "geo", "dud", "zu", "bat", "gol", "mew", "tor", "chic", "mud", "kip",
+            "tree", "ko", "lo", "nix", "vul", "fla", "ree", "don", "mag", "ne", "sol", "lu"};
+
+    private static final String[] METODOS = {"Nivel", "Piedra", "Intercambio", "Amistad"};
+
+    private static final LocalDateTime INICIO_FAVORITOS = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int SEGUNDOS_ANO = 365 * 24 * 3600;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long semilla;
+    private final CatalogoService catalogoService;
+
+    public GeneradorDatosSinteticos(JdbcTemplate jdbcTemplate, long semilla) {
+        this(jdbcTemplate, semilla, null);
+    }
+
+    /**
+     * Con catalogoService, el catálogo en memoria se invalida al terminar para que
+     * incluya los Pokémon generados
+     */
+    public GeneradorDatosSinteticos(JdbcTemplate jdbcTemplate, long semilla, CatalogoService catalogoService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.semilla = semilla;
+        this.catalogoService = catalogoService;
+    }
+
+    /**
+     * Generar numPokemon Pokémon, numUsuarios usuarios y numFavoritos favoritos en total
+     * (o menos, si algún usuario llegaría a tener más favoritos que Pokémon hay)
+     */
+    public Resumen generar(int numPokemon, int numUsuarios, long numFavoritos) {
+        if (numPokemon < 1 || numUsuarios < 0 || numFavoritos < 0) {
+            throw new IllegalArgumentException("Tamaños no válidos");
+        }
+        if (numFavoritos > 0 && numUsuarios == 0) {
+            throw new IllegalArgumentException("Hacen falta usuarios para generar favoritos");
+        }
+        long inicio = System.currentTimeMillis();
+
+        int[] tipoIds = cargarTipos();
+        Catalogo catalogo = generarPokemon(numPokemon, tipoIds);
+        int[] usuarioIds = generarUsuarios(numUsuarios);
+        long favoritos = generarFavoritos(catalogo.ids, usuarioIds, numFavoritos);
+        if (catalogoService != null) {
+            catalogoService.invalidar();
+        }
+
+        Resumen resumen = new Resumen(catalogo.primerNumero, numPokemon, catalogo.evoluciones,
+                numUsuarios, favoritos, System.currentTimeMillis() - inicio);
+        log.info("Datos sintéticos generados: {} Pokémon, {} evoluciones, {} usuarios, {} favoritos en {} ms",
+                numPokemon, catalogo.evoluciones, numUsuarios, favoritos, resumen.getMilisegundos());
+        return resumen;
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // 1. TIPOS (los 18 oficiales, si la tabla está vacía)
+    // ─────────────────────────────────────────────────────────────
+
+    /**
+     * ids de los tipos en el orden de PokeDataLoader.TIPO_NOMBRES_ES
+     */
+    private int[] cargarTipos() {
+        Integer existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Tipo", Integer.class);
+        if (existentes == null || existentes == 0) {
+            List<Object[]> filas = new ArrayList<>();
+            PokeDataLoader.TIPO_NOMBRES_ES.forEach((en, es) ->
+                    filas.add(new Object[]{es, en, PokeDataLoader.TIPO_COLORES.getOrDefault(en, "#888888")}));
+            jdbcTemplate.batchUpdate("INSERT INTO Tipo (nombre, icono, color) VALUES (?, ?, ?)", filas);
+        }
+
+        int[] ids = new int[PokeDataLoader.TIPO_NOMBRES_ES.size()];
+        int k = 0;
+        for (String en : PokeDataLoader.TIPO_NOMBRES_ES.keySet()) {
+            ids[k++] = jdbcTemplate.queryForObject("SELECT idTipo FROM Tipo WHERE icono = ?", Integer.class, en);
+        }
+        return ids;
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // 2. POKÉMON + ESTADÍSTICAS + POKEMON_TIPO + EVOLUCIONES
+    // ─────────────────────────────────────────────────────────────
+
+    private Catalogo generarPokemon(int n, int[] tipoIds) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        Integer maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(numero), 0) FROM Pokemon", Integer.class);
+        int primerNumero = (maximo != null ? maximo : 0) + 1;
+
+        String[] nombresTipo = PokeDataLoader.TIPO_NOMBRES_ES.values().toArray(new String[0]);
+        int[] pesoAcumulado = new int[tipoIds.length];
+        int suma = 0;
+        int k = 0;
+        for (String en : PokeDataLoader.TIPO_NOMBRES_ES.keySet()) {
+            suma += PESO_TIPOS.getOrDefault(en, 1);
+            pesoAcumulado[k++] = suma;
+        }
+
+        // Cadenas de evolución: posición de cada Pokémon en su cadena (0 = forma base)
+        int[] etapa = new int[n];
+        int[] tipo1 = new int[n];
+        int[] tipo2 = new int[n];
+        for (int i = 0; i < n; ) {
+            int largo = Math.min(n - i, elegirLargoCadena(random));
+            int t1 = elegirTipo(random, pesoAcumulado, suma);
+            int t2 = random.nextInt(100) < 45 ? elegirTipo(random, pesoAcumulado, suma) : -1;
+            if (t2 == t1) {
+                t2 = -1;
+            }
+            for (int e = 0; e < largo; e++) {
+                etapa[i + e] = e;
+                tipo1[i + e] = t1;
+                tipo2[i + e] = t2;
+            }
+            i += largo;
+        }
+
+        List<Object[]> filas = new ArrayList<>(LOTE);
+        for (int i = 0; i < n; i++) {
+            int numero = primerNumero + i;
+            String nombre = nombre(random);
+            double altura = Math.min(99.0, 0.3 * (1 + etapa[i]) * Math.exp(random.nextDouble(-0.7, 0.7)) + 0.1);
+            double peso = Math.min(9999.0, altura * altura * 30 * Math.exp(random.nextDouble(-1.0, 1.0)) + 0.1);
+            filas.add(new Object[]{numero, nombre, decimal(altura), decimal(peso),
+                    "Pokémon sintético de tipo " + nombresTipo[tipo1[i]] +
+                            ", etapa " + (etapa[i] + 1) + ".",
+                    1 + (int) ((long) i * GENERACIONES / n)});
+            if (filas.size() == LOTE) {
+                insertarPokemon(filas);
+            }
+        }
+        insertarPokemon(filas);
+
+        int[] ids = new int[n];
+        jdbcTemplate.query("SELECT idPokemon, numero FROM Pokemon WHERE numero >= ? AND numero < ?",
+                rs -> {
+                    ids[rs.getInt(2) - primerNumero] = rs.getInt(1);
+                }, primerNumero, primerNumero + n);
+
+        // Estadísticas: el total crece con la etapa; se reparte entre las seis con pesos aleatorios
+        List<Object[]> estadisticas = new ArrayList<>(LOTE);
+        List<Object[]> tipos = new ArrayList<>(LOTE);
+        List<Object[]> evoluciones = new ArrayList<>(LOTE);
+        int numEvoluciones = 0;
+        for (int i = 0; i < n; i++) {
+            double total = Math.max(180, Math.min(720, (300 + 120 * etapa[i]) * Math.exp(random.nextDouble(-0.2, 0.2))));
+            double[] pesos = new double[6];
+            double sumaPesos = 0;
+            for (int s = 0; s < 6; s++) {
+                pesos[s] = 0.5 + random.nextDouble();
+                sumaPesos += pesos[s];
+            }
+            Object[] fila = new Object[7];
+            fila[0] = ids[i];
+            for (int s = 0; s < 6; s++) {
+                fila[s + 1] = Math.max(1, Math.min(255, (int) Math.round(total * pesos[s] / sumaPesos)));
+            }
+            estadisticas.add(fila);
+
+            tipos.add(new Object[]{ids[i], tipoIds[tipo1[i]], (byte) 1});
+            if (tipo2[i] >= 0) {
+                tipos.add(new Object[]{ids[i], tipoIds[tipo2[i]], (byte) 2});
+            }
+
+            if (etapa[i] > 0) {
+                String metodo = METODOS[random.nextInt(METODOS.length)];
+                Integer nivel = metodo.equals("Nivel") ? 10 + 15 * etapa[i] + random.nextInt(15) : null;
+                evoluciones.add(new Object[]{ids[i - 1], ids[i], nivel, nivel != null ? "Nivel " + nivel : metodo});
+                numEvoluciones++;
+            }
+
+            if (estadisticas.size() == LOTE) {
+                insertar("INSERT INTO Estadísticas (idPokemon, ps, ataque, defensa, velocidad, " +
+                        "ataque_especial, defensa_especial) VALUES (?, ?, ?, ?, ?, ?, ?)", estadisticas);
+                insertar("INSERT INTO Pokemon_tipo (pokemon_id, tipo_id, orden) VALUES (?, ?, ?)", tipos);
+                insertar("INSERT INTO Evolucion (pokemon_origen_id, pokemon_destino_id, nivel_evolucion, metodo) " +
+                        "VALUES (?, ?, ?, ?)", evoluciones);
+            }
+        }
+        insertar("INSERT INTO Estadísticas (idPokemon, ps, ataque, defensa, velocidad, " +
+                "ataque_especial, defensa_especial) VALUES (?, ?, ?, ?, ?, ?, ?)", estadisticas);
+        insertar("INSERT INTO Pokemon_tipo (pokemon_id, tipo_id, orden) VALUES (?, ?, ?)", tipos);
+        insertar("INSERT INTO Evolucion (pokemon_origen_id, pokemon_destino_id, nivel_evolucion, metodo) " +
+                "VALUES (?, ?, ?, ?)", evoluciones);
+
+        log.info("  → {} Pokémon sintéticos (#{} - #{})", n, primerNumero, primerNumero + n - 1);
+        return new Catalogo(primerNumero, ids, numEvoluciones);
+    }
+
+    private void insertarPokemon(List<Object[]> filas) {
+        insertar("INSERT INTO Pokemon (numero, nombre, altura, peso, descripción, generacion) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", filas);
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // 3. USUARIOS
+    // ─────────────────────────────────────────────────────────────
+
+    private int[] generarUsuarios(int n) {
+        if (n == 0) {
+            return new int[0];
+        }
+        // Un único hash para todos (coste mínimo de BCrypt: se rehace al iniciar sesión)
+        String hash = new BCryptPasswordEncoder(4).encode(CONTRASENA);
+        Integer maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Integer.class);
+        int base = maximo != null ? maximo : 0;
+        Timestamp creado = Timestamp.valueOf(INICIO_FAVORITOS);
+
+        List<Object[]> filas = new ArrayList<>(LOTE);
+        for (int u = 0; u < n; u++) {
+            String username = PREFIJO_USUARIO + (base + u + 1);
+            filas.add(new Object[]{username, hash, username + "@example.com", "USER", true, creado, creado});
+            if (filas.size() == LOTE) {
+                insertarUsuarios(filas);
+            }
+        }
+        insertarUsuarios(filas);
+
+        // Los ids se asignan en orden de inserción (BD dedicada: nadie más inserta a la vez)
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id", Integer.class, base);
+        log.info("  → {} usuarios sintéticos", ids.size());
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void insertarUsuarios(List<Object[]> filas) {
+        insertar("INSERT INTO users (username, password, email, role, enabled, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", filas);
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // 4. FAVORITOS
+    // ─────────────────────────────────────────────────────────────
+
+    private long generarFavoritos(int[] pokemonIds, int[] usuarioIds, long total) {
+        if (total == 0) {
+            return 0;
+        }
+        SplittableRandom random = new SplittableRandom(semilla * 31 + 7);
+        int n = pokemonIds.length;
+
+        // Popularidad de Zipf (exponente 0.9) sobre una permutación aleatoria de los Pokémon
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = orden[i];
+            orden[i] = orden[j];
+            orden[j] = t;
+        }
+        double[] acumulado = new double[n];
+        double suma = 0;
+        for (int r = 0; r < n; r++) {
+            suma += 1.0 / Math.pow(r + 1, 0.9);
+            acumulado[r] = suma;
+        }
+
+        // Favoritos por usuario: pesos log-normales escalados al total pedido
+        int numUsuarios = usuarioIds.length;
+        double[] pesos = new double[numUsuarios];
+        double sumaPesos = 0;
+        for (int u = 0; u < numUsuarios; u++) {
+            pesos[u] = Math.exp(gaussiana(random));
+            sumaPesos += pesos[u];
+        }
+        int[] cuantos = new int[numUsuarios];
+        long asignados = 0;
+        for (int u = 0; u < numUsuarios; u++) {
+            cuantos[u] = (int) Math.min(n, (long) (total * pesos[u] / sumaPesos));
+            asignados += cuantos[u];
+        }
+        for (int u = 0; asignados < total && u < numUsuarios; u++) {
+            if (cuantos[u] < n) {
+                cuantos[u]++;
+                asignados++;
+            }
+        }
+
+        List<Object[]> filas = new ArrayList<>(LOTE);
+        IntIntMap elegidos = new IntIntMap();
+        long generados = 0;
+        for (int u = 0; u < numUsuarios; u++) {
+            elegidos.clear();
+            int objetivo = cuantos[u];
+            if (objetivo * 2 > n) {
+                // Casi todo el catálogo: barajar en lugar de descartar repetidos
+                int[] todos = Arrays.copyOf(orden, n);
+                for (int k = 0; k < objetivo; k++) {
+                    int j = k + random.nextInt(n - k);
+                    int t = todos[k];
+                    todos[k] = todos[j];
+                    todos[j] = t;
+                    elegidos.put(pokemonIds[todos[k]], 1);
+                }
+            } else {
+                while (elegidos.size() < objetivo) {
+                    double x = random.nextDouble() * suma;
+                    int r = Arrays.binarySearch(acumulado, x);
+                    r = r >= 0 ? r : Math.min(n - 1, -r - 1);
+                    elegidos.put(pokemonIds[orden[r]], 1);
+                }
+            }
+
+            for (int pokemonId : elegidos.keys()) {
+                filas.add(new Object[]{usuarioIds[u], pokemonId,
+                        Timestamp.valueOf(INICIO_FAVORITOS.plusSeconds(random.nextInt(SEGUNDOS_ANO)))});
+                if (filas.size() == LOTE) {
+                    insertar("INSERT INTO favoritos (usuario_id, pokemon_id, fecha_agregado) VALUES (?, ?, ?)", filas);
+                }
+            }
+            generados += objetivo;
+            if ((u + 1) % 100_000 == 0) {
+                log.info("  → favoritos de {} / {} usuarios...", u + 1, numUsuarios);
+            }
+        }
+        insertar("INSERT INTO favoritos (usuario_id, pokemon_id, fecha_agregado) VALUES (?, ?, ?)", filas);
+        log.info("  → {} favoritos sintéticos", generados);
+        return generados;
+    }
+
+    // ─────────────────────────────────────────────────────────────
+    // Utilidades
+    // ─────────────────────────────────────────────────────────────
+
+    /**
+     * Ejecutar el lote y vaciar la lista
+     */
+    private void insertar(String sql, List<Object[]> filas) {
+        if (!filas.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, filas);
+            filas.clear();
+        }
+    }
+
+    private static int elegirLargoCadena(SplittableRandom random) {
+        int r = random.nextInt(100);
+        return r < 40 ? 1 : r < 75 ? 2 : 3;
+    }
+
+    private static int elegirTipo(SplittableRandom random, int[] pesoAcumulado, int suma) {
+        int x = random.nextInt(suma);
+        int k = 0;
+        while (pesoAcumulado[k] <= x) {
+            k++;
+        }
+        return k;
+    }
+
+    private static String nombre(SplittableRandom random) {
+        int silabas = 2 + random.nextInt(2);
+        StringBuilder sb = new StringBuilder();
+        for (int s = 0; s < silabas; s++) {
+            sb.append(SILABAS[random.nextInt(SILABAS.length)]);
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+
+    private static BigDecimal decimal(double valor) {
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Normal estándar (Box-Muller) a partir del generador con semilla
+     */
+    private static double gaussiana(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * Pokémon generados: primer número e ids en orden de número
+     */
+    private static final class Catalogo {
+        final int primerNumero;
+        final int[] ids;
+        final int evoluciones;
+
+        Catalogo(int primerNumero, int[] ids, int evoluciones) {
+            this.primerNumero = primerNumero;
+            this.ids = ids;
+            this.evoluciones = evoluciones;
+        }
+    }
+
+    /**
+     * Cantidades generadas
+     */
+    public static final class Resumen {
+        private final int primerNumero;
+        private final int pokemon;
+        private final int evoluciones;
+        private final int usuarios;
+        private final long favoritos;
+        private final long milisegundos;
+
+        Resumen(int primerNumero, int pokemon, int evoluciones, int usuarios, long favoritos, long milisegundos) {
+            this.primerNumero = primerNumero;
+            this.pokemon = pokemon;
+            this.evoluciones = evoluciones;
+            this.usuarios = usuarios;
+            this.favoritos = favoritos;
+            this.milisegundos = milisegundos;
+        }
+
+        public int getPrimerNumero() {
+            return primerNumero;
+        }
+
+        public int getPokemon() {
+            return pokemon;
+        }
+
+        public int getEvoluciones() {
+            return evoluciones;
+        }
+
+        public int getUsuarios() {
+            return usuarios;
+        }
+
+        public long getFavoritos() {
+            return favoritos;
+        }
+
+        public long getMilisegundos() {
+            return milisegundos;
+        }
+    }
+}
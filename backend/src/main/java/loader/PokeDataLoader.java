@@ -5,10 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import entity.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
+import service.ArtworkMirrorService;
+import service.CatalogoService;
+import service.TipoRegistry;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -24,6 +28,7 @@ import java.util.*;
  *   1. Tipos (18 tipos oficiales)
  *   2. Pokémon + Estadísticas + PokemonTipo  (generaciones 1–3, Pokémon 1-386)
  *   3. Evoluciones
+ *   4. Copia local del artwork oficial (file.upload-dir)
  */
 @Component
 public class PokeDataLoader implements CommandLineRunner {
@@ -39,11 +44,20 @@ public class PokeDataLoader implements CommandLineRunner {
     @PersistenceContext
     private EntityManager em;
 
+    @Autowired
+    private ArtworkMirrorService artworkMirrorService;
+
+    @Autowired
+    private TipoRegistry tipoRegistry;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper mapper = new ObjectMapper();
 
     // Mapa nombre-en-inglés → nombre en español (tipos)
-    private static final Map<String, String> TIPO_NOMBRES_ES = new LinkedHashMap<>();
+    static final Map<String, String> TIPO_NOMBRES_ES = new LinkedHashMap<>();
     static {
         TIPO_NOMBRES_ES.put("normal",   "Normal");
         TIPO_NOMBRES_ES.put("fire",     "Fuego");
@@ -66,7 +80,7 @@ public class PokeDataLoader implements CommandLineRunner {
     }
 
     // Colores hex por tipo
-    private static final Map<String, String> TIPO_COLORES = new HashMap<>();
+    static final Map<String, String> TIPO_COLORES = new HashMap<>();
     static {
         TIPO_COLORES.put("normal",   "#A8A878");
         TIPO_COLORES.put("fire",     "#F08030");
@@ -99,9 +113,16 @@ public class PokeDataLoader implements CommandLineRunner {
         log.info("Base de datos vacía. Iniciando carga desde PokeAPI...");
 
         cargarTipos();
+        tipoRegistry.recargar();
         Map<Integer, Integer> pokemonIdMap = cargarPokemon();
         cargarEvoluciones(pokemonIdMap);
 
+        // El catálogo en memoria pudo construirse con la base de datos vacía
+        catalogoService.invalidar();
+
+        // Descargar el artwork para servirlo desde el propio backend
+        artworkMirrorService.sincronizar();
+
         log.info("¡Carga completada! {} Pokémon importados.", TOTAL_POKEMON);
     }
 
@@ -170,6 +191,7 @@ public class PokeDataLoader implements CommandLineRunner {
                 pokemon.setPeso(peso);
                 pokemon.setDescripcion(descripcion);
                 pokemon.setImagenUrl(imagenUrl);
+                pokemon.setImagenUrlOrigen(imagenUrl);
                 pokemon.setGeneracion(generacion);
                 em.persist(pokemon);
                 em.flush();
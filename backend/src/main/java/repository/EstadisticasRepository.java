@@ -39,4 +39,12 @@ public interface EstadisticasRepository extends JpaRepository<Estadisticas, Inte
             "WHERE (e.ps + e.ataque + e.defensa + e.velocidad + e.ataqueEspecial + e.defensaEspecial) >= :total " +
             "ORDER BY (e.ps + e.ataque + e.defensa + e.velocidad + e.ataqueEspecial + e.defensaEspecial) DESC")
     List<Estadisticas> findByTotalEstadisticasGreaterThan(Integer total);
-}
+
+    /**
+     * Estadísticas de todos los Pokémon sin cargar entidades:
+     * [idPokemon, ps, ataque, defensa, velocidad, ataqueEspecial, defensaEspecial]
+     */
+    @Query("SELECT e.idPokemon, e.ps, e.ataque, e.defensa, e.velocidad, e.ataqueEspecial, e.defensaEspecial " +
+            "FROM Estadisticas e")
+    List<Object[]> findValoresCatalogo();
+}
\ No newline at end of file
@@ -44,4 +44,10 @@ public interface EvolucionRepository extends JpaRepository<Evolucion, Integer> {
      * Busca evoluciones por método
      */
     List<Evolucion> findByMetodoContainingIgnoreCase(String metodo);
+
+    /**
+     * Todas las evoluciones sin cargar entidades: [pokemonOrigenId, pokemonDestinoId]
+     */
+    @Query("SELECT e.pokemonOrigenId, e.pokemonDestinoId FROM Evolucion e")
+    List<Object[]> findParesCatalogo();
 }
\ No newline at end of file
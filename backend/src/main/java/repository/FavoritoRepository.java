@@ -3,13 +3,17 @@ package repository;
 import entity.Favorito;
 import entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FavoritoRepository extends JpaRepository<Favorito, Integer> {
+public interface FavoritoRepository extends JpaRepository<Favorito, Integer>, FavoritoRepositoryCustom {
 
     List<Favorito> findByUsuarioOrderByFechaAgregadoDesc(User usuario);
 
@@ -21,5 +25,36 @@ public interface FavoritoRepository extends JpaRepository<Favorito, Integer> {
 
     boolean existsByUsuarioAndPokemonId(User usuario, Integer pokemonId);
 
-    void deleteByUsuarioAndPokemonId(User usuario, Integer pokemonId);
+    boolean existsByUsuarioIdAndPokemonId(Integer usuarioId, Integer pokemonId);
+
+    /**
+     * IDs de Pokémon favoritos de un usuario, más recientes primero (sin cargar User)
+     */
+    @Query("SELECT f.pokemonId FROM Favorito f WHERE f.usuario.id = :usuarioId ORDER BY f.fechaAgregado DESC")
+    List<Integer> findPokemonIdsByUsuarioId(@Param("usuarioId") Integer usuarioId);
+
+    /**
+     * Número de favoritos por Pokémon: [pokemonId, cuenta]
+     * (para reconciliar el agregado de popularidad)
+     */
+    @Query("SELECT f.pokemonId, COUNT(f) FROM Favorito f GROUP BY f.pokemonId")
+    List<Object[]> contarPorPokemon();
+
+    /**
+     * Elimina el favorito con una única sentencia DELETE (sin cargar entidades).
+     * Devuelve el número de filas eliminadas (0 o 1 gracias al índice único).
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Favorito f WHERE f.usuario.id = :usuarioId AND f.pokemonId = :pokemonId")
+    int eliminarPorUsuarioYPokemon(@Param("usuarioId") Integer usuarioId,
+                                   @Param("pokemonId") Integer pokemonId);
+
+    /**
+     * Elimina todos los favoritos de un usuario con una única sentencia DELETE (al borrar su cuenta)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Favorito f WHERE f.usuario.id = :usuarioId")
+    int eliminarPorUsuario(@Param("usuarioId") Integer usuarioId);
 }
@@ -0,0 +1,13 @@
+package repository;
+
+/**
+ * Escrituras de favoritos que dependen del motor de BD (ver FavoritoRepositoryImpl)
+ */
+public interface FavoritoRepositoryCustom {
+
+    /**
+     * Inserta el favorito si no existe, en una única sentencia idempotente.
+     * Devuelve el número de filas insertadas: 1 si es nuevo, 0 si ya existía.
+     */
+    int insertarSiNoExiste(Integer usuarioId, Integer pokemonId);
+}
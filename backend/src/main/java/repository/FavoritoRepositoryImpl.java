@@ -0,0 +1,71 @@
+package repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Inserción idempotente de favoritos según el motor de BD
+ *
+ * PostgreSQL: INSERT ... ON CONFLICT DO NOTHING; MySQL: INSERT IGNORE. En ambos el
+ * índice único (usuario_id, pokemon_id) resuelve la carrera dentro de la propia
+ * sentencia y el duplicado no es un error (la transacción sigue siendo válida).
+ * En el resto (H2 en benchmarks y pruebas) un MERGE ... WHEN NOT MATCHED.
+ */
+public class FavoritoRepositoryImpl implements FavoritoRepositoryCustom {
+
+    private static final String COLUMNAS = "favoritos (usuario_id, pokemon_id, fecha_agregado)";
+
+    private static final String INSERT_POSTGRESQL =
+            "INSERT INTO " + COLUMNAS + " VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_MYSQL =
+            "INSERT IGNORE INTO " + COLUMNAS + " VALUES (?, ?, ?)";
+
+    private static final String MERGE =
+            "MERGE INTO favoritos f USING (SELECT CAST(? AS INTEGER) AS usuario_id, " +
+            "CAST(? AS INTEGER) AS pokemon_id, CAST(? AS TIMESTAMP) AS fecha_agregado) n " +
+            "ON (f.usuario_id = n.usuario_id AND f.pokemon_id = n.pokemon_id) " +
+            "WHEN NOT MATCHED THEN INSERT (usuario_id, pokemon_id, fecha_agregado) " +
+            "VALUES (n.usuario_id, n.pokemon_id, n.fecha_agregado)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String insert;
+
+    @Autowired
+    public FavoritoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertarSiNoExiste(Integer usuarioId, Integer pokemonId) {
+        try {
+            return jdbcTemplate.update(sentencia(), usuarioId, pokemonId, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            // Solo con MERGE, que no es atómico frente a otra inserción simultánea: la ganó la otra
+            return 0;
+        }
+    }
+
+    private String sentencia() {
+        String sql = insert;
+        if (sql == null) {
+            String motor = jdbcTemplate.execute((ConnectionCallback<String>) conexion ->
+                    conexion.getMetaData().getDatabaseProductName());
+            if ("PostgreSQL".equalsIgnoreCase(motor)) {
+                sql = INSERT_POSTGRESQL;
+            } else if ("MySQL".equalsIgnoreCase(motor) || "MariaDB".equalsIgnoreCase(motor)) {
+                sql = INSERT_MYSQL;
+            } else {
+                sql = MERGE;
+            }
+            insert = sql;
+        }
+        return sql;
+    }
+}
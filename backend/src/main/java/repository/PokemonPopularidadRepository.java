@@ -0,0 +1,9 @@
+package repository;
+
+import entity.PokemonPopularidad;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PokemonPopularidadRepository extends JpaRepository<PokemonPopularidad, Integer> {
+}
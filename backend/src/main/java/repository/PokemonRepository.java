@@ -1,10 +1,13 @@
 package repository;
 
 import entity.Pokemon;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -71,4 +74,47 @@ public interface PokemonRepository extends JpaRepository<Pokemon, Integer> {
      * Cuenta Pokémon por generación
      */
     long countByGeneracion(Integer generacion);
-}
\ No newline at end of file
+
+    /**
+     * IDs de los Pokémon de una generación ordenados por número
+     */
+    @Query("SELECT p.id FROM Pokemon p WHERE p.generacion = :generacion ORDER BY p.numero")
+    List<Integer> findIdsByGeneracion(@Param("generacion") Integer generacion);
+
+    /**
+     * Datos mínimos para el espejo de artwork: [id, numero, imagenUrl, imagenUrlOrigen]
+     */
+    @Query("SELECT p.id, p.numero, p.imagenUrl, p.imagenUrlOrigen FROM Pokemon p ORDER BY p.numero")
+    List<Object[]> findImagenes();
+
+    /**
+     * Actualizar solo la URL de imagen
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Pokemon p SET p.imagenUrl = :imagenUrl WHERE p.id = :id")
+    int actualizarImagenUrl(@Param("id") Integer id, @Param("imagenUrl") String imagenUrl);
+
+    /**
+     * Apuntar imagenUrl a la copia local guardando la URL original
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Pokemon p SET p.imagenUrl = :imagenUrl, p.imagenUrlOrigen = :imagenUrlOrigen WHERE p.id = :id")
+    int actualizarImagenLocal(@Param("id") Integer id,
+                              @Param("imagenUrl") String imagenUrl,
+                              @Param("imagenUrlOrigen") String imagenUrlOrigen);
+
+    /**
+     * Datos básicos de todos los Pokémon para la instantánea del catálogo:
+     * [id, numero, nombre, generacion]
+     */
+    @Query("SELECT p.id, p.numero, p.nombre, p.generacion FROM Pokemon p ORDER BY p.numero")
+    List<Object[]> findResumenCatalogo();
+
+    /**
+     * Pokémon con más visitas acumuladas: [id, visitas]
+     */
+    @Query("SELECT p.id, p.visitas FROM Pokemon p WHERE p.visitas > 0 ORDER BY p.visitas DESC, p.numero")
+    List<Object[]> findMasVistos(Pageable pageable);
+}
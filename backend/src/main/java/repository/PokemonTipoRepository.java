@@ -3,6 +3,7 @@ package repository;
 import entity.PokemonTipo;
 import entity.PokemonTipoId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -32,4 +33,10 @@ public interface PokemonTipoRepository extends JpaRepository<PokemonTipo, Pokemo
      * Cuenta cuántos tipos tiene un Pokémon
      */
     long countByPokemonId(Integer pokemonId);
+
+    /**
+     * Todas las relaciones Pokémon-tipo sin cargar entidades: [pokemonId, tipoId, orden]
+     */
+    @Query("SELECT pt.pokemonId, pt.tipoId, pt.orden FROM PokemonTipo pt ORDER BY pt.pokemonId, pt.orden")
+    List<Object[]> findRelacionesCatalogo();
 }
\ No newline at end of file
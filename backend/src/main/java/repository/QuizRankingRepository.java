@@ -0,0 +1,22 @@
+package repository;
+
+import entity.QuizRanking;
+import entity.QuizRankingId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface QuizRankingRepository extends JpaRepository<QuizRanking, QuizRankingId> {
+
+    /**
+     * Elimina las puntuaciones de un usuario (al borrar su cuenta)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM QuizRanking q WHERE q.usuarioId = :usuarioId")
+    int eliminarPorUsuario(@Param("usuarioId") Integer usuarioId);
+}
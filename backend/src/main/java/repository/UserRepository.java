@@ -1,9 +1,14 @@
 package repository;
 
+import dto.UserSummary;
 import entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +19,12 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Buscar solo id, rol y estado del usuario (no lee el avatar ni el perfil)
+     */
+    @Query("SELECT new dto.UserSummary(u.id, u.username, u.role, u.enabled) FROM User u WHERE u.username = :username")
+    Optional<UserSummary> findSummaryByUsername(@Param("username") String username);
+
     /**
      * Buscar usuario por email
      */
@@ -28,4 +39,10 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * Verificar si existe un usuario con ese email
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Nombres de usuario por id: [id, username] (para mostrar rankings)
+     */
+    @Query("SELECT u.id, u.username FROM User u WHERE u.id IN :ids")
+    List<Object[]> findUsernamesByIds(@Param("ids") Collection<Integer> ids);
+}
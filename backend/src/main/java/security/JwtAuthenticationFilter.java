@@ -6,22 +6,42 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.function.Supplier;
 
 /**
  * Filtro JWT para interceptar y validar tokens en cada petición
+ *
+ * En las lecturas públicas del catálogo el token no se verifica de entrada:
+ * se deja un contexto diferido que solo se resuelve si alguien pide la autenticación.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // GET públicos definidos en SecurityConfig
+    private static final RequestMatcher LECTURAS_PUBLICAS = new OrRequestMatcher(
+            Arrays.stream(SecurityConfig.LECTURAS_PUBLICAS)
+                    .map(patron -> (RequestMatcher) AntPathRequestMatcher.antMatcher(HttpMethod.GET, patron))
+                    .toList()
+    );
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -31,49 +51,69 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        try {
-            // Obtener el header Authorization
-            String authHeader = request.getHeader("Authorization");
+        // Obtener el header Authorization
+        String authHeader = request.getHeader("Authorization");
 
-            String token = null;
-            String username = null;
+        // Sin token no hay nada que hacer (caso habitual de las lecturas anónimas)
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-            // Verificar si el header existe y tiene el formato correcto
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7); // Remover "Bearer " del principio
-                username = jwtUtil.extractUsername(token);
+        String token = authHeader.substring(7); // Remover "Bearer " del principio
+
+        if (LECTURAS_PUBLICAS.matches(request)) {
+            // Lectura pública: resolver la autenticación solo si se consulta
+            SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+            Supplier<SecurityContext> contextoPrevio = strategy.getDeferredContext();
+            strategy.setDeferredContext(SingletonSupplier.of(() -> {
+                SecurityContext context = contextoPrevio.get();
+                if (context.getAuthentication() == null) {
+                    Authentication authentication = autenticar(token, request);
+                    if (authentication != null) {
+                        context.setAuthentication(authentication);
+                    }
+                }
+                return context;
+            }));
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Authentication authentication = autenticar(token, request);
+            if (authentication != null) {
+                // Establecer la autenticación en el contexto de seguridad
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        }
 
-            // Si hay un token válido y no hay autenticación previa
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-                // Validar el token
-                if (jwtUtil.validateToken(token)) {
-
-                    // Extraer el rol del token
-                    String role = jwtUtil.extractRole(token);
+        // Continuar con la cadena de filtros
+        filterChain.doFilter(request, response);
+    }
 
-                    // Crear la autenticación con el rol
-                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+    /**
+     * Verificar el token y construir la autenticación (null si no es válido)
+     */
+    private Authentication autenticar(String token, HttpServletRequest request) {
+        try {
+            // Una sola verificación de firma (o ninguna si el token ya está en caché)
+            JwtUtil.VerifiedToken verified = jwtUtil.verifyToken(token);
+            if (verified == null || verified.getUsername() == null) {
+                return null;
+            }
 
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    username,
-                                    null,
-                                    Collections.singletonList(authority)
-                            );
+            // Crear la autenticación con el rol
+            SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + verified.getRole());
 
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            verified.getUsername(),
+                            null,
+                            Collections.singletonList(authority)
+                    );
 
-                    // Establecer la autenticación en el contexto de seguridad
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
-            }
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            return authentication;
         } catch (Exception e) {
             logger.error("Error al procesar el token JWT", e);
+            return null;
         }
-
-        // Continuar con la cadena de filtros
-        filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ import java.util.Arrays;
 import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,6 +29,42 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /**
+     * Lecturas del catálogo públicas (GET sin autenticación).
+     * El filtro JWT las usa también para no verificar el token de forma anticipada.
+     */
+    public static final String[] LECTURAS_PUBLICAS = {
+            "/api/pokemon",
+            "/api/pokemon/{id}",
+            "/api/pokemon/numero/**",
+            "/api/pokemon/buscar",
+            "/api/pokemon/comparar",
+            "/api/pokemon/populares",
+            "/api/pokemon/populares/tendencia",
+            "/api/pokemon/mas-vistos",
+            "/api/pokemon/generacion/**",
+            "/api/pokemon/tipo/**",
+            "/api/tipos/**",
+            "/api/pokemon/{id}/imagen",
+            "/api/pokemon/{id}/debilidades",
+            "/api/pokemon/{id}/similares",
+            "/api/pokemon/{id}/recomendados",
+            "/api/pokemon/sprites",
+            "/api/pokemon/sprites/**",
+            "/api/avatars/**",
+            "/api/quiz",
+            "/api/quiz/ranking",
+            "/api/analitica"
+    };
+
+    /**
+     * Cálculos públicos (POST sin autenticación): reciben parámetros en el cuerpo
+     * pero no modifican datos
+     */
+    public static final String[] CALCULOS_PUBLICOS = {
+            "/api/quiz/*/respuestas"
+    };
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -61,14 +99,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
 
                         // GET públicos (sin autenticación)
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon/{id}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon/numero/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon/buscar").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon/generacion/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon/tipo/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/tipos/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/pokemon/{id}/imagen").permitAll()
+                        .requestMatchers(HttpMethod.GET, LECTURAS_PUBLICAS).permitAll()
+                        .requestMatchers(HttpMethod.POST, CALCULOS_PUBLICOS).permitAll()
 
                         // POST, PUT requieren autenticación (USER o ADMIN)
                         .requestMatchers(HttpMethod.POST, "/api/pokemon").hasAnyRole("USER", "ADMIN")
@@ -95,6 +127,17 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * El filtro JWT solo debe ejecutarse dentro de la cadena de Spring Security.
+     * Al ser @Component, Spring Boot lo registraría además como filtro de servlet.
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Configuración de CORS
      */
@@ -123,9 +166,10 @@ public class SecurityConfig {
 
     /**
      * Bean de PasswordEncoder para encriptar contraseñas
+     * Coste configurable con security.bcrypt.strength (por defecto 10)
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
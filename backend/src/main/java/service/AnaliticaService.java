@@ -0,0 +1,274 @@
+package service;
+
+import dto.AnaliticaDTO;
+import dto.DistribucionDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Analítica del catálogo (recuentos por tipo, generación y combinación de tipos,
+ * y distribución de cada estadística)
+ *
+ * Se calcula en una sola pasada en paralelo (pool fork-join de cálculo) sobre la
+ * instantánea del catálogo, con histogramas exactos por valor de los que salen
+ * media, mediana y percentiles. El resultado se guarda hasta la siguiente escritura.
+ */
+@Service
+public class AnaliticaService {
+
+    private static final String TOTAL = "total";
+    private static final int COLUMNAS = CatalogoSnapshot.NUM_ESTADISTICAS + 1;
+
+    // Valores máximos de los histogramas exactos (las estadísticas se validan entre 1 y 255)
+    private static final int MAX_ESTADISTICA = 255;
+    private static final int MAX_TOTAL = MAX_ESTADISTICA * CatalogoSnapshot.NUM_ESTADISTICAS;
+
+    private static final int ANCHO_ESTADISTICA = 10;
+    private static final int ANCHO_TOTAL = 50;
+    private static final int[] PERCENTILES = {10, 25, 75, 90};
+
+    // Pokémon por subtarea fork-join
+    private static final int UMBRAL_DIVISION = 512;
+
+    private final CatalogoService catalogoService;
+    private final TipoRegistry tipoRegistry;
+    private final ForkJoinPool calculoPool;
+
+    private volatile Resultado resultado;
+
+    @Autowired
+    public AnaliticaService(CatalogoService catalogoService, TipoRegistry tipoRegistry, ForkJoinPool calculoPool) {
+        this.catalogoService = catalogoService;
+        this.tipoRegistry = tipoRegistry;
+        this.calculoPool = calculoPool;
+    }
+
+    /**
+     * Analítica de la instantánea actual del catálogo
+     */
+    public AnaliticaDTO obtener() {
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        Resultado actual = resultado;
+        if (actual == null || actual.version != catalogo.getVersion()) {
+            actual = new Resultado(catalogo.getVersion(), calcular(catalogo));
+            resultado = actual;
+        }
+        return actual.analitica;
+    }
+
+    private AnaliticaDTO calcular(CatalogoSnapshot catalogo) {
+        Acumulador total = calculoPool.invoke(new Pasada(catalogo, 0, catalogo.getTamano()));
+
+        Map<String, Integer> porTipo = new LinkedHashMap<>();
+        for (TipoRegistry.TipoInfo tipo : tipoRegistry.todos()) {
+            int id = tipo.getId();
+            porTipo.put(tipo.getNombre(), id < total.porTipo.length ? total.porTipo[id] : 0);
+        }
+
+        Map<Integer, Integer> porGeneracion = new TreeMap<>();
+        for (int g = 0; g < total.porGeneracion.length; g++) {
+            if (total.porGeneracion[g] > 0) {
+                porGeneracion.put(g, total.porGeneracion[g]);
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> combinaciones = new ArrayList<>(total.combinaciones.entrySet());
+        combinaciones.sort(Map.Entry.<Long, Integer>comparingByValue().reversed());
+        Map<String, Integer> porCombinacion = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> combinacion : combinaciones) {
+            int t1 = (int) (combinacion.getKey() >>> 32);
+            int t2 = (int) (long) combinacion.getKey();
+            String nombre = t2 != 0 ? tipoRegistry.nombre(t1) + "/" + tipoRegistry.nombre(t2) : tipoRegistry.nombre(t1);
+            porCombinacion.put(nombre, combinacion.getValue());
+        }
+
+        Map<String, DistribucionDTO> estadisticas = new LinkedHashMap<>();
+        for (int c = 0; c < COLUMNAS; c++) {
+            boolean esTotal = c == CatalogoSnapshot.NUM_ESTADISTICAS;
+            estadisticas.put(esTotal ? TOTAL : CatalogoSnapshot.NOMBRES_ESTADISTICAS[c],
+                    distribucion(total.histogramas[c], total.conEstadisticas, esTotal ? ANCHO_TOTAL : ANCHO_ESTADISTICA));
+        }
+
+        return new AnaliticaDTO(catalogo.getTamano(), total.conEstadisticas,
+                Collections.unmodifiableMap(porTipo), Collections.unmodifiableMap(porGeneracion),
+                Collections.unmodifiableMap(porCombinacion), Collections.unmodifiableMap(estadisticas));
+    }
+
+    private static DistribucionDTO distribucion(int[] histograma, int n, int ancho) {
+        if (n == 0) {
+            return new DistribucionDTO(null, null, null, null, Map.of(), ancho, List.of());
+        }
+        long suma = 0;
+        int minimo = -1;
+        int maximo = 0;
+        for (int v = 0; v < histograma.length; v++) {
+            if (histograma[v] > 0) {
+                suma += (long) v * histograma[v];
+                if (minimo < 0) {
+                    minimo = v;
+                }
+                maximo = v;
+            }
+        }
+
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int p : PERCENTILES) {
+            percentiles.put("p" + p, percentil(histograma, n, p));
+        }
+
+        List<Integer> intervalos = new ArrayList<>();
+        for (int desde = 0; desde <= maximo; desde += ancho) {
+            int cuenta = 0;
+            for (int v = desde; v < Math.min(desde + ancho, histograma.length); v++) {
+                cuenta += histograma[v];
+            }
+            intervalos.add(cuenta);
+        }
+
+        double media = Math.round(100.0 * suma / n) / 100.0;
+        return new DistribucionDTO(media, percentil(histograma, n, 50), minimo, maximo,
+                Collections.unmodifiableMap(percentiles), ancho, Collections.unmodifiableList(intervalos));
+    }
+
+    /**
+     * Menor valor con al menos el p% de los Pokémon por debajo o igual (método del rango más cercano)
+     */
+    private static int percentil(int[] histograma, int n, int p) {
+        long objetivo = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long acumulado = 0;
+        for (int v = 0; v < histograma.length; v++) {
+            acumulado += histograma[v];
+            if (acumulado >= objetivo) {
+                return v;
+            }
+        }
+        return histograma.length - 1;
+    }
+
+    private static final class Resultado {
+        final long version;
+        final AnaliticaDTO analitica;
+
+        Resultado(long version, AnaliticaDTO analitica) {
+            this.version = version;
+            this.analitica = analitica;
+        }
+    }
+
+    /**
+     * Recuentos parciales de un tramo del catálogo
+     */
+    private static final class Acumulador {
+        int[] porTipo = new int[0];
+        final int[] porGeneracion = new int[Byte.MAX_VALUE + 1];
+        // Clave: tipoId1 << 32 | tipoId2 (tipoId2 = 0 si monotipo)
+        final Map<Long, Integer> combinaciones = new HashMap<>();
+        final int[][] histogramas = new int[COLUMNAS][];
+        int conEstadisticas;
+
+        Acumulador() {
+            for (int c = 0; c < CatalogoSnapshot.NUM_ESTADISTICAS; c++) {
+                histogramas[c] = new int[MAX_ESTADISTICA + 1];
+            }
+            histogramas[CatalogoSnapshot.NUM_ESTADISTICAS] = new int[MAX_TOTAL + 1];
+        }
+
+        void contarTipo(int tipoId) {
+            if (tipoId >= porTipo.length) {
+                porTipo = Arrays.copyOf(porTipo, tipoId + 1);
+            }
+            porTipo[tipoId]++;
+        }
+
+        void sumar(Acumulador otro) {
+            if (otro.porTipo.length > porTipo.length) {
+                porTipo = Arrays.copyOf(porTipo, otro.porTipo.length);
+            }
+            for (int t = 0; t < otro.porTipo.length; t++) {
+                porTipo[t] += otro.porTipo[t];
+            }
+            for (int g = 0; g < porGeneracion.length; g++) {
+                porGeneracion[g] += otro.porGeneracion[g];
+            }
+            otro.combinaciones.forEach((clave, cuenta) -> combinaciones.merge(clave, cuenta, Integer::sum));
+            for (int c = 0; c < COLUMNAS; c++) {
+                for (int v = 0; v < histogramas[c].length; v++) {
+                    histogramas[c][v] += otro.histogramas[c][v];
+                }
+            }
+            conEstadisticas += otro.conEstadisticas;
+        }
+    }
+
+    /**
+     * Pasada sobre las posiciones [desde, hasta) de la instantánea
+     */
+    private static final class Pasada extends RecursiveTask<Acumulador> {
+        private static final long serialVersionUID = 1L;
+
+        private final CatalogoSnapshot catalogo;
+        private final int desde;
+        private final int hasta;
+
+        Pasada(CatalogoSnapshot catalogo, int desde, int hasta) {
+            this.catalogo = catalogo;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Acumulador compute() {
+            if (hasta - desde > UMBRAL_DIVISION) {
+                int mitad = (desde + hasta) >>> 1;
+                Pasada izquierda = new Pasada(catalogo, desde, mitad);
+                izquierda.fork();
+                Acumulador derecha = new Pasada(catalogo, mitad, hasta).compute();
+                Acumulador resultado = izquierda.join();
+                resultado.sumar(derecha);
+                return resultado;
+            }
+
+            Acumulador acumulador = new Acumulador();
+            for (int i = desde; i < hasta; i++) {
+                int t1 = catalogo.tipoId1(i);
+                int t2 = catalogo.tipoId2(i);
+                if (t1 != 0) {
+                    acumulador.contarTipo(t1);
+                    acumulador.combinaciones.merge((long) t1 << 32 | t2, 1, Integer::sum);
+                }
+                if (t2 != 0) {
+                    acumulador.contarTipo(t2);
+                }
+
+                int generacion = catalogo.generacion(i);
+                if (generacion >= 0 && generacion < acumulador.porGeneracion.length) {
+                    acumulador.porGeneracion[generacion]++;
+                }
+
+                if (catalogo.tieneEstadisticas(i)) {
+                    acumulador.conEstadisticas++;
+                    for (int c = 0; c < CatalogoSnapshot.NUM_ESTADISTICAS; c++) {
+                        acumulador.histogramas[c][acotar(catalogo.estadistica(i, c), MAX_ESTADISTICA)]++;
+                    }
+                    acumulador.histogramas[CatalogoSnapshot.NUM_ESTADISTICAS][acotar(catalogo.total(i), MAX_TOTAL)]++;
+                }
+            }
+            return acumulador;
+        }
+
+        private static int acotar(int valor, int maximo) {
+            return Math.max(0, Math.min(valor, maximo));
+        }
+    }
+}
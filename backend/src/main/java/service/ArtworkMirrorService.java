@@ -0,0 +1,216 @@
+package service;
+
+import config.FileStorageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import repository.PokemonRepository;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Espejo local del artwork oficial de PokeAPI
+ *
+ * Descarga las imágenes de raw.githubusercontent.com con un número acotado de
+ * descargas simultáneas y las guarda en file.upload-dir como si fueran subidas
+ * (mismo índice, variantes y caché). imagenUrl pasa a la URL local versionada y
+ * la URL original se conserva en imagenUrlOrigen.
+ */
+@Service
+public class ArtworkMirrorService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtworkMirrorService.class);
+
+    private static final String ARTWORK_BASE =
+            "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/other/official-artwork/";
+
+    // Mismo límite que las subidas (spring.servlet.multipart.max-file-size)
+    private static final long MAX_BYTES = 5L * 1024 * 1024;
+
+    private final PokemonRepository pokemonRepository;
+    private final FileStorageService fileStorageService;
+    private final int threads;
+    private final boolean mirrorOnStartup;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    @Autowired
+    public ArtworkMirrorService(PokemonRepository pokemonRepository,
+                                FileStorageService fileStorageService,
+                                FileStorageProperties fileStorageProperties) {
+        this.pokemonRepository = pokemonRepository;
+        this.fileStorageService = fileStorageService;
+        this.threads = Math.max(1, fileStorageProperties.getMirrorThreads());
+        this.mirrorOnStartup = fileStorageProperties.isMirrorOnStartup();
+    }
+
+    /**
+     * Completar el espejo al arrancar (file.mirror-on-startup), en un hilo aparte
+     * para no retrasar el arranque
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!mirrorOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(this::sincronizar, "artwork-mirror");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Descargar el artwork de todos los Pokémon que aún no tienen imagen local.
+     * Devuelve el número de imágenes descargadas.
+     */
+    public int sincronizar() {
+        List<Object[]> filas = pokemonRepository.findImagenes();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "artwork-mirror-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        AtomicInteger descargadas = new AtomicInteger();
+        List<Future<?>> tareas = new ArrayList<>(filas.size());
+        try {
+            for (Object[] fila : filas) {
+                Integer id = (Integer) fila[0];
+                Integer numero = (Integer) fila[1];
+                String imagenUrl = (String) fila[2];
+                String imagenUrlOrigen = (String) fila[3];
+
+                String origen = imagenUrlOrigen != null ? imagenUrlOrigen
+                        : esRemota(imagenUrl) ? imagenUrl
+                        : ARTWORK_BASE + numero + ".png";
+
+                if (fileStorageService.getImage(id) != null) {
+                    // Ya está en disco (espejo previo o subida): solo corregir la URL si sigue siendo remota
+                    if (esRemota(imagenUrl)) {
+                        pokemonRepository.actualizarImagenLocal(id, fileStorageService.getImageUrl(id), origen);
+                    }
+                    continue;
+                }
+                if (imagenUrl != null && !esRemota(imagenUrl)) {
+                    continue; // Imagen local eliminada a propósito
+                }
+
+                tareas.add(executor.submit(() -> {
+                    if (descargar(id, origen)) {
+                        descargadas.incrementAndGet();
+                    }
+                }));
+            }
+
+            for (Future<?> tarea : tareas) {
+                try {
+                    tarea.get();
+                } catch (ExecutionException e) {
+                    log.warn("Error en el espejo de artwork: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("Espejo de artwork: {} imágenes descargadas", descargadas.get());
+        return descargadas.get();
+    }
+
+    /**
+     * Descargar una imagen y registrarla como imagen local del Pokémon
+     */
+    private boolean descargar(Integer pokemonId, String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                String contentType = response.headers().firstValue("Content-Type").orElse("");
+                if (response.statusCode() != 200 || !contentType.startsWith("image/")) {
+                    log.warn("No se pudo descargar el artwork del Pokémon {}: HTTP {} ({})",
+                            pokemonId, response.statusCode(), contentType);
+                    return false;
+                }
+
+                fileStorageService.storeImage(pokemonId, () -> limitar(body), extension(contentType));
+            }
+            pokemonRepository.actualizarImagenLocal(pokemonId, fileStorageService.getImageUrl(pokemonId), url);
+            return true;
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo descargar el artwork del Pokémon {}: {}", pokemonId, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean esRemota(String url) {
+        return url != null && (url.startsWith("http://") || url.startsWith("https://"));
+    }
+
+    private String extension(String contentType) {
+        if (contentType.startsWith("image/jpeg")) return ".jpg";
+        if (contentType.startsWith("image/gif")) return ".gif";
+        return ".png";
+    }
+
+    /**
+     * Cortar la descarga si supera MAX_BYTES
+     */
+    private InputStream limitar(InputStream in) {
+        return new FilterInputStream(in) {
+            private long leidos;
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    contar(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    contar(n);
+                }
+                return n;
+            }
+
+            private void contar(int n) throws IOException {
+                leidos += n;
+                if (leidos > MAX_BYTES) {
+                    throw new IOException("La imagen supera " + (MAX_BYTES / 1024 / 1024) + " MB");
+                }
+            }
+        };
+    }
+}
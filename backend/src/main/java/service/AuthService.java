@@ -1,16 +1,19 @@
 package service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import dto.AuthResponse;
 import dto.LoginRequest;
 import dto.ProfileUpdateRequest;
 import dto.RegisterRequest;
 import entity.User;
+import repository.FavoritoRepository;
 import repository.UserRepository;
 import util.JwtUtil;
 
@@ -25,26 +28,40 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    @Lazy
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private QuizRankingService quizRankingService;
+
+    @Autowired
+    private PopularidadService popularidadService;
+
+    @Autowired
+    private RecomendacionService recomendacionService;
+
+    @Autowired
+    private FavoritoRepository favoritoRepository;
+
+    // Transacción explícita para los métodos que cifran contraseñas fuera de ella
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     /**
      * Registrar nuevo usuario
+     * La contraseña se cifra antes de abrir la transacción: no se retiene una conexión
+     * mientras se espera a BCrypt.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) {
-        // Validar que no exista el username
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new RuntimeException("El username ya está en uso");
-        }
-
-        // Validar que no exista el email
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("El email ya está en uso");
-        }
-
         // Validar campos obligatorios
         if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
             throw new RuntimeException("El username es obligatorio");
@@ -58,43 +75,59 @@ public class AuthService {
             throw new RuntimeException("El email no es válido");
         }
 
-        // Crear nuevo usuario
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setEmail(request.getEmail());
-        user.setPais(request.getPais());
-        user.setFechaNacimiento(request.getFechaNacimiento());
-        user.setRole("USER");
-        user.setEnabled(true);
-        user.setDisplayName(request.getUsername()); // Por defecto, displayName = username
-        // favoriteRegion se deja null - el usuario lo seleccionará en su perfil
-        user.setLanguage("Español");
-
-        // Guardar usuario
-        userRepository.save(user);
+        String password = passwordHashingService.encode(request.getPassword());
 
-        // Generar token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        return transactionTemplate.execute(status -> {
+            // Validar que no exista el username
+            if (userRepository.existsByUsername(request.getUsername())) {
+                throw new RuntimeException("El username ya está en uso");
+            }
 
-        // Retornar respuesta con todos los datos del perfil
-        return new AuthResponse(
-            token,
-            user.getUsername(),
-            user.getEmail(),
-            user.getRole(),
-            user.getDisplayName(),
-            user.getBio(),
-            user.getGender(),
-            user.getFavoriteRegion(),
-            user.getLanguage(),
-            user.getAvatar()
-        );
+            // Validar que no exista el email
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new RuntimeException("El email ya está en uso");
+            }
+
+            // Crear nuevo usuario
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setPassword(password);
+            user.setEmail(request.getEmail());
+            user.setPais(request.getPais());
+            user.setFechaNacimiento(request.getFechaNacimiento());
+            user.setRole("USER");
+            user.setEnabled(true);
+            user.setDisplayName(request.getUsername()); // Por defecto, displayName = username
+            // favoriteRegion se deja null - el usuario lo seleccionará en su perfil
+            user.setLanguage("Español");
+
+            // Guardar usuario
+            userRepository.save(user);
+
+            // Generar token
+            String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+
+            // Retornar respuesta con todos los datos del perfil
+            return new AuthResponse(
+                token,
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole(),
+                user.getDisplayName(),
+                user.getBio(),
+                user.getGender(),
+                user.getFavoriteRegion(),
+                user.getLanguage(),
+                avatarUrl(user.getAvatarHash())
+            );
+        });
     }
 
     /**
      * Iniciar sesión
+     * Sin transacción envolvente: no se retiene una conexión mientras se espera a BCrypt.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest request) {
         // Buscar usuario
         User user = userRepository.findByUsername(request.getUsername())
@@ -106,10 +139,20 @@ public class AuthService {
         }
 
         // Verificar contraseña
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Usuario o contraseña incorrectos");
         }
 
+        // Si el coste de BCrypt configurado cambió, regenerar el hash de forma transparente
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            try {
+                user.setPassword(passwordHashingService.encode(request.getPassword()));
+                userRepository.save(user);
+            } catch (PasswordHashingService.BusyException e) {
+                // Se reintentará en el próximo login
+            }
+        }
+
         // Generar token
         String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
 
@@ -124,73 +167,110 @@ public class AuthService {
             user.getGender(),
             user.getFavoriteRegion(),
             user.getLanguage(),
-            user.getAvatar()
+            avatarUrl(user.getAvatarHash())
         );
     }
 
     /**
      * Actualizar perfil del usuario
+     * La nueva contraseña se cifra antes de abrir la transacción (como en el registro).
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse updateProfile(String currentUsername, ProfileUpdateRequest request) {
-        User user = userRepository.findByUsername(currentUsername)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        // Cifrar la contraseña si se proporciona una nueva
+        boolean cambiaPassword = request.getPassword() != null && !request.getPassword().isEmpty();
+        if (cambiaPassword && request.getPassword().length() < 6) {
+            throw new RuntimeException("La contraseña debe tener al menos 6 caracteres");
+        }
+        String nuevaPassword = cambiaPassword ? passwordHashingService.encode(request.getPassword()) : null;
 
-        // Actualizar username si se proporciona uno nuevo
-        if (request.getUsername() != null && !request.getUsername().equals(currentUsername)) {
-            // Verificar que el nuevo username no esté en uso
-            if (userRepository.existsByUsername(request.getUsername())) {
-                throw new RuntimeException("El nombre de usuario ya está en uso");
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findByUsername(currentUsername)
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+
+            // Actualizar username si se proporciona uno nuevo
+            if (request.getUsername() != null && !request.getUsername().equals(currentUsername)) {
+                // Verificar que el nuevo username no esté en uso
+                if (userRepository.existsByUsername(request.getUsername())) {
+                    throw new RuntimeException("El nombre de usuario ya está en uso");
+                }
+                user.setUsername(request.getUsername());
+                userLookupService.invalidar(request.getUsername());
             }
-            user.setUsername(request.getUsername());
-        }
 
-        // Actualizar contraseña si se proporciona una nueva
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            if (request.getPassword().length() < 6) {
-                throw new RuntimeException("La contraseña debe tener al menos 6 caracteres");
+            if (nuevaPassword != null) {
+                user.setPassword(nuevaPassword);
             }
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
-        }
 
-        // Actualizar campos del perfil
-        if (request.getDisplayName() != null) {
-            user.setDisplayName(request.getDisplayName());
-        }
-        if (request.getBio() != null) {
-            user.setBio(request.getBio());
-        }
-        if (request.getGender() != null) {
-            user.setGender(request.getGender());
-        }
-        if (request.getFavoriteRegion() != null) {
-            user.setFavoriteRegion(request.getFavoriteRegion());
-        }
-        if (request.getLanguage() != null) {
-            user.setLanguage(request.getLanguage());
-        }
-        if (request.getAvatar() != null) {
-            user.setAvatar(request.getAvatar());
-        }
+            // Actualizar campos del perfil
+            if (request.getDisplayName() != null) {
+                user.setDisplayName(request.getDisplayName());
+            }
+            if (request.getBio() != null) {
+                user.setBio(request.getBio());
+            }
+            if (request.getGender() != null) {
+                user.setGender(request.getGender());
+            }
+            if (request.getFavoriteRegion() != null) {
+                user.setFavoriteRegion(request.getFavoriteRegion());
+            }
+            if (request.getLanguage() != null) {
+                user.setLanguage(request.getLanguage());
+            }
+            if (request.getAvatar() != null) {
+                actualizarAvatar(user, request.getAvatar());
+            }
 
-        // Guardar cambios
-        userRepository.save(user);
+            // Guardar cambios
+            userRepository.save(user);
+            userLookupService.invalidar(currentUsername);
 
-        // Generar nuevo token con el username actualizado
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+            // Generar nuevo token con el username actualizado
+            String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
 
-        // Retornar respuesta actualizada
-        return new AuthResponse(
-            token,
-            user.getUsername(),
-            user.getEmail(),
-            user.getRole(),
-            user.getDisplayName(),
-            user.getBio(),
-            user.getGender(),
-            user.getFavoriteRegion(),
-            user.getLanguage(),
-            user.getAvatar()
-        );
+            // Retornar respuesta actualizada
+            return new AuthResponse(
+                token,
+                user.getUsername(),
+                user.getEmail(),
+                user.getRole(),
+                user.getDisplayName(),
+                user.getBio(),
+                user.getGender(),
+                user.getFavoriteRegion(),
+                user.getLanguage(),
+                avatarUrl(user.getAvatarHash())
+            );
+        });
+    }
+
+    /**
+     * Actualizar avatar:
+     * - data-URL: se guarda en disco (reducido) y el usuario conserva solo el hash
+     * - cadena vacía: se elimina el avatar
+     * - cualquier otro valor (la URL devuelta anteriormente): sin cambios
+     */
+    private void actualizarAvatar(User user, String avatar) {
+        if (avatar.isEmpty()) {
+            user.setAvatarHash(null);
+        } else if (avatar.startsWith("data:")) {
+            user.setAvatarHash(fileStorageService.storeAvatar(avatar));
+        }
+    }
+
+    /**
+     * URL pública del avatar (null si el usuario no tiene)
+     */
+    private String avatarUrl(String avatarHash) {
+        if (avatarHash == null) {
+            return null;
+        }
+        String ruta = "/api/avatars/" + avatarHash;
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return ruta;
+        }
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path(ruta).toUriString();
     }
 
     /**
@@ -199,8 +279,16 @@ public class AuthService {
     public void deleteAccount(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-        
+
+        quizRankingService.eliminarUsuario(user.getId());
+        // Sus favoritos se borran antes que la cuenta (clave ajena) y se descuentan al confirmar
+        for (Integer pokemonId : favoritoRepository.findPokemonIdsByUsuarioId(user.getId())) {
+            popularidadService.restar(pokemonId);
+        }
+        favoritoRepository.eliminarPorUsuario(user.getId());
+        recomendacionService.eliminarUsuario(user.getId());
         userRepository.delete(user);
+        userLookupService.invalidar(username);
     }
 
     /**
@@ -0,0 +1,84 @@
+package service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migra los avatares antiguos (data-URL en la columna TEXT users.avatar)
+ * al almacenamiento en disco, dejando en users solo avatar_hash.
+ * Los valores que no son data-URL (p. ej. URLs http externas) no se pueden migrar:
+ * se dejan intactos en users.avatar y se avisa en el log con los ids de sus usuarios,
+ * para revisarlos a mano en lugar de perderlos.
+ * Se ejecuta al arrancar; si la columna antigua no existe no hace nada.
+ */
+@Service
+public class AvatarMigrationService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AvatarMigrationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileStorageService fileStorageService;
+
+    @Autowired
+    public AvatarMigrationService(JdbcTemplate jdbcTemplate, FileStorageService fileStorageService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fileStorageService = fileStorageService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Integer> pendientes;
+        List<Integer> externos;
+        try {
+            pendientes = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE avatar LIKE 'data:%'", Integer.class);
+            externos = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE avatar IS NOT NULL AND avatar NOT LIKE 'data:%'", Integer.class);
+        } catch (DataAccessException e) {
+            // La columna antigua no existe: nada que migrar
+            return;
+        }
+
+        if (!externos.isEmpty()) {
+            log.warn("Avatares que no son data-URL, se conservan sin migrar en users.avatar: usuarios {}",
+                    externos);
+        }
+
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        log.info("Migrando {} avatares al almacenamiento de archivos...", pendientes.size());
+        List<Integer> fallidos = new ArrayList<>();
+
+        // Uno a uno para no cargar todos los data-URL en memoria a la vez
+        for (Integer id : pendientes) {
+            try {
+                String avatar = jdbcTemplate.queryForObject(
+                        "SELECT avatar FROM users WHERE id = ?", String.class, id);
+                if (avatar == null || !avatar.startsWith("data:")) {
+                    continue; // Cambiado entretanto
+                }
+                String hash = fileStorageService.storeAvatar(avatar);
+                jdbcTemplate.update(
+                        "UPDATE users SET avatar_hash = ?, avatar = NULL WHERE id = ?", hash, id);
+            } catch (RuntimeException e) {
+                fallidos.add(id);
+            }
+        }
+
+        if (!fallidos.isEmpty()) {
+            log.warn("No se pudieron migrar los avatares de los usuarios {}", fallidos);
+        }
+        log.info("Migración de avatares completada.");
+    }
+}
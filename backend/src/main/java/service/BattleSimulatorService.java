@@ -0,0 +1,304 @@
+package service;
+
+import dto.BattleSimulateRequest;
+import dto.BattleSimulateResponse;
+import dto.PokemonResumenDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulador de combates Monte Carlo (1 contra 1 o entre equipos de hasta 6)
+ *
+ * Modelo simplificado a nivel 50, sin IV/EV ni movimientos reales: cada Pokémon usa un
+ * ataque de potencia 80 del tipo propio más eficaz contra el rival (con STAB), físico
+ * o especial según lo que haga más daño. Ataca primero el más rápido (empate a suertes),
+ * el daño varía entre el 85% y el 100% y hay 1/24 de probabilidad de crítico (x1.5).
+ * En equipos, el Pokémon debilitado se sustituye por el siguiente y el que sigue en pie
+ * conserva sus PS.
+ *
+ * El daño base de cada emparejamiento se precalcula en arrays primitivos antes de
+ * simular; el bucle interno no reserva memoria. Los combates se reparten en el pool
+ * fork-join de cálculo y cada trozo usa su propio SplittableRandom (split del de la
+ * petición), así que con la misma semilla el resultado es el mismo en cualquier máquina.
+ */
+@Service
+public class BattleSimulatorService {
+
+    public static final int MAX_EQUIPO = 6;
+
+    private static final int NIVEL = 50;
+    private static final int POTENCIA = 80;
+    private static final float STAB = 1.5f;
+    private static final int PROBABILIDAD_CRITICO = 24;
+    private static final float CRITICO = 1.5f;
+    private static final float VARIACION_MINIMA = 0.85f;
+
+    // Límite de turnos por combate (dos Pokémon inmunes entre sí nunca terminarían)
+    private static final int MAX_TURNOS = 500;
+
+    // Combates por subtarea fork-join
+    private static final int TROZO = 2048;
+
+    private static final int SIMULACIONES_DEFECTO = 10_000;
+
+    private final CatalogoService catalogoService;
+    private final EfectividadService efectividadService;
+    private final ForkJoinPool calculoPool;
+    private final int maxSimulaciones;
+
+    @Autowired
+    public BattleSimulatorService(CatalogoService catalogoService,
+                                  EfectividadService efectividadService,
+                                  ForkJoinPool calculoPool,
+                                  @Value("${battle.max-simulations:200000}") int maxSimulaciones) {
+        this.catalogoService = catalogoService;
+        this.efectividadService = efectividadService;
+        this.calculoPool = calculoPool;
+        this.maxSimulaciones = maxSimulaciones;
+    }
+
+    /**
+     * Simular combates entre dos equipos
+     */
+    public BattleSimulateResponse simular(BattleSimulateRequest request) {
+        long inicio = System.nanoTime();
+
+        int simulaciones = request.getSimulaciones() != null ? request.getSimulaciones() : SIMULACIONES_DEFECTO;
+        if (simulaciones < 1 || simulaciones > maxSimulaciones) {
+            throw new RuntimeException("El número de simulaciones debe estar entre 1 y " + maxSimulaciones);
+        }
+        long semilla = request.getSemilla() != null ? request.getSemilla() : ThreadLocalRandom.current().nextLong();
+
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        int[] equipoA = resolverEquipo(catalogo, request.getEquipoA(), "A");
+        int[] equipoB = resolverEquipo(catalogo, request.getEquipoB(), "B");
+
+        Combate combate = new Combate(catalogo, equipoA, equipoB);
+        long[] resultado = calculoPool.invoke(new Simulacion(combate, simulaciones, new SplittableRandom(semilla)));
+
+        List<PokemonResumenDTO> resumenA = new ArrayList<>();
+        for (int i : equipoA) {
+            resumenA.add(catalogoService.resumen(catalogo, i));
+        }
+        List<PokemonResumenDTO> resumenB = new ArrayList<>();
+        for (int i : equipoB) {
+            resumenB.add(catalogoService.resumen(catalogo, i));
+        }
+
+        return new BattleSimulateResponse(resumenA, resumenB, (long) simulaciones,
+                resultado[0], resultado[1], resultado[2],
+                (double) resultado[0] / simulaciones, (double) resultado[1] / simulaciones,
+                (double) resultado[3] / simulaciones, semilla, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private int[] resolverEquipo(CatalogoSnapshot catalogo, List<Integer> ids, String nombre) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_EQUIPO) {
+            throw new RuntimeException("El equipo " + nombre + " debe tener entre 1 y " + MAX_EQUIPO + " Pokémon");
+        }
+        int[] equipo = new int[ids.size()];
+        for (int k = 0; k < equipo.length; k++) {
+            Integer id = ids.get(k);
+            int i = id != null ? catalogo.indice(id) : -1;
+            if (i < 0) {
+                throw new RuntimeException("Pokemon no encontrado con id: " + id);
+            }
+            if (!catalogo.tieneEstadisticas(i)) {
+                throw new RuntimeException("El Pokémon " + catalogo.nombre(i) + " no tiene estadísticas");
+            }
+            equipo[k] = i;
+        }
+        return equipo;
+    }
+
+    /**
+     * Datos precalculados de un enfrentamiento: PS, velocidad y daño base de cada emparejamiento
+     */
+    private final class Combate {
+        final int tamanoA;
+        final int tamanoB;
+        final int[] psA;
+        final int[] psB;
+        final int[] velocidadA;
+        final int[] velocidadB;
+        // danoAB[a * tamanoB + b]: daño base de A[a] sobre B[b] (sin variación ni crítico)
+        final float[] danoAB;
+        final float[] danoBA;
+
+        Combate(CatalogoSnapshot catalogo, int[] equipoA, int[] equipoB) {
+            this.tamanoA = equipoA.length;
+            this.tamanoB = equipoB.length;
+            this.psA = new int[tamanoA];
+            this.psB = new int[tamanoB];
+            this.velocidadA = new int[tamanoA];
+            this.velocidadB = new int[tamanoB];
+            this.danoAB = new float[tamanoA * tamanoB];
+            this.danoBA = new float[tamanoB * tamanoA];
+
+            for (int a = 0; a < tamanoA; a++) {
+                psA[a] = ps(catalogo.estadistica(equipoA[a], CatalogoSnapshot.PS));
+                velocidadA[a] = estadistica(catalogo.estadistica(equipoA[a], CatalogoSnapshot.VELOCIDAD));
+            }
+            for (int b = 0; b < tamanoB; b++) {
+                psB[b] = ps(catalogo.estadistica(equipoB[b], CatalogoSnapshot.PS));
+                velocidadB[b] = estadistica(catalogo.estadistica(equipoB[b], CatalogoSnapshot.VELOCIDAD));
+            }
+            for (int a = 0; a < tamanoA; a++) {
+                for (int b = 0; b < tamanoB; b++) {
+                    danoAB[a * tamanoB + b] = danoBase(catalogo, equipoA[a], equipoB[b]);
+                    danoBA[b * tamanoA + a] = danoBase(catalogo, equipoB[b], equipoA[a]);
+                }
+            }
+        }
+
+        /**
+         * Daño base del mejor ataque del atacante contra el defensor
+         */
+        private float danoBase(CatalogoSnapshot catalogo, int atacante, int defensor) {
+            int d1 = catalogo.tipo1(defensor);
+            int d2 = catalogo.tipo2(defensor);
+
+            // Tipo propio más eficaz; sin tipos en la tabla, ataque neutro sin STAB
+            int t1 = catalogo.tipo1(atacante);
+            int t2 = catalogo.tipo2(atacante);
+            float modificador = 1f;
+            if (t1 >= 0) {
+                modificador = STAB * efectividad(t1, d1, d2);
+                if (t2 >= 0) {
+                    modificador = Math.max(modificador, STAB * efectividad(t2, d1, d2));
+                }
+            }
+
+            float fisico = (float) estadistica(catalogo.estadistica(atacante, CatalogoSnapshot.ATAQUE))
+                    / estadistica(catalogo.estadistica(defensor, CatalogoSnapshot.DEFENSA));
+            float especial = (float) estadistica(catalogo.estadistica(atacante, CatalogoSnapshot.ATAQUE_ESPECIAL))
+                    / estadistica(catalogo.estadistica(defensor, CatalogoSnapshot.DEFENSA_ESPECIAL));
+
+            return ((2f * NIVEL / 5 + 2) * POTENCIA * Math.max(fisico, especial) / 50 + 2) * modificador;
+        }
+
+        private float efectividad(int tipo, int d1, int d2) {
+            return d1 >= 0 ? efectividadService.multiplicador(tipo, d1, d2) : 1f;
+        }
+
+        /**
+         * Combate completo: 0 si gana A, 1 si gana B, 2 si se alcanza el límite de turnos.
+         * Los PS se guardan en los arrays que recibe (uno por trozo), sin reservar memoria.
+         */
+        int combatir(SplittableRandom rng, int[] hpA, int[] hpB, int[] turnos) {
+            System.arraycopy(psA, 0, hpA, 0, tamanoA);
+            System.arraycopy(psB, 0, hpB, 0, tamanoB);
+            int a = 0;
+            int b = 0;
+            int turno = 0;
+            while (a < tamanoA && b < tamanoB && turno < MAX_TURNOS) {
+                turno++;
+                boolean primeroA = velocidadA[a] > velocidadB[b]
+                        || (velocidadA[a] == velocidadB[b] && rng.nextBoolean());
+                if (primeroA) {
+                    hpB[b] -= golpe(rng, danoAB[a * tamanoB + b]);
+                    if (hpB[b] <= 0) {
+                        b++;
+                        continue;
+                    }
+                    hpA[a] -= golpe(rng, danoBA[b * tamanoA + a]);
+                    if (hpA[a] <= 0) {
+                        a++;
+                    }
+                } else {
+                    hpA[a] -= golpe(rng, danoBA[b * tamanoA + a]);
+                    if (hpA[a] <= 0) {
+                        a++;
+                        continue;
+                    }
+                    hpB[b] -= golpe(rng, danoAB[a * tamanoB + b]);
+                    if (hpB[b] <= 0) {
+                        b++;
+                    }
+                }
+            }
+            turnos[0] += turno;
+            if (b == tamanoB) {
+                return 0;
+            }
+            return a == tamanoA ? 1 : 2;
+        }
+
+        private int golpe(SplittableRandom rng, float base) {
+            if (base == 0f) {
+                return 0; // Inmune
+            }
+            float dano = base * (VARIACION_MINIMA + (float) rng.nextDouble() * (1f - VARIACION_MINIMA));
+            if (rng.nextInt(PROBABILIDAD_CRITICO) == 0) {
+                dano *= CRITICO;
+            }
+            return Math.max(1, (int) dano);
+        }
+    }
+
+    /**
+     * PS a nivel 50 a partir del valor base
+     */
+    private static int ps(int base) {
+        return base * 2 * NIVEL / 100 + NIVEL + 10;
+    }
+
+    /**
+     * Resto de estadísticas a nivel 50 a partir del valor base
+     */
+    private static int estadistica(int base) {
+        return base * 2 * NIVEL / 100 + 5;
+    }
+
+    /**
+     * Trozo de simulaciones: {victoriasA, victoriasB, empates, turnos}
+     */
+    private static final class Simulacion extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Combate combate;
+        private final int simulaciones;
+        private final SplittableRandom rng;
+
+        Simulacion(Combate combate, int simulaciones, SplittableRandom rng) {
+            this.combate = combate;
+            this.simulaciones = simulaciones;
+            this.rng = rng;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (simulaciones <= TROZO) {
+                return simular();
+            }
+            int mitad = simulaciones / 2;
+            Simulacion izquierda = new Simulacion(combate, mitad, rng.split());
+            izquierda.fork();
+            long[] derecha = new Simulacion(combate, simulaciones - mitad, rng).compute();
+            long[] resultado = izquierda.join();
+            for (int k = 0; k < resultado.length; k++) {
+                resultado[k] += derecha[k];
+            }
+            return resultado;
+        }
+
+        private long[] simular() {
+            int[] hpA = new int[combate.tamanoA];
+            int[] hpB = new int[combate.tamanoB];
+            int[] turnos = new int[1];
+            long[] resultado = new long[4];
+            for (int s = 0; s < simulaciones; s++) {
+                resultado[combate.combatir(rng, hpA, hpB, turnos)]++;
+            }
+            resultado[3] = turnos[0];
+            return resultado;
+        }
+    }
+}
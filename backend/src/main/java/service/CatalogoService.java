@@ -0,0 +1,264 @@
+package service;
+
+import dto.PokemonResumenDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import repository.EstadisticasRepository;
+import repository.EvolucionRepository;
+import repository.PokemonRepository;
+import repository.PokemonTipoRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Instantánea compartida del catálogo en memoria (CatalogoSnapshot)
+ *
+ * Se construye con cuatro consultas de solo columnas (sin entidades) la primera vez
+ * que se pide y se descarta en cada escritura de PokemonService; la siguiente lectura
+ * la reconstruye. Los lectores que ya tienen una instantánea siguen usándola.
+ *
+ * Cada invalidación incrementa la versión: una construcción que se cruza con una
+ * invalidación se devuelve a quien la pidió, pero no se publica (se hizo con datos
+ * anteriores al cambio).
+ */
+@Service
+public class CatalogoService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoService.class);
+
+    private final PokemonRepository pokemonRepository;
+    private final PokemonTipoRepository pokemonTipoRepository;
+    private final EstadisticasRepository estadisticasRepository;
+    private final EvolucionRepository evolucionRepository;
+    private final EfectividadService efectividadService;
+    private final TipoRegistry tipoRegistry;
+
+    private final AtomicLong versiones = new AtomicLong();
+    private final AtomicReference<CatalogoSnapshot> snapshot = new AtomicReference<>();
+
+    @Autowired
+    public CatalogoService(PokemonRepository pokemonRepository,
+                           PokemonTipoRepository pokemonTipoRepository,
+                           EstadisticasRepository estadisticasRepository,
+                           EvolucionRepository evolucionRepository,
+                           EfectividadService efectividadService,
+                           TipoRegistry tipoRegistry) {
+        this.pokemonRepository = pokemonRepository;
+        this.pokemonTipoRepository = pokemonTipoRepository;
+        this.estadisticasRepository = estadisticasRepository;
+        this.evolucionRepository = evolucionRepository;
+        this.efectividadService = efectividadService;
+        this.tipoRegistry = tipoRegistry;
+    }
+
+    /**
+     * Instantánea actual (se construye si no existe)
+     */
+    public CatalogoSnapshot obtener() {
+        CatalogoSnapshot actual = snapshot.get();
+        if (actual == null) {
+            synchronized (this) {
+                actual = snapshot.get();
+                if (actual == null) {
+                    actual = construir();
+                    publicar(actual);
+                }
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Publicar si no ha habido invalidaciones desde que empezó la construcción.
+     * Se publica y después se vuelve a comprobar: si invalidar() llegó entre medias,
+     * o bien ya la ha quitado o bien la quita esta comprobación.
+     */
+    private void publicar(CatalogoSnapshot construida) {
+        if (versiones.get() != construida.getVersion()) {
+            return;
+        }
+        snapshot.set(construida);
+        if (versiones.get() != construida.getVersion()) {
+            snapshot.compareAndSet(construida, null);
+        }
+    }
+
+    /**
+     * Descartar la instantánea tras un cambio en el catálogo.
+     * Si hay una transacción activa se descarta también tras el commit,
+     * para que una reconstrucción concurrente no se quede con datos antiguos.
+     */
+    public void invalidar() {
+        descartar();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    descartar();
+                }
+            });
+        }
+    }
+
+    /**
+     * Primero la versión y después la instantánea (ver publicar)
+     */
+    private void descartar() {
+        versiones.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    /**
+     * Resumen (id, número, nombre y tipos) del Pokémon en la posición i de la instantánea
+     */
+    public PokemonResumenDTO resumen(CatalogoSnapshot catalogo, int i) {
+        List<String> tipos = new ArrayList<>(2);
+        if (catalogo.tipoId1(i) != 0) {
+            tipos.add(tipoRegistry.nombre(catalogo.tipoId1(i)));
+        }
+        if (catalogo.tipoId2(i) != 0) {
+            tipos.add(tipoRegistry.nombre(catalogo.tipoId2(i)));
+        }
+        return new PokemonResumenDTO(catalogo.id(i), catalogo.numero(i), catalogo.nombre(i), tipos);
+    }
+
+    private CatalogoSnapshot construir() {
+        long inicio = System.nanoTime();
+        long version = versiones.incrementAndGet();
+
+        List<Object[]> pokemon = pokemonRepository.findResumenCatalogo();
+        int n = pokemon.size();
+        int[] ids = new int[n];
+        int[] numeros = new int[n];
+        String[] nombres = new String[n];
+        byte[] generaciones = new byte[n];
+        int maxId = 0;
+        for (int i = 0; i < n; i++) {
+            Object[] fila = pokemon.get(i);
+            ids[i] = (Integer) fila[0];
+            numeros[i] = (Integer) fila[1];
+            nombres[i] = (String) fila[2];
+            generaciones[i] = ((Integer) fila[3]).byteValue();
+            maxId = Math.max(maxId, ids[i]);
+        }
+
+        int[] indicePorId = new int[maxId + 1];
+        Arrays.fill(indicePorId, -1);
+        for (int i = 0; i < n; i++) {
+            indicePorId[ids[i]] = i;
+        }
+
+        // Tipos (ordenados por Pokémon y orden: el primero que aparece es el principal)
+        int[] tipoIds1 = new int[n];
+        int[] tipoIds2 = new int[n];
+        byte[] tipos1 = new byte[n];
+        byte[] tipos2 = new byte[n];
+        Arrays.fill(tipos1, (byte) -1);
+        Arrays.fill(tipos2, (byte) -1);
+        for (Object[] fila : pokemonTipoRepository.findRelacionesCatalogo()) {
+            int i = indice(indicePorId, (Integer) fila[0]);
+            if (i < 0) {
+                continue;
+            }
+            int tipoId = (Integer) fila[1];
+            if (tipoIds1[i] == 0) {
+                tipoIds1[i] = tipoId;
+                tipos1[i] = (byte) efectividadService.indice(tipoId);
+            } else if (tipoIds2[i] == 0) {
+                tipoIds2[i] = tipoId;
+                tipos2[i] = (byte) efectividadService.indice(tipoId);
+            }
+        }
+
+        // Estadísticas en bloques de 6
+        short[] estadisticas = new short[n * CatalogoSnapshot.NUM_ESTADISTICAS];
+        boolean[] conEstadisticas = new boolean[n];
+        for (Object[] fila : estadisticasRepository.findValoresCatalogo()) {
+            int i = indice(indicePorId, (Integer) fila[0]);
+            if (i < 0) {
+                continue;
+            }
+            int base = i * CatalogoSnapshot.NUM_ESTADISTICAS;
+            for (int k = 0; k < CatalogoSnapshot.NUM_ESTADISTICAS; k++) {
+                Integer valor = (Integer) fila[k + 1];
+                estadisticas[base + k] = valor != null ? valor.shortValue() : 0;
+            }
+            conEstadisticas[i] = true;
+        }
+
+        // Evoluciones como pares de posiciones
+        List<Object[]> pares = evolucionRepository.findParesCatalogo();
+        int[] origen = new int[pares.size()];
+        int[] destino = new int[pares.size()];
+        int evoluciones = 0;
+        for (Object[] fila : pares) {
+            int o = indice(indicePorId, (Integer) fila[0]);
+            int d = indice(indicePorId, (Integer) fila[1]);
+            if (o >= 0 && d >= 0) {
+                origen[evoluciones] = o;
+                destino[evoluciones] = d;
+                evoluciones++;
+            }
+        }
+
+        CatalogoSnapshot nuevo = new CatalogoSnapshot(version, ids, numeros, nombres, generaciones,
+                tipoIds1, tipoIds2, tipos1, tipos2, estadisticas, conEstadisticas,
+                Arrays.copyOf(origen, evoluciones), Arrays.copyOf(destino, evoluciones), indicePorId,
+                agrupar(generaciones, null, n), agrupar(null, new int[][]{tipoIds1, tipoIds2}, n));
+
+        log.info("Instantánea del catálogo construida: {} Pokémon en {} ms",
+                n, (System.nanoTime() - inicio) / 1_000_000);
+        return nuevo;
+    }
+
+    private static int indice(int[] indicePorId, Integer pokemonId) {
+        return pokemonId != null && pokemonId >= 0 && pokemonId < indicePorId.length ? indicePorId[pokemonId] : -1;
+    }
+
+    /**
+     * Posiciones agrupadas por generación o por tipo (cada Pokémon cuenta en sus dos tipos)
+     */
+    private static Map<Integer, int[]> agrupar(byte[] generaciones, int[][] tipos, int n) {
+        Map<Integer, int[]> grupos = new HashMap<>();
+        Map<Integer, Integer> tamanos = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (generaciones != null) {
+                tamanos.merge((int) generaciones[i], 1, Integer::sum);
+            } else {
+                for (int[] columna : tipos) {
+                    if (columna[i] != 0) {
+                        tamanos.merge(columna[i], 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        tamanos.forEach((clave, tamano) -> grupos.put(clave, new int[tamano]));
+
+        Map<Integer, Integer> llenos = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (generaciones != null) {
+                int clave = generaciones[i];
+                grupos.get(clave)[llenos.merge(clave, 1, Integer::sum) - 1] = i;
+            } else {
+                for (int[] columna : tipos) {
+                    int clave = columna[i];
+                    if (clave != 0) {
+                        grupos.get(clave)[llenos.merge(clave, 1, Integer::sum) - 1] = i;
+                    }
+                }
+            }
+        }
+        return Map.copyOf(grupos);
+    }
+}
@@ -0,0 +1,182 @@
+package service;
+
+import java.util.Map;
+
+/**
+ * Instantánea inmutable del catálogo en arrays primitivos, indexada por posición
+ * (0..tamano-1, en orden de número de Pokédex)
+ *
+ * Pensada para los bucles de cálculo (optimizador de equipos, simulador, quiz...):
+ * los arrays se comparten sin copiar y no deben modificarse.
+ */
+public final class CatalogoSnapshot {
+
+    // Posición de cada estadística dentro del bloque de 6 de cada Pokémon
+    public static final int PS = 0;
+    public static final int ATAQUE = 1;
+    public static final int DEFENSA = 2;
+    public static final int VELOCIDAD = 3;
+    public static final int ATAQUE_ESPECIAL = 4;
+    public static final int DEFENSA_ESPECIAL = 5;
+    public static final int NUM_ESTADISTICAS = 6;
+
+    // Nombres de las estadísticas en el orden anterior (mismos que los campos de EstadisticasDTO)
+    public static final String[] NOMBRES_ESTADISTICAS = {
+            "ps", "ataque", "defensa", "velocidad", "ataqueEspecial", "defensaEspecial"
+    };
+
+    private static final int[] VACIO = new int[0];
+
+    private final long version;
+    private final int tamano;
+    private final int[] ids;
+    private final int[] numeros;
+    private final String[] nombres;
+    private final byte[] generaciones;
+    private final int[] tipoIds1;
+    private final int[] tipoIds2;
+    private final byte[] tipos1;
+    private final byte[] tipos2;
+    private final short[] estadisticas;
+    private final boolean[] conEstadisticas;
+    private final int[] evolucionOrigen;
+    private final int[] evolucionDestino;
+    private final int[] indicePorId;
+    private final Map<Integer, int[]> porGeneracion;
+    private final Map<Integer, int[]> porTipo;
+
+    CatalogoSnapshot(long version, int[] ids, int[] numeros, String[] nombres, byte[] generaciones,
+                     int[] tipoIds1, int[] tipoIds2, byte[] tipos1, byte[] tipos2,
+                     short[] estadisticas, boolean[] conEstadisticas,
+                     int[] evolucionOrigen, int[] evolucionDestino, int[] indicePorId,
+                     Map<Integer, int[]> porGeneracion, Map<Integer, int[]> porTipo) {
+        this.version = version;
+        this.tamano = ids.length;
+        this.ids = ids;
+        this.numeros = numeros;
+        this.nombres = nombres;
+        this.generaciones = generaciones;
+        this.tipoIds1 = tipoIds1;
+        this.tipoIds2 = tipoIds2;
+        this.tipos1 = tipos1;
+        this.tipos2 = tipos2;
+        this.estadisticas = estadisticas;
+        this.conEstadisticas = conEstadisticas;
+        this.evolucionOrigen = evolucionOrigen;
+        this.evolucionDestino = evolucionDestino;
+        this.indicePorId = indicePorId;
+        this.porGeneracion = porGeneracion;
+        this.porTipo = porTipo;
+    }
+
+    /**
+     * Versión del catálogo (cambia con cada alta, modificación o baja)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    /**
+     * Posición de un Pokémon por su id (-1 si no existe)
+     */
+    public int indice(int pokemonId) {
+        return pokemonId >= 0 && pokemonId < indicePorId.length ? indicePorId[pokemonId] : -1;
+    }
+
+    public int id(int i) {
+        return ids[i];
+    }
+
+    public int numero(int i) {
+        return numeros[i];
+    }
+
+    public String nombre(int i) {
+        return nombres[i];
+    }
+
+    public int generacion(int i) {
+        return generaciones[i];
+    }
+
+    /**
+     * Id en BD del tipo principal / secundario (0 si no tiene)
+     */
+    public int tipoId1(int i) {
+        return tipoIds1[i];
+    }
+
+    public int tipoId2(int i) {
+        return tipoIds2[i];
+    }
+
+    /**
+     * Índice en la tabla de efectividad del tipo principal / secundario (-1 si no tiene)
+     */
+    public int tipo1(int i) {
+        return tipos1[i];
+    }
+
+    public int tipo2(int i) {
+        return tipos2[i];
+    }
+
+    public boolean tieneEstadisticas(int i) {
+        return conEstadisticas[i];
+    }
+
+    /**
+     * Estadística de un Pokémon (PS, ATAQUE, ...); 0 si no tiene estadísticas
+     */
+    public int estadistica(int i, int estadistica) {
+        return estadisticas[i * NUM_ESTADISTICAS + estadistica];
+    }
+
+    /**
+     * Suma de las 6 estadísticas base
+     */
+    public int total(int i) {
+        int base = i * NUM_ESTADISTICAS;
+        int suma = 0;
+        for (int k = 0; k < NUM_ESTADISTICAS; k++) {
+            suma += estadisticas[base + k];
+        }
+        return suma;
+    }
+
+    /**
+     * Estadísticas en bloques de 6 por Pokémon (no modificar)
+     */
+    public short[] getEstadisticas() {
+        return estadisticas;
+    }
+
+    /**
+     * Pares de evolución como posiciones: evolucionOrigen[k] evoluciona a evolucionDestino[k]
+     */
+    public int[] getEvolucionOrigen() {
+        return evolucionOrigen;
+    }
+
+    public int[] getEvolucionDestino() {
+        return evolucionDestino;
+    }
+
+    /**
+     * Posiciones de los Pokémon de una generación (no modificar)
+     */
+    public int[] porGeneracion(int generacion) {
+        return porGeneracion.getOrDefault(generacion, VACIO);
+    }
+
+    /**
+     * Posiciones de los Pokémon que tienen un tipo (id en BD) (no modificar)
+     */
+    public int[] porTipo(int tipoId) {
+        return porTipo.getOrDefault(tipoId, VACIO);
+    }
+}
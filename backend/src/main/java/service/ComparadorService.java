@@ -0,0 +1,214 @@
+package service;
+
+import dto.ComparacionDTO;
+import dto.ComparacionPokemonDTO;
+import dto.EnfrentamientoDTO;
+import dto.PokemonResumenDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comparador de Pokémon servido desde la instantánea del catálogo
+ *
+ * Por cada instantánea se guardan los valores ordenados de cada estadística (y del total);
+ * la posición y el percentil de un valor salen de dos búsquedas binarias, sin consultas.
+ */
+@Service
+public class ComparadorService {
+
+    public static final int MIN_POKEMON = 2;
+    public static final int MAX_POKEMON = 6;
+
+    private static final String TOTAL = "total";
+    // Las 6 estadísticas y el total (índice NUM_ESTADISTICAS)
+    private static final int COLUMNAS = CatalogoSnapshot.NUM_ESTADISTICAS + 1;
+
+    private final CatalogoService catalogoService;
+    private final EfectividadService efectividadService;
+
+    private volatile Rangos rangos;
+
+    @Autowired
+    public ComparadorService(CatalogoService catalogoService, EfectividadService efectividadService) {
+        this.catalogoService = catalogoService;
+        this.efectividadService = efectividadService;
+    }
+
+    /**
+     * Comparar de 2 a 6 Pokémon por ID
+     */
+    public ComparacionDTO comparar(List<Integer> ids) {
+        if (ids == null || ids.size() < MIN_POKEMON || ids.size() > MAX_POKEMON) {
+            throw new IllegalArgumentException("Hay que comparar entre " + MIN_POKEMON + " y " + MAX_POKEMON + " Pokémon");
+        }
+        if (ids.stream().distinct().count() != ids.size()) {
+            throw new IllegalArgumentException("Hay Pokémon repetidos en la comparación");
+        }
+
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        Rangos r = rangos(catalogo);
+
+        int[] posiciones = new int[ids.size()];
+        for (int k = 0; k < posiciones.length; k++) {
+            posiciones[k] = catalogo.indice(ids.get(k));
+            if (posiciones[k] < 0) {
+                throw new RuntimeException("Pokemon no encontrado con id: " + ids.get(k));
+            }
+        }
+
+        // Mejor valor de la comparación en cada columna (solo entre los que tienen estadísticas)
+        int[] mejores = new int[COLUMNAS];
+        for (int i : posiciones) {
+            if (catalogo.tieneEstadisticas(i)) {
+                for (int c = 0; c < COLUMNAS; c++) {
+                    mejores[c] = Math.max(mejores[c], valor(catalogo, i, c));
+                }
+            }
+        }
+
+        List<ComparacionPokemonDTO> pokemon = new ArrayList<>(posiciones.length);
+        for (int i : posiciones) {
+            PokemonResumenDTO resumen = catalogoService.resumen(catalogo, i);
+            ComparacionPokemonDTO dto = new ComparacionPokemonDTO();
+            dto.setId(resumen.getId());
+            dto.setNumero(resumen.getNumero());
+            dto.setNombre(resumen.getNombre());
+            dto.setTipos(resumen.getTipos());
+
+            if (catalogo.tieneEstadisticas(i)) {
+                Map<String, Integer> estadisticas = new LinkedHashMap<>();
+                Map<String, Integer> posicionesCatalogo = new LinkedHashMap<>();
+                Map<String, Float> percentiles = new LinkedHashMap<>();
+                Map<String, Integer> diferencias = new LinkedHashMap<>();
+                for (int c = 0; c < COLUMNAS; c++) {
+                    String nombre = c < CatalogoSnapshot.NUM_ESTADISTICAS ? CatalogoSnapshot.NOMBRES_ESTADISTICAS[c] : TOTAL;
+                    int valor = valor(catalogo, i, c);
+                    estadisticas.put(nombre, valor);
+                    posicionesCatalogo.put(nombre, r.posicion(c, valor));
+                    percentiles.put(nombre, r.percentil(c, valor));
+                    diferencias.put(nombre, valor - mejores[c]);
+                }
+                dto.setEstadisticas(estadisticas);
+                dto.setRangos(posicionesCatalogo);
+                dto.setPercentiles(percentiles);
+                dto.setDiferencias(diferencias);
+            }
+            pokemon.add(dto);
+        }
+
+        List<EnfrentamientoDTO> enfrentamientos = new ArrayList<>();
+        for (int atacante : posiciones) {
+            for (int defensor : posiciones) {
+                if (atacante != defensor) {
+                    enfrentamientos.add(new EnfrentamientoDTO(catalogo.id(atacante), catalogo.id(defensor),
+                            mejorMultiplicador(catalogo, atacante, defensor)));
+                }
+            }
+        }
+
+        return new ComparacionDTO(pokemon, enfrentamientos, r.tamano);
+    }
+
+    /**
+     * Multiplicador del tipo propio más eficaz del atacante contra el defensor (1 si faltan datos de tipos)
+     */
+    private float mejorMultiplicador(CatalogoSnapshot catalogo, int atacante, int defensor) {
+        int d1 = catalogo.tipo1(defensor);
+        int d2 = catalogo.tipo2(defensor);
+        int a1 = catalogo.tipo1(atacante);
+        int a2 = catalogo.tipo2(atacante);
+        if (d1 < 0 || a1 < 0) {
+            return 1f;
+        }
+        float mejor = efectividadService.multiplicador(a1, d1, d2);
+        if (a2 >= 0) {
+            mejor = Math.max(mejor, efectividadService.multiplicador(a2, d1, d2));
+        }
+        return mejor;
+    }
+
+    private static int valor(CatalogoSnapshot catalogo, int i, int columna) {
+        return columna < CatalogoSnapshot.NUM_ESTADISTICAS ? catalogo.estadistica(i, columna) : catalogo.total(i);
+    }
+
+    private Rangos rangos(CatalogoSnapshot catalogo) {
+        Rangos actual = rangos;
+        if (actual == null || actual.version != catalogo.getVersion()) {
+            actual = new Rangos(catalogo);
+            rangos = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Valores ordenados de cada columna entre los Pokémon con estadísticas
+     */
+    private static final class Rangos {
+        final long version;
+        final int tamano;
+        final int[][] ordenados;
+
+        Rangos(CatalogoSnapshot catalogo) {
+            this.version = catalogo.getVersion();
+            int n = 0;
+            for (int i = 0; i < catalogo.getTamano(); i++) {
+                if (catalogo.tieneEstadisticas(i)) {
+                    n++;
+                }
+            }
+            this.tamano = n;
+            this.ordenados = new int[COLUMNAS][n];
+            int k = 0;
+            for (int i = 0; i < catalogo.getTamano(); i++) {
+                if (catalogo.tieneEstadisticas(i)) {
+                    for (int c = 0; c < COLUMNAS; c++) {
+                        ordenados[c][k] = valor(catalogo, i, c);
+                    }
+                    k++;
+                }
+            }
+            for (int[] columna : ordenados) {
+                Arrays.sort(columna);
+            }
+        }
+
+        /**
+         * 1 + Pokémon con un valor mayor (los empatados comparten posición)
+         */
+        int posicion(int columna, int valor) {
+            return 1 + tamano - primeroMayor(ordenados[columna], valor);
+        }
+
+        float percentil(int columna, int valor) {
+            if (tamano == 0) {
+                return 0f;
+            }
+            int menores = primeroMayor(ordenados[columna], valor - 1);
+            int iguales = primeroMayor(ordenados[columna], valor) - menores;
+            return Math.round(1000f * (menores + iguales / 2f) / tamano) / 10f;
+        }
+
+        /**
+         * Índice del primer elemento mayor que el valor (número de elementos <= valor)
+         */
+        private static int primeroMayor(int[] ordenado, int valor) {
+            int bajo = 0;
+            int alto = ordenado.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (ordenado[medio] <= valor) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores por Pokémon en una ventana deslizante de tramos de tiempo
+ *
+ * Cada tramo es un mapa de LongAdder (sumar no bloquea); quien lo usa llama a rotar()
+ * al final de cada tramo y el más antiguo se descarta. El total de la ventana suma
+ * todos los tramos, así que cubre entre (tramos - 1) y tramos periodos completos.
+ */
+public final class ContadorPorTramos {
+
+    private final AtomicReferenceArray<Map<Integer, LongAdder>> tramos;
+    private volatile int actual;
+
+    public ContadorPorTramos(int numTramos) {
+        this.tramos = new AtomicReferenceArray<>(numTramos);
+        for (int t = 0; t < numTramos; t++) {
+            tramos.set(t, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void sumar(Integer pokemonId, long delta) {
+        tramos.get(actual).computeIfAbsent(pokemonId, id -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Empezar un tramo nuevo (descarta el más antiguo)
+     */
+    public void rotar() {
+        int siguiente = (actual + 1) % tramos.length();
+        tramos.set(siguiente, new ConcurrentHashMap<>());
+        actual = siguiente;
+    }
+
+    /**
+     * Total por Pokémon sumando todos los tramos de la ventana
+     */
+    public Map<Integer, Long> totales() {
+        Map<Integer, Long> suma = new HashMap<>();
+        for (int t = 0; t < tramos.length(); t++) {
+            for (Map.Entry<Integer, LongAdder> entrada : tramos.get(t).entrySet()) {
+                suma.merge(entrada.getKey(), entrada.getValue().sum(), Long::sum);
+            }
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,282 @@
+package service;
+
+import dto.EfectividadDTO;
+import dto.PerfilDefensivoDTO;
+import entity.PokemonTipo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import repository.PokemonRepository;
+import repository.PokemonTipoRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tabla de efectividad de tipos (18x18)
+ *
+ * Se carga de data/efectividad-tipos.txt en un byte[] plano con el multiplicador
+ * multiplicado por 2 (0, 1, 2, 4 = x0, x0.5, x1, x2). Las filas y columnas siguen
+ * las claves en inglés de PokeAPI, que son las que guarda Tipo.icono. El perfil
+ * defensivo de cada combinación de tipos se calcula una vez y se cachea.
+ */
+@Service
+public class EfectividadService {
+
+    private static final String RECURSO = "data/efectividad-tipos.txt";
+
+    private final TipoRegistry tipoRegistry;
+    private final PokemonRepository pokemonRepository;
+    private final PokemonTipoRepository pokemonTipoRepository;
+
+    // Claves en inglés en el orden de la tabla
+    private final String[] claves;
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    // matriz[atacante * n + defensor] = multiplicador x2
+    private final byte[] matriz;
+    private final int n;
+
+    // Perfiles por combinación (tipo1 * n + tipo2, con tipo1 <= tipo2; monotipo: tipo1 == tipo2)
+    private final AtomicReferenceArray<PerfilDefensivoDTO> perfiles;
+    private volatile long versionTipos;
+
+    @Autowired
+    public EfectividadService(TipoRegistry tipoRegistry,
+                              PokemonRepository pokemonRepository,
+                              PokemonTipoRepository pokemonTipoRepository) {
+        this.tipoRegistry = tipoRegistry;
+        this.pokemonRepository = pokemonRepository;
+        this.pokemonTipoRepository = pokemonTipoRepository;
+
+        // Cabecera: "tipos" seguido de las claves; después una fila por tipo atacante
+        List<String> filas = leerRecurso();
+        String[] cabecera = filas.get(0).trim().split("\\s+");
+        this.n = cabecera.length - 1;
+        this.claves = Arrays.copyOfRange(cabecera, 1, cabecera.length);
+        if (filas.size() != n + 1) {
+            throw new IllegalStateException(RECURSO + " debe tener " + n + " filas");
+        }
+
+        this.matriz = new byte[n * n];
+        for (int i = 0; i < n; i++) {
+            String[] celdas = filas.get(i + 1).trim().split("\\s+");
+            if (celdas.length != n + 1 || !celdas[0].equals(claves[i])) {
+                throw new IllegalStateException("Fila " + (i + 1) + " de " + RECURSO + " no válida");
+            }
+            for (int j = 0; j < n; j++) {
+                matriz[i * n + j] = (byte) Math.round(Float.parseFloat(celdas[j + 1]) * 2);
+            }
+            indices.put(claves[i], i);
+        }
+
+        this.perfiles = new AtomicReferenceArray<>(n * n);
+    }
+
+    /**
+     * Número de tipos de la tabla
+     */
+    public int numeroTipos() {
+        return n;
+    }
+
+    /**
+     * Índice en la tabla de un tipo de la base de datos (-1 si no está en la tabla)
+     */
+    public int indice(Integer tipoId) {
+        TipoRegistry.TipoInfo tipo = tipoRegistry.porId(tipoId);
+        if (tipo == null || tipo.getIcono() == null) {
+            return -1;
+        }
+        return indices.getOrDefault(tipo.getIcono(), -1);
+    }
+
+    /**
+     * Nombre en español del tipo con ese índice de la tabla
+     */
+    public String nombre(int indice) {
+        TipoRegistry.TipoInfo tipo = tipoRegistry.porNombre(claves[indice]);
+        return tipo != null ? tipo.getNombre() : claves[indice];
+    }
+
+    /**
+     * Multiplicador de un ataque de tipo atacante contra un defensor de un solo tipo (índices de la tabla)
+     */
+    public float multiplicador(int atacante, int defensor) {
+        return matriz[atacante * n + defensor] / 2f;
+    }
+
+    /**
+     * Multiplicador contra uno o dos tipos defensores (defensor2 = -1 si es monotipo)
+     */
+    public float multiplicador(int atacante, int defensor1, int defensor2) {
+        int x2 = matriz[atacante * n + defensor1];
+        if (defensor2 < 0 || defensor2 == defensor1) {
+            return x2 / 2f;
+        }
+        return x2 * matriz[atacante * n + defensor2] / 4f;
+    }
+
+    /**
+     * Multiplicador por nombres de tipo (uno o dos defensores)
+     */
+    public float multiplicador(String atacante, List<String> defensores) {
+        if (defensores == null || defensores.isEmpty() || defensores.size() > 2) {
+            throw new RuntimeException("Debe indicar uno o dos tipos defensores");
+        }
+        int a = indicePorNombre(atacante);
+        int d1 = indicePorNombre(defensores.get(0));
+        int d2 = defensores.size() > 1 ? indicePorNombre(defensores.get(1)) : -1;
+        return multiplicador(a, d1, d2);
+    }
+
+    /**
+     * Tabla completa con los nombres en español
+     */
+    public EfectividadDTO tabla() {
+        float[][] multiplicadores = new float[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                multiplicadores[i][j] = multiplicador(i, j);
+            }
+        }
+        return new EfectividadDTO(nombres(), multiplicadores);
+    }
+
+    /**
+     * Multiplicadores de un tipo atacante contra cada tipo defensor
+     */
+    public Map<String, Float> ataque(String tipo) {
+        int a = indicePorNombre(tipo);
+        List<String> nombres = nombres();
+        Map<String, Float> resultado = new LinkedHashMap<>();
+        for (int j = 0; j < n; j++) {
+            resultado.put(nombres.get(j), multiplicador(a, j));
+        }
+        return resultado;
+    }
+
+    /**
+     * Perfil defensivo de una combinación de uno o dos tipos (por nombre)
+     */
+    public PerfilDefensivoDTO perfil(List<String> tipos) {
+        if (tipos == null || tipos.isEmpty() || tipos.size() > 2) {
+            throw new RuntimeException("Debe indicar uno o dos tipos");
+        }
+        int t1 = indicePorNombre(tipos.get(0));
+        int t2 = tipos.size() > 1 ? indicePorNombre(tipos.get(1)) : t1;
+        return perfil(t1, t2);
+    }
+
+    /**
+     * Perfil defensivo de un Pokémon según sus tipos
+     */
+    public PerfilDefensivoDTO perfilPokemon(Integer pokemonId) {
+        List<PokemonTipo> tipos = pokemonTipoRepository.findByPokemonIdOrderByOrdenAsc(pokemonId);
+        if (tipos.isEmpty()) {
+            if (!pokemonRepository.existsById(pokemonId)) {
+                throw new RuntimeException("Pokemon no encontrado con id: " + pokemonId);
+            }
+            throw new RuntimeException("El Pokémon no tiene tipos");
+        }
+        int t1 = indice(tipos.get(0).getTipoId());
+        int t2 = tipos.size() > 1 ? indice(tipos.get(1).getTipoId()) : t1;
+        if (t1 < 0 || t2 < 0) {
+            throw new RuntimeException("Tipo sin datos de efectividad");
+        }
+        return perfil(t1, t2);
+    }
+
+    /**
+     * Perfil de la combinación (t1, t2); se calcula una vez por combinación
+     */
+    private PerfilDefensivoDTO perfil(int t1, int t2) {
+        // Los nombres salen del registro: si cambian se descartan los perfiles cacheados
+        long version = tipoRegistry.version();
+        if (version != versionTipos) {
+            for (int i = 0; i < perfiles.length(); i++) {
+                perfiles.set(i, null);
+            }
+            versionTipos = version;
+        }
+
+        int clave = Math.min(t1, t2) * n + Math.max(t1, t2);
+        PerfilDefensivoDTO perfil = perfiles.get(clave);
+        if (perfil == null) {
+            perfil = calcularPerfil(t1, t2);
+            perfiles.set(clave, perfil);
+        }
+        return perfil;
+    }
+
+    private PerfilDefensivoDTO calcularPerfil(int t1, int t2) {
+        List<String> nombres = nombres();
+        Map<String, Float> multiplicadores = new LinkedHashMap<>();
+        List<String> debilidades = new ArrayList<>();
+        List<String> resistencias = new ArrayList<>();
+        List<String> inmunidades = new ArrayList<>();
+
+        for (int a = 0; a < n; a++) {
+            float m = multiplicador(a, t1, t2 == t1 ? -1 : t2);
+            String nombre = nombres.get(a);
+            multiplicadores.put(nombre, m);
+            if (m == 0f) {
+                inmunidades.add(nombre);
+            } else if (m < 1f) {
+                resistencias.add(nombre);
+            } else if (m > 1f) {
+                debilidades.add(nombre);
+            }
+        }
+
+        List<String> tipos = t1 == t2 ? List.of(nombres.get(t1)) : List.of(nombres.get(t1), nombres.get(t2));
+        return new PerfilDefensivoDTO(tipos, Collections.unmodifiableMap(multiplicadores),
+                List.copyOf(debilidades), List.copyOf(resistencias), List.copyOf(inmunidades));
+    }
+
+    private int indicePorNombre(String nombre) {
+        TipoRegistry.TipoInfo tipo = tipoRegistry.resolver(nombre);
+        Integer indice = tipo.getIcono() != null ? indices.get(tipo.getIcono()) : null;
+        if (indice == null) {
+            throw new RuntimeException("Tipo sin datos de efectividad: " + nombre);
+        }
+        return indice;
+    }
+
+    /**
+     * Nombres en español en el orden de la tabla (la clave en inglés si el tipo no está en la BD)
+     */
+    private List<String> nombres() {
+        List<String> nombres = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            nombres.add(nombre(i));
+        }
+        return nombres;
+    }
+
+    private List<String> leerRecurso() {
+        List<String> filas = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(RECURSO).getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                if (!linea.isBlank() && !linea.startsWith("#")) {
+                    filas.add(linea);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer " + RECURSO, e);
+        }
+        return filas;
+    }
+}
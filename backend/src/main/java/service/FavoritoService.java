@@ -1,15 +1,11 @@
 package service;
 
-import entity.Favorito;
-import entity.User;
 import repository.FavoritoRepository;
-import repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -19,71 +15,80 @@ public class FavoritoService {
     private FavoritoRepository favoritoRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private PopularidadService popularidadService;
+
+    @Autowired
+    private RecomendacionService recomendacionService;
 
     /**
      * Obtener todos los IDs de Pokémon favoritos de un usuario (ordenados por fecha, más recientes primero)
      */
     public List<Integer> obtenerFavoritos(String username) {
-        User usuario = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        Integer usuarioId = userLookupService.obtenerId(username);
 
-        return favoritoRepository.findByUsuarioOrderByFechaAgregadoDesc(usuario)
-                .stream()
-                .map(Favorito::getPokemonId)
-                .collect(Collectors.toList());
+        return favoritoRepository.findPokemonIdsByUsuarioId(usuarioId);
     }
 
     /**
      * Agregar un Pokémon a favoritos
+     * Un único INSERT idempotente: el índice único (usuario_id, pokemon_id) detecta
+     * el duplicado dentro de la propia sentencia, sin error que anule la transacción.
      */
     public void agregarFavorito(String username, Integer pokemonId) {
-        User usuario = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        Integer usuarioId = userLookupService.obtenerId(username);
 
-        // Verificar si ya existe
-        if (favoritoRepository.existsByUsuarioAndPokemonId(usuario, pokemonId)) {
+        if (favoritoRepository.insertarSiNoExiste(usuarioId, pokemonId) == 0) {
             throw new RuntimeException("El Pokémon ya está en favoritos");
         }
-
-        Favorito favorito = new Favorito(usuario, pokemonId);
-        favoritoRepository.save(favorito);
+        popularidadService.sumar(pokemonId);
+        recomendacionService.alta(usuarioId, pokemonId);
     }
 
     /**
      * Eliminar un Pokémon de favoritos
      */
     public void eliminarFavorito(String username, Integer pokemonId) {
-        User usuario = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        Integer usuarioId = userLookupService.obtenerId(username);
 
-        favoritoRepository.deleteByUsuarioAndPokemonId(usuario, pokemonId);
+        if (favoritoRepository.eliminarPorUsuarioYPokemon(usuarioId, pokemonId) > 0) {
+            popularidadService.restar(pokemonId);
+            recomendacionService.baja(usuarioId, pokemonId);
+        }
     }
 
     /**
      * Verificar si un Pokémon es favorito
      */
     public boolean esFavorito(String username, Integer pokemonId) {
-        User usuario = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        Integer usuarioId = userLookupService.obtenerId(username);
 
-        return favoritoRepository.existsByUsuarioAndPokemonId(usuario, pokemonId);
+        return favoritoRepository.existsByUsuarioIdAndPokemonId(usuarioId, pokemonId);
     }
 
     /**
      * Alternar favorito (agregar si no existe, eliminar si existe)
+     * Primero un DELETE de una sola sentencia; si no borró nada, el INSERT idempotente.
+     * Ninguna de las dos lee antes de escribir: dos clics simultáneos nunca duplican filas
+     * y los contadores solo cambian con las filas realmente borradas o insertadas.
      */
     public boolean toggleFavorito(String username, Integer pokemonId) {
-        User usuario = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        Integer usuarioId = userLookupService.obtenerId(username);
 
-        if (favoritoRepository.existsByUsuarioAndPokemonId(usuario, pokemonId)) {
-            favoritoRepository.deleteByUsuarioAndPokemonId(usuario, pokemonId);
+        if (favoritoRepository.eliminarPorUsuarioYPokemon(usuarioId, pokemonId) > 0) {
+            popularidadService.restar(pokemonId);
+            recomendacionService.baja(usuarioId, pokemonId);
             return false; // Ya no es favorito
-        } else {
-            Favorito favorito = new Favorito(usuario, pokemonId);
-            favoritoRepository.save(favorito);
-            return true; // Ahora es favorito
         }
+
+        // Si otra petición lo insertó a la vez, el resultado es igualmente "favorito"
+        // (y es esa petición la que lo cuenta)
+        if (favoritoRepository.insertarSiNoExiste(usuarioId, pokemonId) > 0) {
+            popularidadService.sumar(pokemonId);
+            recomendacionService.alta(usuarioId, pokemonId);
+        }
+        return true; // Ahora es favorito
     }
 }
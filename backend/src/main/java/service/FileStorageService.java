@@ -1,16 +1,42 @@
 package service;
 
 import config.FileStorageProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import util.ImagenUtil;
+
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Servicio para gestión de archivos
@@ -18,7 +44,40 @@ import java.nio.file.StandardCopyOption;
 @Service
 public class FileStorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(FileStorageService.class);
+
+    // Hash SHA-256 en hexadecimal (nombre de los avatares)
+    private static final Pattern AVATAR_HASH = Pattern.compile("[0-9a-f]{64}");
+
+    // Nombre de las imágenes de Pokémon: pokemon_{id}.{ext}
+    private static final Pattern POKEMON_IMAGE = Pattern.compile("pokemon_(\\d+)\\.(png|jpg|jpeg|gif)");
+
+    // Variantes generadas: pokemon_{id}_{variante}.{png|jpg}
+    private static final Pattern POKEMON_VARIANT = Pattern.compile("pokemon_(\\d+)_(thumb|medium|compressed)\\.(png|jpg)");
+
+    private static final String[] EXTENSIONES = {".png", ".jpg", ".jpeg", ".gif"};
+
+    private static final int ORIGINAL = ImageVariant.ORIGINAL.ordinal();
+
+    private static final int CERROJOS = 64;
+
+    // Índice en memoria pokemonId -> imágenes por variante (posición = ordinal de ImageVariant).
+    // Los arrays no se modifican nunca: cada cambio publica un array nuevo.
+    private final Map<Integer, StoredImage[]> imageIndex = new ConcurrentHashMap<>();
+
+    // Cerrojos por Pokémon (repartidos por id) para publicar o borrar su imagen y sus
+    // variantes: dos subidas con distinta extensión no pueden borrarse el archivo la una
+    // a la otra. La E/S se hace con el cerrojo; en el índice solo se publica el resultado.
+    private final Object[] cerrojos = new Object[CERROJOS];
+
+    // Cola acotada para generar variantes fuera del hilo de la petición
+    private final ThreadPoolExecutor variantExecutor;
+    private final float compressedQuality;
+
     private final Path fileStorageLocation;
+    private final Path avatarStorageLocation;
+    private final long avatarMaxBytes;
+    private final int avatarMaxSize;
 
     @Autowired
     public FileStorageService(FileStorageProperties fileStorageProperties) {
@@ -26,14 +85,96 @@ public class FileStorageService {
         this.fileStorageLocation = Paths.get(fileStorageProperties.getUploadDir())
                 .toAbsolutePath()
                 .normalize();
+        this.avatarStorageLocation = Paths.get(fileStorageProperties.getAvatarDir())
+                .toAbsolutePath()
+                .normalize();
+        this.avatarMaxBytes = fileStorageProperties.getAvatarMaxBytes();
+        this.avatarMaxSize = fileStorageProperties.getAvatarMaxSize();
+        this.compressedQuality = fileStorageProperties.getCompressedQuality();
+        for (int i = 0; i < CERROJOS; i++) {
+            cerrojos[i] = new Object();
+        }
+
+        int threads = Math.max(1, fileStorageProperties.getVariantThreads());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.variantExecutor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, fileStorageProperties.getVariantQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
 
         try {
             Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.avatarStorageLocation);
         } catch (Exception ex) {
             throw new RuntimeException("No se pudo crear el directorio de almacenamiento", ex);
         }
     }
 
+    /**
+     * Construir el índice de imágenes a partir de los archivos existentes.
+     * Las variantes que falten o sean anteriores a su original se regeneran en segundo plano.
+     */
+    @PostConstruct
+    public void indexarImagenes() {
+        List<Path> variantes = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(fileStorageLocation)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                Matcher m = POKEMON_IMAGE.matcher(nombre);
+                if (m.matches()) {
+                    StoredImage[] imagenes = new StoredImage[ImageVariant.values().length];
+                    imagenes[ORIGINAL] = describir(archivo, hashArchivo(archivo));
+                    imageIndex.put(Integer.valueOf(m.group(1)), imagenes);
+                } else if (POKEMON_VARIANT.matcher(nombre).matches()) {
+                    variantes.add(archivo);
+                } else if (nombre.endsWith(".tmp")) {
+                    Files.deleteIfExists(archivo); // Restos de una escritura interrumpida
+                }
+            }
+
+            for (Path archivo : variantes) {
+                Matcher m = POKEMON_VARIANT.matcher(archivo.getFileName().toString());
+                m.matches();
+                StoredImage[] imagenes = imageIndex.get(Integer.valueOf(m.group(1)));
+                if (imagenes == null || Files.getLastModifiedTime(archivo).toMillis() < imagenes[ORIGINAL].getLastModified()) {
+                    continue; // Huérfana o desactualizada: se regenera
+                }
+                imagenes[ImageVariant.desdeParametro(m.group(2)).ordinal()] = describir(archivo, hashArchivo(archivo));
+            }
+            log.info("Índice de imágenes construido: {} imágenes", imageIndex.size());
+        } catch (IOException ex) {
+            log.warn("No se pudo indexar el directorio de imágenes: {}", ex.getMessage());
+        }
+
+        // Rellenar las variantes que falten con una sola tarea secuencial
+        List<Integer> pendientes = new ArrayList<>();
+        imageIndex.forEach((id, imagenes) -> {
+            for (ImageVariant variante : ImageVariant.values()) {
+                if (imagenes[variante.ordinal()] == null) {
+                    pendientes.add(id);
+                    break;
+                }
+            }
+        });
+        if (!pendientes.isEmpty()) {
+            log.info("Generando variantes de {} imágenes en segundo plano", pendientes.size());
+            programar(() -> pendientes.forEach(id -> {
+                StoredImage[] imagenes = imageIndex.get(id);
+                if (imagenes != null) {
+                    generarVariantes(id, imagenes[ORIGINAL]);
+                }
+            }));
+        }
+    }
+
     /**
      * Guardar imagen de Pokémon
      */
@@ -62,24 +203,186 @@ public class FileStorageService {
             throw new RuntimeException("Solo se permiten archivos JPG, JPEG, PNG o GIF");
         }
 
+        // Tomcat ya tiene el cuerpo multipart en un temporal: transferTo lo mueve sin copiarlo
+        // y el hash se calcula leyendo ese archivo una sola vez
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile(fileStorageLocation, "subida", ".tmp");
+            file.transferTo(temporal.toFile());
+            return publicar(pokemonId, temporal, hashArchivo(temporal), fileExtension).getFileName();
+        } catch (IOException ex) {
+            throw new RuntimeException("Error al guardar el archivo: pokemon_" + pokemonId + fileExtension, ex);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Guardar la imagen de un Pokémon desde un flujo (espejo de artwork).
+     * Copia a un temporal calculando el hash a la vez y después la publica.
+     */
+    public StoredImage storeImage(Integer pokemonId, ImageSource origen, String fileExtension) {
+        Path temporal = null;
+        try {
+            temporal = Files.createTempFile(fileStorageLocation, "subida", ".tmp");
+            MessageDigest digest = ImagenUtil.nuevoSha256();
+            try (InputStream in = new DigestInputStream(origen.abrir(), digest)) {
+                Files.copy(in, temporal, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return publicar(pokemonId, temporal, HexFormat.of().formatHex(digest.digest()), fileExtension);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error al guardar el archivo: pokemon_" + pokemonId + fileExtension, ex);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    /**
+     * Dar nombre definitivo a una imagen ya escrita en un temporal y publicarla en el índice.
+     * Si otro Pokémon ya tiene el mismo contenido se enlaza a su archivo (y a sus variantes)
+     * en lugar de guardar otra copia. El cambio de nombre es atómico: quien lea el archivo
+     * ve la imagen anterior o la nueva, nunca una a medias. Renombrar, borrar las otras
+     * extensiones y publicar en el índice se hace con el cerrojo del Pokémon.
+     */
+    private StoredImage publicar(Integer pokemonId, Path temporal, String hash, String fileExtension) throws IOException {
         // Nombre del archivo: pokemon_{id}.{ext}
         String fileName = "pokemon_" + pokemonId + fileExtension;
 
+        // Verificar path traversal
+        if (fileName.contains("..")) {
+            throw new RuntimeException("Nombre de archivo inválido: " + fileName);
+        }
+
+        Path targetLocation = this.fileStorageLocation.resolve(fileName);
+        StoredImage[] donante = buscarPorHash(hash, pokemonId);
+        StoredImage[] imagenes = new StoredImage[ImageVariant.values().length];
+        synchronized (cerrojo(pokemonId)) {
+            if (donante == null || !enlazar(donante[ORIGINAL].getPath(), temporal, targetLocation)) {
+                Files.move(temporal, targetLocation, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            // Eliminar imágenes anteriores con otra extensión
+            for (String ext : EXTENSIONES) {
+                if (!ext.equals(fileExtension)) {
+                    Files.deleteIfExists(fileStorageLocation.resolve("pokemon_" + pokemonId + ext));
+                }
+            }
+
+            // Publicar el original; las variantes se reutilizan del donante o se generan aparte
+            imagenes[ORIGINAL] = describir(targetLocation, hash);
+            imageIndex.put(pokemonId, imagenes);
+        }
+
+        StoredImage original = imagenes[ORIGINAL];
+        if (donante == null || !reutilizarVariantes(donante, pokemonId, original)) {
+            programar(() -> generarVariantes(pokemonId, original));
+        }
+
+        return original;
+    }
+
+    /**
+     * Imágenes de otro Pokémon cuyo original tiene ese hash (null si no hay)
+     */
+    private StoredImage[] buscarPorHash(String hash, Integer excluirId) {
+        for (Map.Entry<Integer, StoredImage[]> entrada : imageIndex.entrySet()) {
+            if (!entrada.getKey().equals(excluirId) && entrada.getValue()[ORIGINAL].getHash().equals(hash)) {
+                return entrada.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Crear destino como enlace duro a existente, comprobando que su contenido es el del
+     * temporal (existente puede haberse reemplazado entretanto). False si no se pudo.
+     */
+    private boolean enlazar(Path existente, Path temporal, Path destino) {
+        Path enlace = null;
         try {
-            // Verificar path traversal
-            if (fileName.contains("..")) {
-                throw new RuntimeException("Nombre de archivo inválido: " + fileName);
+            enlace = fileStorageLocation.resolve("enlace-" + UUID.randomUUID() + ".tmp");
+            Files.createLink(enlace, existente);
+            if (Files.mismatch(enlace, temporal) != -1) {
+                return false;
             }
+            Files.move(enlace, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | UnsupportedOperationException ex) {
+            return false; // Sistema de archivos sin enlaces duros: se guarda la copia
+        } finally {
+            borrarTemporal(enlace);
+        }
+    }
 
-            // Copiar archivo al directorio
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Reutilizar las variantes del donante enlazándolas con los nombres de este Pokémon.
+     * Se hace con el cerrojo del Pokémon, como la generación, para no cruzarse con otra subida.
+     * Devuelve true si se han podido enlazar todas.
+     */
+    private boolean reutilizarVariantes(StoredImage[] donante, Integer pokemonId, StoredImage original) {
+        synchronized (cerrojo(pokemonId)) {
+            StoredImage[] actuales = imageIndex.get(pokemonId);
+            if (actuales == null || !actuales[ORIGINAL].getHash().equals(original.getHash())) {
+                return false;
+            }
+            StoredImage[] nuevas = actuales.clone();
+            boolean completas = true;
+            for (ImageVariant variante : ImageVariant.values()) {
+                if (variante == ImageVariant.ORIGINAL) {
+                    continue;
+                }
+                StoredImage origen = donante[variante.ordinal()];
+                StoredImage enlazada = origen != null ? enlazarVariante(origen, pokemonId, variante) : null;
+                if (enlazada == null) {
+                    completas = false;
+                    break;
+                }
+                nuevas[variante.ordinal()] = enlazada;
+            }
+            imageIndex.put(pokemonId, nuevas);
+            return completas;
+        }
+    }
 
-            return fileName;
+    private StoredImage enlazarVariante(StoredImage origen, Integer pokemonId, ImageVariant variante) {
+        String nombre = origen.getFileName();
+        Path destino = fileStorageLocation.resolve(
+                nombreVariante(pokemonId, variante, nombre.substring(nombre.lastIndexOf('.'))));
+        Path enlace = null;
+        try {
+            enlace = fileStorageLocation.resolve("enlace-" + UUID.randomUUID() + ".tmp");
+            Files.createLink(enlace, origen.getPath());
+            if (!hashArchivo(enlace).equals(origen.getHash())) {
+                return null; // El donante cambió entretanto
+            }
+            Files.move(enlace, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(fileStorageLocation.resolve(
+                    nombreVariante(pokemonId, variante, nombre.endsWith(".png") ? ".jpg" : ".png")));
+            return describir(destino, origen.getHash());
+        } catch (IOException | UnsupportedOperationException ex) {
+            return null;
+        } finally {
+            borrarTemporal(enlace);
+        }
+    }
 
-        } catch (IOException ex) {
-            throw new RuntimeException("Error al guardar el archivo: " + fileName, ex);
+    private void borrarTemporal(Path temporal) {
+        if (temporal == null) {
+            return;
         }
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException ignored) {
+            // Se limpia en el próximo arranque
+        }
+    }
+
+    /**
+     * Origen de los bytes de una imagen (se abre una sola vez)
+     */
+    @FunctionalInterface
+    public interface ImageSource {
+        InputStream abrir() throws IOException;
     }
 
     /**
@@ -110,18 +413,280 @@ public class FileStorageService {
     }
 
     /**
-     * Obtener nombre de archivo para un Pokémon (busca cualquier extensión)
+     * Obtener nombre de archivo para un Pokémon (desde el índice en memoria)
      */
     public String getFileNameForPokemon(Integer pokemonId) {
-        String[] extensions = {".png", ".jpg", ".jpeg", ".gif"};
+        StoredImage imagen = getImage(pokemonId);
+        return imagen != null ? imagen.getFileName() : null;
+    }
+
+    /**
+     * URL pública de la imagen con la versión de contenido (?v=) para poder cachearla
+     * como inmutable. Null si el Pokémon no tiene imagen.
+     */
+    public String getImageUrl(Integer pokemonId) {
+        StoredImage imagen = getImage(pokemonId);
+        if (imagen == null) {
+            return null;
+        }
+        return "/api/pokemon/" + pokemonId + "/imagen?v=" + imagen.getVersion();
+    }
 
-        for (String ext : extensions) {
-            String fileName = "pokemon_" + pokemonId + ext;
-            if (fileExists(fileName)) {
-                return fileName;
+    /**
+     * Obtener la imagen original indexada de un Pokémon (null si no tiene)
+     */
+    public StoredImage getImage(Integer pokemonId) {
+        return getImage(pokemonId, ImageVariant.ORIGINAL);
+    }
+
+    /**
+     * Obtener una variante concreta de la imagen de un Pokémon
+     * (null si no tiene imagen o si la variante aún no se ha generado)
+     */
+    public StoredImage getImage(Integer pokemonId, ImageVariant variante) {
+        StoredImage[] imagenes = imageIndex.get(pokemonId);
+        return imagenes != null ? imagenes[variante.ordinal()] : null;
+    }
+
+    /**
+     * Eliminar la imagen de un Pokémon (con sus variantes) y quitarla del índice
+     * Devuelve false si el Pokémon no tenía imagen
+     */
+    public boolean deleteImage(Integer pokemonId) {
+        synchronized (cerrojo(pokemonId)) {
+            StoredImage[] imagenes = imageIndex.remove(pokemonId);
+            if (imagenes == null) {
+                return false;
             }
+            deleteFile(imagenes[ORIGINAL].getFileName());
+            for (ImageVariant variante : ImageVariant.values()) {
+                if (variante != ImageVariant.ORIGINAL) {
+                    deleteFile(nombreVariante(pokemonId, variante, ".png"));
+                    deleteFile(nombreVariante(pokemonId, variante, ".jpg"));
+                }
+            }
+            return true;
         }
+    }
 
-        return null;
+    private Object cerrojo(Integer pokemonId) {
+        return cerrojos[Math.floorMod(pokemonId, CERROJOS)];
+    }
+
+    // ==================== VARIANTES ====================
+
+    private void programar(Runnable tarea) {
+        try {
+            variantExecutor.execute(tarea);
+        } catch (RejectedExecutionException ex) {
+            // Cola llena: se seguirá sirviendo el original hasta el próximo reinicio
+            log.warn("Cola de variantes llena, se omite la generación");
+        }
+    }
+
+    /**
+     * Generar miniatura, mediana y comprimida a partir del original.
+     * Opacas se codifican en JPEG; con transparencia, en PNG con compresión máxima.
+     * Solo se publican si el original no ha cambiado mientras tanto.
+     */
+    private void generarVariantes(Integer pokemonId, StoredImage original) {
+        List<Path> temporales = new ArrayList<>();
+        try {
+            // Dimensiones comprobadas antes de decodificar (ImagenDemasiadoGrandeException)
+            BufferedImage imagen = ImagenUtil.leer(original.getPath());
+            if (imagen == null) {
+                // Si entretanto se subió otra imagen, el archivo ya no existe y no hay nada que avisar
+                if (vigente(pokemonId, original)) {
+                    log.warn("No se pudo decodificar {} para generar variantes", original.getFileName());
+                }
+                return;
+            }
+            boolean transparente = ImagenUtil.tieneTransparencia(imagen);
+            String extension = transparente ? ".png" : ".jpg";
+
+            ImageVariant[] variantes = ImageVariant.values();
+            byte[][] contenidos = new byte[variantes.length][];
+            for (ImageVariant variante : variantes) {
+                if (variante == ImageVariant.ORIGINAL) {
+                    continue;
+                }
+                BufferedImage escalada = variante.getMaxLado() > 0
+                        ? ImagenUtil.redimensionar(imagen, variante.getMaxLado())
+                        : imagen;
+                contenidos[variante.ordinal()] = transparente
+                        ? ImagenUtil.aPngComprimido(escalada)
+                        : ImagenUtil.aJpeg(escalada, compressedQuality);
+            }
+
+            for (byte[] contenido : contenidos) {
+                temporales.add(contenido != null ? escribirTemporal(contenido) : null);
+            }
+
+            // Hashes calculados antes de tomar el cerrojo
+            String[] hashes = new String[variantes.length];
+            for (int i = 0; i < variantes.length; i++) {
+                hashes[i] = contenidos[i] != null ? ImagenUtil.sha256Hex(contenidos[i]) : null;
+            }
+
+            // Mover a su nombre definitivo con el cerrojo para no cruzarse con una nueva subida
+            synchronized (cerrojo(pokemonId)) {
+                StoredImage[] actuales = imageIndex.get(pokemonId);
+                if (actuales == null || !actuales[ORIGINAL].getHash().equals(original.getHash())) {
+                    return; // El original cambió o se borró: estas variantes ya no sirven
+                }
+                StoredImage[] nuevas = actuales.clone();
+                try {
+                    for (ImageVariant variante : variantes) {
+                        Path temporal = temporales.get(variante.ordinal());
+                        if (temporal == null) {
+                            continue;
+                        }
+                        Path destino = fileStorageLocation.resolve(nombreVariante(pokemonId, variante, extension));
+                        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        Files.deleteIfExists(fileStorageLocation.resolve(
+                                nombreVariante(pokemonId, variante, transparente ? ".jpg" : ".png")));
+                        nuevas[variante.ordinal()] = describir(destino, hashes[variante.ordinal()]);
+                    }
+                } catch (IOException ex) {
+                    log.warn("No se pudieron guardar las variantes del Pokémon {}: {}", pokemonId, ex.getMessage());
+                }
+                imageIndex.put(pokemonId, nuevas);
+            }
+
+        } catch (IOException | RuntimeException ex) {
+            if (vigente(pokemonId, original)) {
+                log.warn("Error al generar variantes de {}: {}", original.getFileName(), ex.getMessage());
+            }
+        } finally {
+            for (Path temporal : temporales) {
+                if (temporal != null) {
+                    try {
+                        Files.deleteIfExists(temporal);
+                    } catch (IOException ignored) {
+                        // Se limpia en la próxima generación
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ¿Sigue publicado ese original para el Pokémon?
+     */
+    private boolean vigente(Integer pokemonId, StoredImage original) {
+        StoredImage[] imagenes = imageIndex.get(pokemonId);
+        return imagenes != null && imagenes[ORIGINAL].getPath().equals(original.getPath())
+                && imagenes[ORIGINAL].getHash().equals(original.getHash());
+    }
+
+    private Path escribirTemporal(byte[] contenido) throws IOException {
+        Path temporal = Files.createTempFile(fileStorageLocation, "variante", ".tmp");
+        Files.write(temporal, contenido);
+        return temporal;
+    }
+
+    private String nombreVariante(Integer pokemonId, ImageVariant variante, String extension) {
+        return "pokemon_" + pokemonId + "_" + variante.getNombre() + extension;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantExecutor.shutdownNow();
+    }
+
+    /**
+     * Metadatos de un archivo recién escrito
+     */
+    private StoredImage describir(Path archivo, String hash) throws IOException {
+        return new StoredImage(
+                archivo,
+                mimeType(archivo.getFileName().toString()),
+                Files.size(archivo),
+                Files.getLastModifiedTime(archivo).toMillis(),
+                hash
+        );
+    }
+
+    private String hashArchivo(Path archivo) throws IOException {
+        MessageDigest digest = ImagenUtil.nuevoSha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(archivo), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String mimeType(String fileName) {
+        String nombre = fileName.toLowerCase();
+        if (nombre.endsWith(".png")) return "image/png";
+        if (nombre.endsWith(".jpg") || nombre.endsWith(".jpeg")) return "image/jpeg";
+        if (nombre.endsWith(".gif")) return "image/gif";
+        return "application/octet-stream";
+    }
+
+    // ==================== AVATARES ====================
+
+    /**
+     * Guardar avatar de usuario a partir de un data-URL (data:image/png;base64,...)
+     * Se valida el tamaño, se reduce a avatarMaxSize px y se guarda como PNG
+     * con el hash SHA-256 del contenido como nombre. Devuelve el hash.
+     */
+    public String storeAvatar(String dataUrl) {
+        if (dataUrl == null || !dataUrl.startsWith("data:image/")) {
+            throw new RuntimeException("El avatar debe ser una imagen");
+        }
+
+        int coma = dataUrl.indexOf(',');
+        if (coma < 0 || !dataUrl.substring(0, coma).endsWith(";base64")) {
+            throw new RuntimeException("Formato de avatar no válido");
+        }
+
+        // Comprobar el tamaño antes de decodificar (base64 ocupa 4/3 del original)
+        long tamanoEstimado = (long) (dataUrl.length() - coma - 1) * 3 / 4;
+        if (tamanoEstimado > avatarMaxBytes) {
+            throw new RuntimeException("El avatar no puede superar " + (avatarMaxBytes / 1024) + " KB");
+        }
+
+        try {
+            byte[] datos = Base64.getMimeDecoder().decode(dataUrl.substring(coma + 1));
+            BufferedImage imagen = ImagenUtil.leer(datos);
+            if (imagen == null) {
+                throw new RuntimeException("El avatar no es una imagen válida");
+            }
+
+            byte[] png = ImagenUtil.aPng(ImagenUtil.redimensionar(imagen, avatarMaxSize));
+            String hash = ImagenUtil.sha256Hex(png);
+
+            // Contenido direccionado por hash: si ya existe no hace falta escribirlo
+            Path destino = avatarStorageLocation.resolve(hash + ".png");
+            if (!Files.exists(destino)) {
+                Path temporal = Files.createTempFile(avatarStorageLocation, "avatar", ".tmp");
+                try {
+                    Files.write(temporal, png);
+                    Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temporal);
+                }
+            }
+
+            return hash;
+
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Formato de avatar no válido", ex);
+        } catch (ImagenUtil.ImagenDemasiadoGrandeException ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error al guardar el avatar", ex);
+        }
+    }
+
+    /**
+     * Ruta del avatar con ese hash (null si el hash no es válido o no existe)
+     */
+    public Path loadAvatar(String hash) {
+        if (hash == null || !AVATAR_HASH.matcher(hash).matches()) {
+            return null;
+        }
+        Path ruta = avatarStorageLocation.resolve(hash + ".png");
+        return Files.exists(ruta) ? ruta : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package service;
+
+/**
+ * Variantes de imagen generadas al subir una imagen de Pokémon
+ */
+public enum ImageVariant {
+
+    // Miniatura para las tarjetas de la cuadrícula
+    THUMBNAIL("thumb", 96),
+
+    // Tamaño intermedio para la ficha de detalle
+    MEDIUM("medium", 256),
+
+    // Archivo original tal y como se subió
+    ORIGINAL("original", 0),
+
+    // Original recodificado con compresión (JPEG o PNG comprimido si tiene transparencia)
+    COMPRESSED("compressed", 0);
+
+    private final String nombre;
+    private final int maxLado;
+
+    ImageVariant(String nombre, int maxLado) {
+        this.nombre = nombre;
+        this.maxLado = maxLado;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Lado máximo en píxeles (0 = tamaño original)
+     */
+    public int getMaxLado() {
+        return maxLado;
+    }
+
+    /**
+     * Obtener la variante a partir del parámetro ?size= (null o vacío = original)
+     */
+    public static ImageVariant desdeParametro(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return ORIGINAL;
+        }
+        for (ImageVariant variante : values()) {
+            if (variante.nombre.equalsIgnoreCase(valor) || variante.name().equalsIgnoreCase(valor)) {
+                return variante;
+            }
+        }
+        throw new IllegalArgumentException("Tamaño de imagen no válido: " + valor
+                + " (valores: thumb, medium, original, compressed)");
+    }
+}
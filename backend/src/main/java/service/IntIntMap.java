@@ -0,0 +1,216 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de int a int con direccionamiento abierto (sondeo lineal) sin objetos por entrada
+ *
+ * Las claves no pueden ser 0 (marca de hueco libre). Al borrar se desplazan las
+ * entradas siguientes de la secuencia, así que no quedan lápidas y el mapa no se
+ * degrada con altas y bajas continuas. No es seguro para varios hilos: quien lo use
+ * debe sincronizar el acceso.
+ */
+public final class IntIntMap {
+
+    private static final int CAPACIDAD_MINIMA = 8;
+
+    private int[] claves;
+    private int[] valores;
+    private int mascara;
+    private int tamano;
+
+    public IntIntMap() {
+        this(CAPACIDAD_MINIMA / 2);
+    }
+
+    /**
+     * @param esperado número de entradas previsto (para no redimensionar)
+     */
+    public IntIntMap(int esperado) {
+        int capacidad = Integer.highestOneBit(Math.max(CAPACIDAD_MINIMA / 2, esperado) * 2 - 1) << 1;
+        this.claves = new int[capacidad];
+        this.valores = new int[capacidad];
+        this.mascara = capacidad - 1;
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    public boolean contains(int clave) {
+        return claves[posicion(clave)] != 0;
+    }
+
+    /**
+     * Valor de la clave (0 si no está)
+     */
+    public int get(int clave) {
+        int i = posicion(clave);
+        return claves[i] != 0 ? valores[i] : 0;
+    }
+
+    public void put(int clave, int valor) {
+        int i = posicion(clave);
+        if (claves[i] == 0) {
+            insertar(i, clave, valor);
+        } else {
+            valores[i] = valor;
+        }
+    }
+
+    /**
+     * Sumar delta al valor de la clave; si el resultado es 0 la entrada se elimina.
+     * Devuelve el valor resultante.
+     */
+    public int add(int clave, int delta) {
+        int i = posicion(clave);
+        if (claves[i] == 0) {
+            if (delta != 0) {
+                insertar(i, clave, delta);
+            }
+            return delta;
+        }
+        int valor = valores[i] + delta;
+        if (valor == 0) {
+            borrar(i);
+        } else {
+            valores[i] = valor;
+        }
+        return valor;
+    }
+
+    /**
+     * Eliminar la clave; devuelve true si estaba
+     */
+    public boolean remove(int clave) {
+        int i = posicion(clave);
+        if (claves[i] == 0) {
+            return false;
+        }
+        borrar(i);
+        return true;
+    }
+
+    /**
+     * Sumar todas las entradas de otro mapa
+     */
+    public void addAll(IntIntMap otro) {
+        for (int i = 0; i < otro.claves.length; i++) {
+            if (otro.claves[i] != 0) {
+                add(otro.claves[i], otro.valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Recorrer las entradas (en orden arbitrario)
+     */
+    public void forEach(Visitante visitante) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != 0) {
+                visitante.visitar(claves[i], valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Claves en orden arbitrario
+     */
+    public int[] keys() {
+        int[] resultado = new int[tamano];
+        int n = 0;
+        for (int clave : claves) {
+            if (clave != 0) {
+                resultado[n++] = clave;
+            }
+        }
+        return resultado;
+    }
+
+    public void clear() {
+        Arrays.fill(claves, 0);
+        tamano = 0;
+    }
+
+    @FunctionalInterface
+    public interface Visitante {
+        void visitar(int clave, int valor);
+    }
+
+    /**
+     * Hueco de la clave, o el hueco libre donde iría
+     */
+    private int posicion(int clave) {
+        if (clave == 0) {
+            throw new IllegalArgumentException("La clave 0 no está permitida");
+        }
+        int i = mezclar(clave) & mascara;
+        while (claves[i] != 0 && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void insertar(int i, int clave, int valor) {
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamano * 2 > claves.length) {
+            redimensionar();
+        }
+    }
+
+    /**
+     * Borrar el hueco i desplazando hacia atrás las entradas que ya no serían alcanzables
+     */
+    private void borrar(int i) {
+        int hueco = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            if (claves[j] == 0) {
+                break;
+            }
+            int ideal = mezclar(claves[j]) & mascara;
+            // La entrada j puede ocupar el hueco si su posición ideal no está en (hueco, j]
+            boolean mover = hueco <= j
+                    ? ideal <= hueco || ideal > j
+                    : ideal <= hueco && ideal > j;
+            if (mover) {
+                claves[hueco] = claves[j];
+                valores[hueco] = valores[j];
+                hueco = j;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = 0;
+        tamano--;
+    }
+
+    private void redimensionar() {
+        int[] clavesAnteriores = claves;
+        int[] valoresAnteriores = valores;
+        claves = new int[clavesAnteriores.length * 2];
+        valores = new int[clavesAnteriores.length * 2];
+        mascara = claves.length - 1;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            int clave = clavesAnteriores[i];
+            if (clave != 0) {
+                int j = mezclar(clave) & mascara;
+                while (claves[j] != 0) {
+                    j = (j + 1) & mascara;
+                }
+                claves[j] = clave;
+                valores[j] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    private static int mezclar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,247 @@
+package service;
+
+/**
+ * Árbol k-d implícito sobre vectores float (búsqueda de vecinos más cercanos)
+ *
+ * Los puntos se guardan en un array plano (n * dimensiones) y el árbol es una
+ * permutación de índices: cada rango [desde, hasta) tiene su nodo en la mediana,
+ * cortado por el eje de mayor dispersión del rango. La búsqueda de los k vecinos
+ * poda las ramas cuya distancia al plano de corte supera la del k-ésimo candidato.
+ * Es inmutable tras construirse y se puede consultar desde varios hilos.
+ */
+public final class KdTree {
+
+    private final int dimensiones;
+    private final int tamano;
+    private final float[] puntos;
+    private final int[] nodos;
+    private final byte[] ejes;
+
+    /**
+     * @param puntos      coordenadas en bloques de 'dimensiones' (no se copian; no modificar)
+     * @param dimensiones número de coordenadas por punto
+     */
+    public KdTree(float[] puntos, int dimensiones) {
+        if (dimensiones < 1 || dimensiones > Byte.MAX_VALUE || puntos.length % dimensiones != 0) {
+            throw new IllegalArgumentException("Dimensiones no válidas: " + dimensiones);
+        }
+        this.dimensiones = dimensiones;
+        this.tamano = puntos.length / dimensiones;
+        this.puntos = puntos;
+        this.nodos = new int[tamano];
+        this.ejes = new byte[tamano];
+        for (int i = 0; i < tamano; i++) {
+            nodos[i] = i;
+        }
+        construir(0, tamano);
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public int getDimensiones() {
+        return dimensiones;
+    }
+
+    /**
+     * k vecinos más cercanos a la consulta (distancia euclídea), sin contar el punto 'excluido' (-1 = ninguno).
+     * Rellena indices y distancias (al cuadrado) de más cercano a más lejano y devuelve cuántos encontró.
+     */
+    public int vecinos(float[] consulta, int k, int excluido, int[] indices, float[] distancias) {
+        if (k <= 0 || tamano == 0) {
+            return 0;
+        }
+        Busqueda busqueda = new Busqueda(consulta, k, excluido);
+        busqueda.buscar(0, tamano);
+
+        // Vaciar el montículo de máximos: sale primero el más lejano
+        int encontrados = busqueda.cantidad;
+        for (int pos = encontrados - 1; pos >= 0; pos--) {
+            indices[pos] = busqueda.indices[0];
+            distancias[pos] = busqueda.distancias[0];
+            busqueda.quitarMaximo();
+        }
+        return encontrados;
+    }
+
+    private void construir(int desde, int hasta) {
+        if (hasta - desde <= 1) {
+            return;
+        }
+        int eje = ejeMayorDispersion(desde, hasta);
+        int mitad = (desde + hasta) >>> 1;
+        seleccionar(desde, hasta - 1, mitad, eje);
+        ejes[mitad] = (byte) eje;
+        construir(desde, mitad);
+        construir(mitad + 1, hasta);
+    }
+
+    private int ejeMayorDispersion(int desde, int hasta) {
+        int mejor = 0;
+        float mayor = -1f;
+        for (int d = 0; d < dimensiones; d++) {
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = desde; i < hasta; i++) {
+                float v = puntos[nodos[i] * dimensiones + d];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (max - min > mayor) {
+                mayor = max - min;
+                mejor = d;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Quickselect: deja en nodos[k] el punto que iría ahí si el rango estuviera ordenado por el eje
+     */
+    private void seleccionar(int izquierda, int derecha, int k, int eje) {
+        while (izquierda < derecha) {
+            float pivote = coordenada(nodos[(izquierda + derecha) >>> 1], eje);
+            int i = izquierda;
+            int j = derecha;
+            while (i <= j) {
+                while (coordenada(nodos[i], eje) < pivote) {
+                    i++;
+                }
+                while (coordenada(nodos[j], eje) > pivote) {
+                    j--;
+                }
+                if (i <= j) {
+                    int tmp = nodos[i];
+                    nodos[i] = nodos[j];
+                    nodos[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                derecha = j;
+            } else if (k >= i) {
+                izquierda = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private float coordenada(int punto, int eje) {
+        return puntos[punto * dimensiones + eje];
+    }
+
+    /**
+     * Estado de una consulta: montículo de máximos con los k mejores candidatos
+     */
+    private final class Busqueda {
+        final float[] consulta;
+        final int k;
+        final int excluido;
+        final int[] indices;
+        final float[] distancias;
+        int cantidad;
+
+        Busqueda(float[] consulta, int k, int excluido) {
+            this.consulta = consulta;
+            this.k = k;
+            this.excluido = excluido;
+            this.indices = new int[k];
+            this.distancias = new float[k];
+        }
+
+        void buscar(int desde, int hasta) {
+            if (desde >= hasta) {
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            int punto = nodos[mitad];
+            if (punto != excluido) {
+                ofrecer(punto, distancia(punto));
+            }
+            if (hasta - desde == 1) {
+                return;
+            }
+
+            int eje = ejes[mitad];
+            float diferencia = consulta[eje] - coordenada(punto, eje);
+            boolean izquierdaPrimero = diferencia < 0;
+            if (izquierdaPrimero) {
+                buscar(desde, mitad);
+            } else {
+                buscar(mitad + 1, hasta);
+            }
+            // La otra rama solo si el plano de corte está más cerca que el peor candidato
+            if (cantidad < k || diferencia * diferencia < distancias[0]) {
+                if (izquierdaPrimero) {
+                    buscar(mitad + 1, hasta);
+                } else {
+                    buscar(desde, mitad);
+                }
+            }
+        }
+
+        private float distancia(int punto) {
+            int base = punto * dimensiones;
+            float suma = 0f;
+            for (int d = 0; d < dimensiones; d++) {
+                float diferencia = consulta[d] - puntos[base + d];
+                suma += diferencia * diferencia;
+            }
+            return suma;
+        }
+
+        private void ofrecer(int punto, float distancia) {
+            if (cantidad < k) {
+                // Insertar y subir
+                int pos = cantidad++;
+                while (pos > 0) {
+                    int padre = (pos - 1) >>> 1;
+                    if (distancias[padre] >= distancia) {
+                        break;
+                    }
+                    indices[pos] = indices[padre];
+                    distancias[pos] = distancias[padre];
+                    pos = padre;
+                }
+                indices[pos] = punto;
+                distancias[pos] = distancia;
+            } else if (distancia < distancias[0]) {
+                bajar(punto, distancia);
+            }
+        }
+
+        void quitarMaximo() {
+            cantidad--;
+            if (cantidad > 0) {
+                bajar(indices[cantidad], distancias[cantidad]);
+            }
+        }
+
+        /**
+         * Colocar (punto, distancia) en la raíz y hundirlo hasta su sitio
+         */
+        private void bajar(int punto, float distancia) {
+            int pos = 0;
+            while (true) {
+                int hijo = 2 * pos + 1;
+                if (hijo >= cantidad) {
+                    break;
+                }
+                if (hijo + 1 < cantidad && distancias[hijo + 1] > distancias[hijo]) {
+                    hijo++;
+                }
+                if (distancias[hijo] <= distancia) {
+                    break;
+                }
+                indices[pos] = indices[hijo];
+                distancias[pos] = distancias[hijo];
+                pos = hijo;
+            }
+            indices[pos] = punto;
+            distancias[pos] = distancia;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio de hashing de contraseñas (BCrypt)
+ *
+ * El trabajo de BCrypt se ejecuta en un pool propio y acotado, para que una
+ * ráfaga de logins no ocupe todos los hilos de Tomcat. Si la cola está llena
+ * se rechaza al momento con BusyException (el controlador responde 503).
+ *
+ * Es contrapresión, no trabajo asíncrono: el hilo de la petición espera el resultado,
+ * como mucho timeout-ms, y nunca hay más de hash-threads + queue-capacity peticiones
+ * esperando. Si se agota la espera, la tarea que seguía en cola se quita y no llega a
+ * calcularse. La que ya estaba calculando termina (BCrypt no atiende interrupciones)
+ * y su resultado se descarta; de esas solo puede haber hash-threads a la vez.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    @Autowired
+    public PasswordHashingService(@Lazy PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.bcrypt.strength:10}") int strength,
+                                  @Value("${security.password.hash-threads:2}") int threads,
+                                  @Value("${security.password.queue-capacity:32}") int queueCapacity,
+                                  @Value("${security.password.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // Métricas expuestas en /actuator/metrics
+        this.encodeTimer = Timer.builder("pokedex.password.hash")
+                .tag("operation", "encode")
+                .description("Tiempo de cálculo de hashes BCrypt")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("pokedex.password.hash")
+                .tag("operation", "matches")
+                .description("Tiempo de cálculo de hashes BCrypt")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("pokedex.password.rejected")
+                .description("Peticiones de hashing rechazadas por saturación")
+                .register(meterRegistry);
+        Gauge.builder("pokedex.password.queue", this, PasswordHashingService::enCola)
+                .description("Tareas de hashing en espera")
+                .register(meterRegistry);
+        Gauge.builder("pokedex.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos calculando hashes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calcular el hash de una contraseña
+     */
+    public String encode(String rawPassword) {
+        return ejecutar(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Comprobar una contraseña contra su hash
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return ejecutar(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Indica si el hash se generó con un coste distinto al configurado
+     * (formato BCrypt: $2a$10$...)
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int fin = encodedPassword.indexOf('$', 1);
+        if (fin < 0 || fin + 3 > encodedPassword.length()) {
+            return false;
+        }
+        try {
+            int coste = Integer.parseInt(encodedPassword.substring(fin + 1, fin + 3));
+            return coste != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T ejecutar(Callable<T> tarea) {
+        Future<T> future;
+        try {
+            future = executor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new BusyException();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            descartar(future);
+            rejectedCounter.increment();
+            throw new BusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            descartar(future);
+            throw new BusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Error al procesar la contraseña", e.getCause());
+        }
+    }
+
+    /**
+     * El llamante ya no espera la tarea: si sigue en cola se cancela y deja su hueco libre
+     */
+    private void descartar(Future<?> future) {
+        future.cancel(false);
+        executor.remove((Runnable) future);
+    }
+
+    /**
+     * Tareas en cola (para métricas y pruebas)
+     */
+    int enCola() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * El pool de hashing está saturado: el cliente debe reintentar más tarde
+     */
+    public static class BusyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public BusyException() {
+            super("Servidor ocupado, inténtalo de nuevo en unos segundos");
+        }
+    }
+}
@@ -23,19 +23,22 @@ public class PokemonService {
     private final PokemonTipoRepository pokemonTipoRepository;
     private final EstadisticasRepository estadisticasRepository;
     private final EvolucionRepository evolucionRepository;
-    private final TipoRepository tipoRepository;
+    private final TipoRegistry tipoRegistry;
+    private final CatalogoService catalogoService;
 
     @Autowired
     public PokemonService(PokemonRepository pokemonRepository,
                           PokemonTipoRepository pokemonTipoRepository,
                           EstadisticasRepository estadisticasRepository,
                           EvolucionRepository evolucionRepository,
-                          TipoRepository tipoRepository) {
+                          TipoRegistry tipoRegistry,
+                          CatalogoService catalogoService) {
         this.pokemonRepository = pokemonRepository;
         this.pokemonTipoRepository = pokemonTipoRepository;
         this.estadisticasRepository = estadisticasRepository;
         this.evolucionRepository = evolucionRepository;
-        this.tipoRepository = tipoRepository;
+        this.tipoRegistry = tipoRegistry;
+        this.catalogoService = catalogoService;
     }
 
     // ==================== READ ====================
@@ -84,7 +87,12 @@ public class PokemonService {
     }
 
     public List<PokemonDTO> obtenerPorTipo(String nombreTipo) {
-        List<Pokemon> pokemonList = pokemonRepository.findByTipo(nombreTipo);
+        // Nombre canónico del registro: "electrico" o "electric" encuentran "Eléctrico"
+        TipoRegistry.TipoInfo tipo = tipoRegistry.porNombre(nombreTipo);
+        if (tipo == null) {
+            return new ArrayList<>();
+        }
+        List<Pokemon> pokemonList = pokemonRepository.findByTipo(tipo.getNombre());
         List<PokemonDTO> dtoList = new ArrayList<>();
         for (Pokemon pokemon : pokemonList) {
             dtoList.add(convertirADTO(pokemon));
@@ -121,11 +129,10 @@ public class PokemonService {
             throw new RuntimeException("La generación debe estar entre 1 y 9");
         }
 
-        // Validación 4: Los tipos deben existir
+        // Validación 4: Los tipos deben existir (registro en memoria)
+        List<TipoRegistry.TipoInfo> tipos = new ArrayList<>();
         for (String nombreTipo : dto.getTipos()) {
-            if (!tipoRepository.findByNombre(nombreTipo).isPresent()) {
-                throw new RuntimeException("El tipo '" + nombreTipo + "' no existe");
-            }
+            tipos.add(tipoRegistry.resolver(nombreTipo));
         }
 
         // Crear Pokemon
@@ -141,9 +148,7 @@ public class PokemonService {
 
         // Crear relaciones Pokemon-Tipo
         byte orden = 1;
-        for (String nombreTipo : dto.getTipos()) {
-            Tipo tipo = tipoRepository.findByNombre(nombreTipo).get();
-
+        for (TipoRegistry.TipoInfo tipo : tipos) {
             PokemonTipo pokemonTipo = new PokemonTipo();
             pokemonTipo.setPokemonId(savedPokemon.getId());
             pokemonTipo.setTipoId(tipo.getId());
@@ -169,6 +174,7 @@ public class PokemonService {
             estadisticasRepository.save(stats);
         }
 
+        catalogoService.invalidar();
         return convertirADTO(savedPokemon);
     }
 
@@ -211,15 +217,18 @@ public class PokemonService {
                 throw new RuntimeException("El Pokémon no puede tener más de 2 tipos");
             }
 
+            // Resolver antes de borrar nada
+            List<TipoRegistry.TipoInfo> tipos = new ArrayList<>();
+            for (String nombreTipo : dto.getTipos()) {
+                tipos.add(tipoRegistry.resolver(nombreTipo));
+            }
+
             // Eliminar tipos anteriores
             pokemonTipoRepository.deleteByPokemonId(id);
 
             // Crear nuevos tipos
             byte orden = 1;
-            for (String nombreTipo : dto.getTipos()) {
-                Tipo tipo = tipoRepository.findByNombre(nombreTipo)
-                        .orElseThrow(() -> new RuntimeException("El tipo '" + nombreTipo + "' no existe"));
-
+            for (TipoRegistry.TipoInfo tipo : tipos) {
                 PokemonTipo pokemonTipo = new PokemonTipo();
                 pokemonTipo.setPokemonId(id);
                 pokemonTipo.setTipoId(tipo.getId());
@@ -254,6 +263,7 @@ public class PokemonService {
             estadisticasRepository.save(stats);
         }
 
+        catalogoService.invalidar();
         return convertirADTO(updatedPokemon);
     }
 
@@ -291,6 +301,7 @@ public class PokemonService {
 
         // Eliminar Pokémon
         pokemonRepository.deleteById(id);
+        catalogoService.invalidar();
     }
 
     // ==================== FILE MANAGEMENT ====================
@@ -300,11 +311,20 @@ public class PokemonService {
      * NUEVO MÉTODO para soporte de imágenes
      */
     public void actualizarImagenUrl(Integer id, String imagenUrl) {
-        Pokemon pokemon = pokemonRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Pokemon no encontrado con id: " + id));
+        // Un único UPDATE, sin cargar la entidad
+        if (pokemonRepository.actualizarImagenUrl(id, imagenUrl) == 0) {
+            throw new RuntimeException("Pokemon no encontrado con id: " + id);
+        }
+    }
 
-        pokemon.setImagenUrl(imagenUrl);
-        pokemonRepository.save(pokemon);
+    /**
+     * Comprobar que existe un Pokémon (sin construir el DTO)
+     */
+    @Transactional(readOnly = true)
+    public void comprobarExiste(Integer id) {
+        if (!pokemonRepository.existsById(id)) {
+            throw new RuntimeException("Pokemon no encontrado con id: " + id);
+        }
     }
 
     // ==================== LÓGICA DE NEGOCIO ====================
@@ -333,6 +353,7 @@ public class PokemonService {
         evolucion.setMetodo(metodo);
 
         evolucionRepository.save(evolucion);
+        catalogoService.invalidar();
     }
 
     /**
@@ -375,15 +396,16 @@ public class PokemonService {
         dto.setPeso(pokemon.getPeso());
         dto.setDescripcion(pokemon.getDescripcion());
         dto.setImagenUrl(pokemon.getImagenUrl());  // AÑADIDO
+        dto.setImagenUrlOrigen(pokemon.getImagenUrlOrigen());
         dto.setGeneracion(pokemon.getGeneracion());
 
         // Obtener tipos
         List<PokemonTipo> pokemonTipos = pokemonTipoRepository.findByPokemonIdOrderByOrdenAsc(pokemon.getId());
         List<String> tipos = new ArrayList<>();
         for (PokemonTipo pt : pokemonTipos) {
-            Optional<Tipo> tipoOpt = tipoRepository.findById(pt.getTipoId());
-            if (tipoOpt.isPresent()) {
-                tipos.add(tipoOpt.get().getNombre());
+            String nombreTipo = tipoRegistry.nombre(pt.getTipoId());
+            if (nombreTipo != null) {
+                tipos.add(nombreTipo);
             }
         }
         dto.setTipos(tipos);
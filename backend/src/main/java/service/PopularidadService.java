@@ -0,0 +1,315 @@
+package service;
+
+import dto.PokemonResumenDTO;
+import dto.PopularidadDTO;
+import entity.PokemonPopularidad;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import repository.FavoritoRepository;
+import repository.PokemonPopularidadRepository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Popularidad de los Pokémon: cuántos usuarios tienen cada uno en favoritos
+ *
+ * FavoritoService solo suma o resta en un LongAdder por Pokémon (sin bloqueos ni
+ * escrituras en la BD); los totales cambiados se vuelcan en diferido a la tabla
+ * pokemon_popularidad cada pocos segundos (y al parar) con un lote de UPDATE y un
+ * INSERT por cada fila que aún no existe (SQL estándar: PostgreSQL, MySQL y H2).
+ * Al arrancar, y después cada popularidad.reconciliar-ms, los totales se recalculan
+ * con un GROUP BY sobre favoritos, que es la fuente de verdad.
+ * Para la tendencia se guardan además las altas netas por tramos de tiempo
+ * (TRAMOS tramos que se rotan: la última hora con la configuración por defecto).
+ */
+@Service
+public class PopularidadService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularidadService.class);
+
+    public static final int LIMITE_DEFECTO = 20;
+    public static final int MAX_LIMITE = 100;
+
+    private static final int TRAMOS = 6;
+
+    private static final String ACTUALIZAR =
+            "UPDATE pokemon_popularidad SET favoritos = ?, actualizado = ? WHERE pokemon_id = ?";
+
+    private static final String INSERTAR =
+            "INSERT INTO pokemon_popularidad (pokemon_id, favoritos, actualizado) VALUES (?, ?, ?)";
+
+    private final PokemonPopularidadRepository popularidadRepository;
+    private final FavoritoRepository favoritoRepository;
+    private final CatalogoService catalogoService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Total de favoritos por Pokémon
+    private final Map<Integer, LongAdder> totales = new ConcurrentHashMap<>();
+
+    // Pokémon cuyo total ha cambiado desde el último volcado
+    private final Set<Integer> modificados = ConcurrentHashMap.newKeySet();
+
+    // Altas netas por tramo de tiempo
+    private final ContadorPorTramos recientes = new ContadorPorTramos(TRAMOS);
+
+    private final Object volcado = new Object();
+
+    @Autowired
+    public PopularidadService(PokemonPopularidadRepository popularidadRepository,
+                              FavoritoRepository favoritoRepository,
+                              CatalogoService catalogoService,
+                              JdbcTemplate jdbcTemplate) {
+        this.popularidadRepository = popularidadRepository;
+        this.favoritoRepository = favoritoRepository;
+        this.catalogoService = catalogoService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Calcular los totales al arrancar
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        reconciliar();
+    }
+
+    /**
+     * Recalcular los totales con un GROUP BY sobre favoritos y marcar para volcar los
+     * que no coinciden con pokemon_popularidad (favoritos borrados o añadidos fuera de
+     * FavoritoService, volcados perdidos...).
+     * Cada total se corrige en la diferencia con su valor tomado justo después de la
+     * consulta (no antes: un favorito confirmado durante la consulta se contaría dos
+     * veces), así que los cambios que llegan mientras tanto se conservan.
+     */
+    @Scheduled(fixedDelayString = "${popularidad.reconciliar-ms:3600000}",
+            initialDelayString = "${popularidad.reconciliar-ms:3600000}")
+    public void reconciliar() {
+        synchronized (volcado) {
+            List<Object[]> filas = favoritoRepository.contarPorPokemon();
+            Map<Integer, Long> antes = new HashMap<>();
+            totales.forEach((pokemonId, total) -> antes.put(pokemonId, total.sum()));
+
+            Map<Integer, Long> reales = new HashMap<>();
+            for (Object[] fila : filas) {
+                reales.put((Integer) fila[0], ((Number) fila[1]).longValue());
+            }
+            Map<Integer, Long> guardados = new HashMap<>();
+            for (PokemonPopularidad p : popularidadRepository.findAll()) {
+                guardados.put(p.getPokemonId(), p.getFavoritos());
+            }
+
+            Set<Integer> ids = new HashSet<>(reales.keySet());
+            ids.addAll(guardados.keySet());
+            ids.addAll(antes.keySet());
+            int corregidos = 0;
+            for (Integer pokemonId : ids) {
+                long real = reales.getOrDefault(pokemonId, 0L);
+                long diferencia = real - antes.getOrDefault(pokemonId, 0L);
+                if (diferencia != 0) {
+                    contador(pokemonId).add(diferencia);
+                    corregidos++;
+                }
+                if (real != guardados.getOrDefault(pokemonId, 0L)) {
+                    modificados.add(pokemonId);
+                }
+            }
+            log.info("Popularidad reconciliada con favoritos: {} Pokémon, {} totales corregidos",
+                    reales.size(), corregidos);
+        }
+    }
+
+    /**
+     * Un usuario ha añadido un Pokémon a favoritos
+     */
+    public void sumar(Integer pokemonId) {
+        registrar(pokemonId, 1);
+    }
+
+    /**
+     * Un usuario ha quitado un Pokémon de favoritos
+     */
+    public void restar(Integer pokemonId) {
+        registrar(pokemonId, -1);
+    }
+
+    /**
+     * Aplicar el cambio en memoria; dentro de una transacción, solo cuando se confirme
+     */
+    private void registrar(Integer pokemonId, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(pokemonId, delta);
+                }
+            });
+        } else {
+            aplicar(pokemonId, delta);
+        }
+    }
+
+    private void aplicar(Integer pokemonId, int delta) {
+        contador(pokemonId).add(delta);
+        recientes.sumar(pokemonId, delta);
+        // Después de sumar: si el volcado ya leyó el total, el Pokémon vuelve a quedar pendiente
+        modificados.add(pokemonId);
+    }
+
+    /**
+     * Pokémon con más favoritos
+     */
+    public List<PopularidadDTO> top(Integer limite) {
+        int n = validarLimite(limite);
+        List<PopularidadDTO> todos = new ArrayList<>();
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        Map<Integer, Long> altas = recientes.totales();
+        for (Map.Entry<Integer, LongAdder> entrada : totales.entrySet()) {
+            long favoritos = entrada.getValue().sum();
+            if (favoritos > 0) {
+                agregar(todos, catalogo, entrada.getKey(), favoritos,
+                        altas.getOrDefault(entrada.getKey(), 0L));
+            }
+        }
+        todos.sort(Comparator.comparing(PopularidadDTO::getFavoritos).reversed()
+                .thenComparing(PopularidadDTO::getNumero));
+        return todos.size() > n ? new ArrayList<>(todos.subList(0, n)) : todos;
+    }
+
+    /**
+     * Pokémon con más altas netas en favoritos en la ventana reciente
+     */
+    public List<PopularidadDTO> tendencia(Integer limite) {
+        int n = validarLimite(limite);
+        List<PopularidadDTO> todos = new ArrayList<>();
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        for (Map.Entry<Integer, Long> entrada : recientes.totales().entrySet()) {
+            if (entrada.getValue() > 0) {
+                LongAdder total = totales.get(entrada.getKey());
+                agregar(todos, catalogo, entrada.getKey(), total != null ? total.sum() : 0L, entrada.getValue());
+            }
+        }
+        todos.sort(Comparator.comparing(PopularidadDTO::getRecientes).reversed()
+                .thenComparing(Comparator.comparing(PopularidadDTO::getFavoritos).reversed())
+                .thenComparing(PopularidadDTO::getNumero));
+        return todos.size() > n ? new ArrayList<>(todos.subList(0, n)) : todos;
+    }
+
+    /**
+     * Número de usuarios que tienen el Pokémon en favoritos (en memoria)
+     */
+    public long favoritos(Integer pokemonId) {
+        LongAdder total = totales.get(pokemonId);
+        return total != null ? total.sum() : 0L;
+    }
+
+    /**
+     * Volcar los totales cambiados a pokemon_popularidad
+     */
+    @Scheduled(fixedDelayString = "${popularidad.flush-ms:10000}")
+    public void volcar() {
+        synchronized (volcado) {
+            List<Integer> ids = new ArrayList<>();
+            List<Object[]> lote = new ArrayList<>();
+            Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+            for (Integer pokemonId : modificados) {
+                // Primero se quita y luego se lee: un cambio posterior lo vuelve a marcar
+                if (modificados.remove(pokemonId)) {
+                    ids.add(pokemonId);
+                    lote.add(new Object[]{Math.max(0L, favoritos(pokemonId)), ahora, pokemonId});
+                }
+            }
+            if (lote.isEmpty()) {
+                return;
+            }
+
+            try {
+                escribir(lote);
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo volcar la popularidad ({} Pokémon): {}", lote.size(), ex.getMessage());
+                modificados.addAll(ids);
+            }
+        }
+    }
+
+    /**
+     * Un lote de UPDATE y después un INSERT por cada Pokémon que aún no tenía fila
+     * (cada fila del lote: favoritos, actualizado, pokemon_id)
+     */
+    private void escribir(List<Object[]> lote) {
+        int[] filas = jdbcTemplate.batchUpdate(ACTUALIZAR, lote);
+        for (int k = 0; k < lote.size(); k++) {
+            // Algunos controladores no informan de las filas de cada sentencia del lote
+            if (filas[k] != 0 && filas[k] != Statement.SUCCESS_NO_INFO) {
+                continue;
+            }
+            Object[] fila = lote.get(k);
+            try {
+                jdbcTemplate.update(INSERTAR, fila[2], fila[0], fila[1]);
+            } catch (DuplicateKeyException ex) {
+                // Ya existía: el UPDATE la ha actualizado
+            }
+        }
+    }
+
+    /**
+     * Empezar un tramo nuevo de la ventana de tendencia (descarta el más antiguo)
+     */
+    @Scheduled(fixedRateString = "${popularidad.tramo-ms:600000}",
+            initialDelayString = "${popularidad.tramo-ms:600000}")
+    public void rotar() {
+        recientes.rotar();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        volcar();
+    }
+
+    private LongAdder contador(Integer pokemonId) {
+        return totales.computeIfAbsent(pokemonId, id -> new LongAdder());
+    }
+
+    /**
+     * Añadir al resultado si el Pokémon sigue en el catálogo
+     */
+    private void agregar(List<PopularidadDTO> lista, CatalogoSnapshot catalogo,
+                         Integer pokemonId, long favoritos, long recientes) {
+        int i = catalogo.indice(pokemonId);
+        if (i < 0) {
+            return;
+        }
+        PokemonResumenDTO resumen = catalogoService.resumen(catalogo, i);
+        lista.add(new PopularidadDTO(resumen.getId(), resumen.getNumero(), resumen.getNombre(),
+                resumen.getTipos(), favoritos, recientes));
+    }
+
+    private int validarLimite(Integer limite) {
+        int n = limite != null ? limite : LIMITE_DEFECTO;
+        if (n < 1 || n > MAX_LIMITE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMITE);
+        }
+        return n;
+    }
+}
@@ -0,0 +1,54 @@
+package service;
+
+/**
+ * Niveles de dificultad del quiz (mismos nombres que usa el frontend)
+ */
+public enum QuizDificultad {
+
+    // Tipos, evoluciones y velocidad
+    EASY("easy", 100),
+
+    // Además: Pokémon de un tipo y resto de estadísticas
+    NORMAL("normal", 150),
+
+    // Además: número de Pokédex y generación
+    HARD("hard", 200),
+
+    // Además: multiplicadores de efectividad
+    EXPERT("expert", 300);
+
+    private final String nombre;
+    private final int puntosPorAcierto;
+
+    QuizDificultad(String nombre, int puntosPorAcierto) {
+        this.nombre = nombre;
+        this.puntosPorAcierto = puntosPorAcierto;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Puntos de cada respuesta correcta en el ranking
+     */
+    public int getPuntosPorAcierto() {
+        return puntosPorAcierto;
+    }
+
+    /**
+     * Obtener la dificultad a partir del parámetro ?dificultad= (null o vacío = normal)
+     */
+    public static QuizDificultad desdeParametro(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return NORMAL;
+        }
+        for (QuizDificultad dificultad : values()) {
+            if (dificultad.nombre.equalsIgnoreCase(valor)) {
+                return dificultad;
+            }
+        }
+        throw new IllegalArgumentException("Dificultad no válida: " + valor
+                + " (valores: easy, normal, hard, expert)");
+    }
+}
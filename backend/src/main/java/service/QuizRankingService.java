@@ -0,0 +1,383 @@
+package service;
+
+import dto.RankingEntradaDTO;
+import dto.RankingPosicionDTO;
+import entity.QuizRanking;
+import entity.QuizRankingId;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import repository.QuizRankingRepository;
+import repository.UserRepository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ranking del quiz (global y por generación) en memoria
+ *
+ * Cada ranking guarda la mejor puntuación de cada usuario en un ConcurrentSkipListSet
+ * ordenado (el top se recorre sin bloqueos) y un árbol de Fenwick indexado por puntos,
+ * con el que la posición de un usuario es 1 + usuarios con más puntos en O(log P).
+ * Los cambios se vuelcan en diferido a la tabla quiz_ranking cada pocos segundos
+ * (y al parar) con UPDATE y, para las filas que aún no existen, INSERT (SQL estándar,
+ * vale para PostgreSQL, MySQL y H2); al arrancar se carga la tabla una vez.
+ */
+@Service
+public class QuizRankingService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizRankingService.class);
+
+    public static final int GLOBAL = 0;
+    public static final int LIMITE_DEFECTO = 100;
+    public static final int MAX_LIMITE = 100;
+
+    // Puntuación máxima posible: todas las preguntas acertadas en la dificultad que más puntúa
+    private static final int MAX_PUNTOS = QuizService.MAX_PREGUNTAS * QuizDificultad.EXPERT.getPuntosPorAcierto();
+
+    // Solo si mejora la puntuación guardada (0 filas: no existe o ya era mejor)
+    private static final String ACTUALIZAR =
+            "UPDATE quiz_ranking SET puntos = ?, aciertos = ?, total = ?, dificultad = ?, fecha = ? " +
+            "WHERE usuario_id = ? AND generacion = ? AND puntos < ?";
+
+    private static final String INSERTAR =
+            "INSERT INTO quiz_ranking (usuario_id, generacion, puntos, aciertos, total, dificultad, fecha) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // Más puntos primero; a igualdad, quien lo consiguió antes
+    private static final Comparator<Entrada> ORDEN = Comparator
+            .comparingInt((Entrada e) -> -e.puntos)
+            .thenComparing(e -> e.fecha)
+            .thenComparingInt(e -> e.usuarioId);
+
+    private final QuizRankingRepository quizRankingRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    // Transacción propia para escribir desde afterCommit (la original ya está confirmada)
+    private final TransactionTemplate nuevaTransaccion;
+
+    private final Map<Integer, Tablero> tableros = new ConcurrentHashMap<>();
+
+    // Mejoras pendientes de volcar a la BD
+    private final Map<QuizRankingId, Entrada> pendientes = new ConcurrentHashMap<>();
+    private final Object volcado = new Object();
+
+    @Autowired
+    public QuizRankingService(QuizRankingRepository quizRankingRepository,
+                              UserRepository userRepository,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.quizRankingRepository = quizRankingRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.nuevaTransaccion = new TransactionTemplate(transactionManager);
+        this.nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Cargar el ranking guardado al arrancar
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        List<QuizRanking> guardados = quizRankingRepository.findAll();
+        for (QuizRanking r : guardados) {
+            Entrada entrada = new Entrada(r.getUsuarioId(), Math.min(r.getPuntos(), MAX_PUNTOS),
+                    r.getAciertos(), r.getTotal(), r.getDificultad(), r.getFecha());
+            tablero(r.getGeneracion()).actualizar(entrada);
+        }
+        log.info("Ranking del quiz cargado: {} puntuaciones", guardados.size());
+    }
+
+    /**
+     * Registrar el resultado de un quiz en el ranking global y en el de su generación
+     * (solo cuenta si mejora la puntuación anterior del usuario)
+     */
+    public void registrar(int usuarioId, int generacion, QuizDificultad dificultad,
+                          int aciertos, int total, int puntos) {
+        Entrada entrada = new Entrada(usuarioId, Math.min(puntos, MAX_PUNTOS), aciertos, total,
+                dificultad.getNombre(), LocalDateTime.now());
+        registrarEn(GLOBAL, entrada);
+        if (generacion != GLOBAL) {
+            registrarEn(generacion, entrada);
+        }
+    }
+
+    private void registrarEn(int generacion, Entrada entrada) {
+        if (tablero(generacion).actualizar(entrada)) {
+            pendientes.merge(new QuizRankingId(entrada.usuarioId, generacion), entrada,
+                    (anterior, nueva) -> nueva.puntos > anterior.puntos ? nueva : anterior);
+        }
+    }
+
+    /**
+     * Posición de un usuario en un ranking (null si no tiene puntuación)
+     */
+    public Integer posicion(int usuarioId, int generacion) {
+        Tablero tablero = tableros.get(generacion);
+        return tablero != null ? tablero.posicion(usuarioId) : null;
+    }
+
+    /**
+     * Posición, puntos y participantes de un ranking para un usuario
+     */
+    public RankingPosicionDTO miPosicion(int usuarioId, Integer generacion) {
+        int gen = generacion != null ? generacion : GLOBAL;
+        Tablero tablero = tableros.get(gen);
+        Entrada entrada = tablero != null ? tablero.porUsuario.get(usuarioId) : null;
+        return new RankingPosicionDTO(gen != GLOBAL ? gen : null,
+                entrada != null ? tablero.posicion(usuarioId) : null,
+                entrada != null ? entrada.puntos : null,
+                tablero != null ? tablero.participantes() : 0);
+    }
+
+    /**
+     * Mejores puntuaciones de un ranking (los empatados comparten posición)
+     */
+    public List<RankingEntradaDTO> top(Integer generacion, Integer limite) {
+        int n = limite != null ? limite : LIMITE_DEFECTO;
+        if (n < 1 || n > MAX_LIMITE) {
+            throw new RuntimeException("El límite debe estar entre 1 y " + MAX_LIMITE);
+        }
+        Tablero tablero = tableros.get(generacion != null ? generacion : GLOBAL);
+        if (tablero == null) {
+            return List.of();
+        }
+
+        List<Entrada> mejores = new ArrayList<>(n);
+        for (Entrada entrada : tablero.orden) {
+            if (mejores.size() == n) {
+                break;
+            }
+            mejores.add(entrada);
+        }
+        if (mejores.isEmpty()) {
+            return List.of();
+        }
+
+        // Nombres actuales (el usuario puede haberlo cambiado): una consulta por clave primaria
+        Map<Integer, String> nombres = new HashMap<>();
+        for (Object[] fila : userRepository.findUsernamesByIds(mejores.stream().map(e -> e.usuarioId).toList())) {
+            nombres.put((Integer) fila[0], (String) fila[1]);
+        }
+
+        List<RankingEntradaDTO> resultado = new ArrayList<>(mejores.size());
+        int posicion = 0;
+        int puntosAnteriores = -1;
+        for (int k = 0; k < mejores.size(); k++) {
+            Entrada e = mejores.get(k);
+            if (e.puntos != puntosAnteriores) {
+                posicion = k + 1;
+                puntosAnteriores = e.puntos;
+            }
+            resultado.add(new RankingEntradaDTO(posicion, nombres.get(e.usuarioId), e.puntos,
+                    e.aciertos, e.total, e.dificultad, e.fecha));
+        }
+        return resultado;
+    }
+
+    /**
+     * Quitar a un usuario de todos los rankings (al borrar su cuenta).
+     * Las filas se borran en la transacción actual; la memoria, solo cuando se confirme.
+     */
+    public void eliminarUsuario(Integer usuarioId) {
+        quizRankingRepository.eliminarPorUsuario(usuarioId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    quitar(usuarioId);
+                }
+            });
+        } else {
+            quitar(usuarioId);
+        }
+    }
+
+    private void quitar(Integer usuarioId) {
+        synchronized (volcado) {
+            for (Tablero tablero : tableros.values()) {
+                tablero.eliminar(usuarioId);
+            }
+            pendientes.keySet().removeIf(clave -> clave.getUsuarioId().equals(usuarioId));
+            // Un volcado anterior a la confirmación pudo volver a escribir sus filas
+            nuevaTransaccion.executeWithoutResult(estado -> quizRankingRepository.eliminarPorUsuario(usuarioId));
+        }
+    }
+
+    /**
+     * Volcar las mejoras pendientes a quiz_ranking en un único lote
+     */
+    @Scheduled(fixedDelayString = "${quiz.ranking.flush-ms:10000}")
+    public void volcar() {
+        synchronized (volcado) {
+            List<QuizRankingId> claves = new ArrayList<>();
+            List<Entrada> entradas = new ArrayList<>();
+            for (Map.Entry<QuizRankingId, Entrada> pendiente : pendientes.entrySet()) {
+                // Solo si no ha cambiado entre medias; si cambió se vuelca en la siguiente pasada
+                if (pendientes.remove(pendiente.getKey(), pendiente.getValue())) {
+                    claves.add(pendiente.getKey());
+                    entradas.add(pendiente.getValue());
+                }
+            }
+            if (claves.isEmpty()) {
+                return;
+            }
+
+            try {
+                escribir(claves, entradas);
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo volcar el ranking del quiz ({} cambios): {}", claves.size(), ex.getMessage());
+                for (int k = 0; k < claves.size(); k++) {
+                    pendientes.merge(claves.get(k), entradas.get(k),
+                            (actual, fallida) -> actual.puntos >= fallida.puntos ? actual : fallida);
+                }
+            }
+        }
+    }
+
+    /**
+     * Un lote de UPDATE y después un INSERT por cada fila que no existía
+     */
+    private void escribir(List<QuizRankingId> claves, List<Entrada> entradas) {
+        List<Object[]> actualizaciones = new ArrayList<>(claves.size());
+        for (int k = 0; k < claves.size(); k++) {
+            Entrada e = entradas.get(k);
+            actualizaciones.add(new Object[]{e.puntos, e.aciertos, e.total, e.dificultad, Timestamp.valueOf(e.fecha),
+                    claves.get(k).getUsuarioId(), claves.get(k).getGeneracion(), e.puntos});
+        }
+        int[] filas = jdbcTemplate.batchUpdate(ACTUALIZAR, actualizaciones);
+
+        for (int k = 0; k < claves.size(); k++) {
+            // Algunos controladores no informan de las filas de cada sentencia del lote
+            if (filas[k] != 0 && filas[k] != Statement.SUCCESS_NO_INFO) {
+                continue;
+            }
+            Entrada e = entradas.get(k);
+            try {
+                jdbcTemplate.update(INSERTAR, claves.get(k).getUsuarioId(), claves.get(k).getGeneracion(),
+                        e.puntos, e.aciertos, e.total, e.dificultad, Timestamp.valueOf(e.fecha));
+            } catch (DuplicateKeyException ex) {
+                // Ya existe con una puntuación igual o mejor
+            }
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        volcar();
+    }
+
+    private Tablero tablero(int generacion) {
+        return tableros.computeIfAbsent(generacion, g -> new Tablero());
+    }
+
+    /**
+     * Mejor puntuación de un usuario en un ranking
+     */
+    private static final class Entrada {
+        final int usuarioId;
+        final int puntos;
+        final int aciertos;
+        final int total;
+        final String dificultad;
+        final LocalDateTime fecha;
+
+        Entrada(int usuarioId, int puntos, int aciertos, int total, String dificultad, LocalDateTime fecha) {
+            this.usuarioId = usuarioId;
+            this.puntos = puntos;
+            this.aciertos = aciertos;
+            this.total = total;
+            this.dificultad = dificultad;
+            this.fecha = fecha;
+        }
+    }
+
+    /**
+     * Un ranking: orden completo y recuento por puntos (árbol de Fenwick)
+     * Las escrituras se serializan; el recorrido de orden no bloquea.
+     */
+    private static final class Tablero {
+        final Map<Integer, Entrada> porUsuario = new ConcurrentHashMap<>();
+        final ConcurrentSkipListSet<Entrada> orden = new ConcurrentSkipListSet<>(ORDEN);
+
+        // fenwick[p + 1] acumula el número de usuarios con p puntos
+        private final int[] fenwick = new int[MAX_PUNTOS + 2];
+        private int participantes;
+
+        synchronized boolean actualizar(Entrada nueva) {
+            Entrada anterior = porUsuario.get(nueva.usuarioId);
+            if (anterior != null && anterior.puntos >= nueva.puntos) {
+                return false;
+            }
+            if (anterior != null) {
+                orden.remove(anterior);
+                sumar(anterior.puntos, -1);
+            } else {
+                participantes++;
+            }
+            porUsuario.put(nueva.usuarioId, nueva);
+            orden.add(nueva);
+            sumar(nueva.puntos, 1);
+            return true;
+        }
+
+        synchronized void eliminar(int usuarioId) {
+            Entrada anterior = porUsuario.remove(usuarioId);
+            if (anterior != null) {
+                orden.remove(anterior);
+                sumar(anterior.puntos, -1);
+                participantes--;
+            }
+        }
+
+        /**
+         * 1 + usuarios con más puntos (null si el usuario no está)
+         */
+        synchronized Integer posicion(int usuarioId) {
+            Entrada entrada = porUsuario.get(usuarioId);
+            return entrada != null ? 1 + participantes - hasta(entrada.puntos) : null;
+        }
+
+        synchronized int participantes() {
+            return participantes;
+        }
+
+        private void sumar(int puntos, int delta) {
+            for (int i = puntos + 1; i < fenwick.length; i += i & -i) {
+                fenwick[i] += delta;
+            }
+        }
+
+        /**
+         * Usuarios con puntos <= p
+         */
+        private int hasta(int puntos) {
+            int suma = 0;
+            for (int i = puntos + 1; i > 0; i -= i & -i) {
+                suma += fenwick[i];
+            }
+            return suma;
+        }
+    }
+}
@@ -0,0 +1,726 @@
+package service;
+
+import dto.QuizDTO;
+import dto.QuizPreguntaDTO;
+import dto.QuizResultadoDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Generador de quizzes a partir del catálogo
+ *
+ * Las preguntas se generan al vuelo sobre la instantánea del catálogo: cada Pokémon,
+ * tipo o evolución se elige con un índice aleatorio sobre arrays de posiciones
+ * (por generación, por tipo, orígenes de evolución), sin consultas a la BD.
+ * El quiz queda determinado por su código (semilla, dificultad, generación y número
+ * de preguntas): la puntuación y la revisión vuelven a generar las mismas preguntas
+ * con las respuestas. Si el catálogo cambia entre medias, reflejan el catálogo actual.
+ *
+ * El código lo emite el servidor y va firmado (HMAC-SHA256 sobre los parámetros, la
+ * fecha de emisión y un nonce), así que el cliente no puede elegir sus parámetros.
+ * Solo entran en el ranking los quizzes pedidos con sesión iniciada y sin semilla:
+ * su código va ligado al usuario, no lleva la semilla (se deriva en el servidor como
+ * HMAC del nonce, así que ninguna semilla elegida por el cliente los reproduce), solo
+ * lo puede enviar ese usuario, una única vez antes de que caduque
+ * (quiz.codigo.validez-ms), y después solo él puede pedir la revisión.
+ * Los demás códigos (anónimos o con semilla) se pueden repetir y no dejan rastro.
+ */
+@Service
+public class QuizService {
+
+    public static final int PREGUNTAS_DEFECTO = 10;
+    public static final int MAX_PREGUNTAS = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(QuizService.class);
+
+    private static final int OPCIONES = 4;
+
+    // Intentos de muestreo antes de dar una pregunta por imposible
+    private static final int MAX_INTENTOS = 64;
+
+    private static final String HMAC = "HmacSHA256";
+    private static final int LONGITUD_FIRMA = 16;
+
+    private static final String[] NOMBRES_ESTADISTICA = {
+            "PS", "Ataque", "Defensa", "Velocidad", "Ataque Especial", "Defensa Especial"
+    };
+    private static final float[] MULTIPLICADORES = {0f, 0.25f, 0.5f, 1f, 2f, 4f};
+
+    private enum Categoria {
+        TIPO("tipo", QuizDificultad.EASY),
+        EVOLUCION("evolucion", QuizDificultad.EASY),
+        VELOCIDAD("velocidad", QuizDificultad.EASY),
+        POKEMON_DE_TIPO("pokemon-de-tipo", QuizDificultad.NORMAL),
+        ESTADISTICA("estadistica", QuizDificultad.NORMAL),
+        NUMERO("numero", QuizDificultad.HARD),
+        GENERACION("generacion", QuizDificultad.HARD),
+        EFECTIVIDAD("efectividad", QuizDificultad.EXPERT);
+
+        final String nombre;
+        final QuizDificultad dificultad;
+
+        Categoria(String nombre, QuizDificultad dificultad) {
+            this.nombre = nombre;
+            this.dificultad = dificultad;
+        }
+    }
+
+    private final CatalogoService catalogoService;
+    private final EfectividadService efectividadService;
+    private final TipoRegistry tipoRegistry;
+    private final QuizRankingService quizRankingService;
+    private final SecretKeySpec clave;
+    private final long validezMs;
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    // Códigos ligados a un usuario ya puntuados (hasta que caducan)
+    private final Map<String, Long> enviados = new ConcurrentHashMap<>();
+
+    // Índices auxiliares de la última instantánea del catálogo
+    private volatile Indices indices;
+
+    @Autowired
+    public QuizService(CatalogoService catalogoService,
+                       EfectividadService efectividadService,
+                       TipoRegistry tipoRegistry,
+                       QuizRankingService quizRankingService,
+                       @Value("${quiz.codigo.clave:}") String clave,
+                       @Value("${quiz.codigo.validez-ms:7200000}") long validezMs) {
+        this.catalogoService = catalogoService;
+        this.efectividadService = efectividadService;
+        this.tipoRegistry = tipoRegistry;
+        this.quizRankingService = quizRankingService;
+        this.validezMs = validezMs;
+
+        byte[] bytes;
+        if (clave == null || clave.isBlank()) {
+            // Sin clave configurada: una aleatoria (los códigos no sobreviven a un reinicio)
+            bytes = new byte[32];
+            aleatorio.nextBytes(bytes);
+            log.info("quiz.codigo.clave no configurada: se usa una clave aleatoria");
+        } else {
+            bytes = clave.getBytes(StandardCharsets.UTF_8);
+        }
+        this.clave = new SecretKeySpec(bytes, HMAC);
+    }
+
+    /**
+     * Generar un quiz nuevo (sin respuestas). Con usuario y sin semilla, el código queda
+     * ligado a ese usuario y el resultado entra en el ranking.
+     */
+    public QuizDTO generar(String dificultad, Integer generacion, Integer preguntas, Long semilla,
+                           Integer usuarioId) {
+        int numero = preguntas != null ? preguntas : PREGUNTAS_DEFECTO;
+        if (numero < 1 || numero > MAX_PREGUNTAS) {
+            throw new RuntimeException("El número de preguntas debe estar entre 1 y " + MAX_PREGUNTAS);
+        }
+        int gen = generacion != null ? generacion : 0;
+        if (gen < 0 || gen > Byte.MAX_VALUE) {
+            throw new RuntimeException("Generación no válida: " + generacion);
+        }
+        QuizDificultad nivel = QuizDificultad.desdeParametro(dificultad);
+        long nonce = aleatorio.nextLong();
+        Parametros parametros = usuarioId != null && semilla == null
+                ? new Parametros(derivarSemilla(nonce), nivel, gen, numero, usuarioId,
+                        System.currentTimeMillis(), nonce)
+                : new Parametros(semilla != null ? semilla : ThreadLocalRandom.current().nextLong(),
+                        nivel, gen, numero, Parametros.SIN_USUARIO, System.currentTimeMillis(), nonce);
+        return construir(parametros, firmar(parametros), false);
+    }
+
+    /**
+     * Volver a generar un quiz ya puntuado, con las respuestas correctas
+     * (solo para el usuario que lo envió)
+     */
+    public QuizDTO revision(String codigo, Integer usuarioId) {
+        Parametros parametros = verificar(codigo);
+        if (!parametros.esDe(usuarioId) || !enviados.containsKey(codigo)) {
+            throw new RuntimeException("La revisión solo está disponible después de enviar el quiz");
+        }
+        return construir(parametros, codigo, true);
+    }
+
+    /**
+     * Puntuar las respuestas de un quiz volviendo a generarlo a partir de su código.
+     * Un código ligado a un usuario solo lo puede enviar él y una sola vez; el resultado
+     * entra en el ranking global y en el de la generación.
+     */
+    public QuizResultadoDTO puntuar(String codigo, List<Integer> respuestas, Integer usuarioId) {
+        Parametros parametros = verificar(codigo);
+        List<QuizPreguntaDTO> preguntas = construir(parametros, codigo, true).getPreguntas();
+        if (respuestas == null || respuestas.size() != preguntas.size()) {
+            throw new RuntimeException("Hay que enviar una respuesta por pregunta (" + preguntas.size() + ")");
+        }
+        boolean clasificable = parametros.usuarioId != Parametros.SIN_USUARIO;
+        if (clasificable) {
+            if (!parametros.esDe(usuarioId)) {
+                throw new RuntimeException("Este quiz es de otro usuario");
+            }
+            if (enviados.putIfAbsent(codigo, parametros.emitido + validezMs) != null) {
+                throw new RuntimeException("Este quiz ya se ha enviado");
+            }
+        }
+
+        int aciertos = 0;
+        List<Integer> correctas = new ArrayList<>(preguntas.size());
+        for (int k = 0; k < preguntas.size(); k++) {
+            Integer correcta = preguntas.get(k).getRespuestaCorrecta();
+            correctas.add(correcta);
+            if (Objects.equals(respuestas.get(k), correcta)) {
+                aciertos++;
+            }
+        }
+        int puntos = aciertos * parametros.dificultad.getPuntosPorAcierto();
+
+        QuizResultadoDTO resultado = new QuizResultadoDTO(codigo, aciertos, preguntas.size(), puntos,
+                correctas, null, null);
+        if (clasificable) {
+            quizRankingService.registrar(usuarioId, parametros.generacion, parametros.dificultad,
+                    aciertos, preguntas.size(), puntos);
+            resultado.setPosicionGlobal(quizRankingService.posicion(usuarioId, QuizRankingService.GLOBAL));
+            if (parametros.generacion != QuizRankingService.GLOBAL) {
+                resultado.setPosicionGeneracion(quizRankingService.posicion(usuarioId, parametros.generacion));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Olvidar los códigos enviados que ya han caducado (un código caducado se rechaza
+     * antes de mirar si se envió)
+     */
+    @Scheduled(fixedDelayString = "${quiz.codigo.purga-ms:600000}")
+    public void purgarEnviados() {
+        long ahora = System.currentTimeMillis();
+        enviados.values().removeIf(caduca -> caduca < ahora);
+    }
+
+    /**
+     * Código firmado: parámetros seguidos de los primeros LONGITUD_FIRMA bytes del HMAC
+     */
+    private String firmar(Parametros parametros) {
+        byte[] datos = parametros.codificar();
+        ByteBuffer buffer = ByteBuffer.allocate(datos.length + LONGITUD_FIRMA)
+                .put(datos)
+                .put(hmac(datos), 0, LONGITUD_FIRMA);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Parámetros de un código emitido por este servidor y aún vigente
+     */
+    private Parametros verificar(String codigo) {
+        byte[] datos;
+        try {
+            datos = Base64.getUrlDecoder().decode(codigo);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Código de quiz no válido");
+        }
+        if (datos.length != Parametros.LONGITUD + LONGITUD_FIRMA) {
+            throw new RuntimeException("Código de quiz no válido");
+        }
+        byte[] parametros = Arrays.copyOf(datos, Parametros.LONGITUD);
+        byte[] firma = Arrays.copyOfRange(datos, Parametros.LONGITUD, datos.length);
+        if (!MessageDigest.isEqual(firma, Arrays.copyOf(hmac(parametros), LONGITUD_FIRMA))) {
+            throw new RuntimeException("Código de quiz no válido");
+        }
+        Parametros resultado = Parametros.decodificar(parametros);
+        if (System.currentTimeMillis() > resultado.emitido + validezMs) {
+            throw new RuntimeException("El quiz ha caducado");
+        }
+        return resultado.usuarioId != Parametros.SIN_USUARIO
+                ? resultado.conSemilla(derivarSemilla(resultado.nonce))
+                : resultado;
+    }
+
+    /**
+     * Semilla de un quiz ligado a un usuario: no viaja en el código
+     */
+    private long derivarSemilla(long nonce) {
+        byte[] datos = ByteBuffer.allocate(1 + Long.BYTES).put((byte) 'S').putLong(nonce).array();
+        return ByteBuffer.wrap(hmac(datos)).getLong();
+    }
+
+    private byte[] hmac(byte[] datos) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(clave);
+            return mac.doFinal(datos);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC no disponible", e);
+        }
+    }
+
+    private QuizDTO construir(Parametros parametros, String codigo, boolean conRespuestas) {
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        int[] pool = parametros.generacion != 0 ? catalogo.porGeneracion(parametros.generacion) : null;
+        int disponibles = pool != null ? pool.length : catalogo.getTamano();
+        if (disponibles < OPCIONES) {
+            throw new RuntimeException("No hay suficientes Pokémon para generar el quiz");
+        }
+
+        List<Categoria> categorias = new ArrayList<>();
+        for (Categoria categoria : Categoria.values()) {
+            if (categoria.dificultad.ordinal() <= parametros.dificultad.ordinal()) {
+                categorias.add(categoria);
+            }
+        }
+
+        Generador generador = new Generador(catalogo, indices(catalogo), pool, parametros.generacion,
+                new SplittableRandom(parametros.semilla));
+        List<QuizPreguntaDTO> preguntas = new ArrayList<>(parametros.preguntas);
+        for (int k = 0; k < parametros.preguntas; k++) {
+            QuizPreguntaDTO pregunta = null;
+            for (int intento = 0; pregunta == null && intento < MAX_INTENTOS; intento++) {
+                pregunta = generador.generar(categorias.get(generador.rng.nextInt(categorias.size())));
+            }
+            if (pregunta == null) {
+                throw new RuntimeException("No se pudo generar el quiz con el catálogo actual");
+            }
+            if (!conRespuestas) {
+                pregunta.setRespuestaCorrecta(null);
+            }
+            preguntas.add(pregunta);
+        }
+
+        return new QuizDTO(codigo, parametros.dificultad.getNombre(),
+                parametros.generacion != 0 ? parametros.generacion : null, preguntas);
+    }
+
+    private Indices indices(CatalogoSnapshot catalogo) {
+        Indices actual = indices;
+        if (actual == null || actual.version != catalogo.getVersion()) {
+            actual = new Indices(catalogo, tipoRegistry.todos());
+            indices = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Preguntas de un quiz, todas con el mismo generador aleatorio
+     */
+    private final class Generador {
+        final CatalogoSnapshot catalogo;
+        final Indices indices;
+        final int[] pool;
+        final int generacion;
+        final SplittableRandom rng;
+
+        Generador(CatalogoSnapshot catalogo, Indices indices, int[] pool, int generacion, SplittableRandom rng) {
+            this.catalogo = catalogo;
+            this.indices = indices;
+            this.pool = pool;
+            this.generacion = generacion;
+            this.rng = rng;
+        }
+
+        /**
+         * Pregunta de la categoría indicada (null si no se puede generar con este catálogo)
+         */
+        QuizPreguntaDTO generar(Categoria categoria) {
+            switch (categoria) {
+                case TIPO:
+                    return tipo();
+                case EVOLUCION:
+                    return evolucion();
+                case VELOCIDAD:
+                    return estadistica(CatalogoSnapshot.VELOCIDAD);
+                case POKEMON_DE_TIPO:
+                    return pokemonDeTipo();
+                case ESTADISTICA:
+                    return estadistica(rng.nextInt(CatalogoSnapshot.NUM_ESTADISTICAS));
+                case NUMERO:
+                    return numero();
+                case GENERACION:
+                    return generacion();
+                default:
+                    return efectividad();
+            }
+        }
+
+        private QuizPreguntaDTO tipo() {
+            int i = aleatorio(p -> catalogo.tipoId1(p) != 0);
+            if (i < 0 || indices.tipos.length < 2) {
+                return null;
+            }
+            String correcta = nombreTipos(catalogo.tipoId1(i), catalogo.tipoId2(i));
+
+            // Los pares se comparan sin importar el orden ("Volador/Fuego" es "Fuego/Volador")
+            List<Integer> usados = new ArrayList<>();
+            usados.add(claveTipos(catalogo.tipoId1(i), catalogo.tipoId2(i)));
+            List<String> distractores = new ArrayList<>();
+            for (int intento = 0; distractores.size() < OPCIONES - 1 && intento < MAX_INTENTOS; intento++) {
+                int t1 = indices.tipos[rng.nextInt(indices.tipos.length)];
+                int t2 = rng.nextBoolean() ? indices.tipos[rng.nextInt(indices.tipos.length)] : 0;
+                if (t2 == t1) {
+                    t2 = 0;
+                }
+                int clave = claveTipos(t1, t2);
+                if (!usados.contains(clave)) {
+                    usados.add(clave);
+                    distractores.add(nombreTipos(t1, t2));
+                }
+            }
+            return pregunta(Categoria.TIPO, "¿De qué tipo es " + catalogo.nombre(i) + "?",
+                    catalogo.id(i), correcta, distractores);
+        }
+
+        private QuizPreguntaDTO evolucion() {
+            int[] origenes = indices.origenes(generacion);
+            if (origenes.length == 0) {
+                return null;
+            }
+            int origen = origenes[rng.nextInt(origenes.length)];
+            int[] destinos = indices.destinos[origen];
+            int destino = destinos[rng.nextInt(destinos.length)];
+
+            int[] otros = distintos(OPCIONES - 1, p -> p != origen && !contiene(destinos, p));
+            if (otros == null) {
+                return null;
+            }
+            return pregunta(Categoria.EVOLUCION, "¿En qué evoluciona " + catalogo.nombre(origen) + "?",
+                    catalogo.id(origen), catalogo.nombre(destino), nombres(otros));
+        }
+
+        private QuizPreguntaDTO estadistica(int estadistica) {
+            int[] opciones = distintos(OPCIONES, catalogo::tieneEstadisticas);
+            if (opciones == null) {
+                return null;
+            }
+            // El máximo tiene que ser único
+            int mejor = 0;
+            boolean empate = false;
+            for (int k = 1; k < OPCIONES; k++) {
+                int valor = catalogo.estadistica(opciones[k], estadistica);
+                int maximo = catalogo.estadistica(opciones[mejor], estadistica);
+                if (valor > maximo) {
+                    mejor = k;
+                    empate = false;
+                } else if (valor == maximo) {
+                    empate = true;
+                }
+            }
+            if (empate) {
+                return null;
+            }
+
+            Categoria categoria = estadistica == CatalogoSnapshot.VELOCIDAD ? Categoria.VELOCIDAD : Categoria.ESTADISTICA;
+            String texto = estadistica == CatalogoSnapshot.VELOCIDAD
+                    ? "¿Cuál de estos Pokémon es más rápido?"
+                    : "¿Cuál de estos Pokémon tiene más " + NOMBRES_ESTADISTICA[estadistica] + "?";
+            return new QuizPreguntaDTO(categoria.nombre, texto, nombres(opciones), null, mejor);
+        }
+
+        private QuizPreguntaDTO pokemonDeTipo() {
+            if (indices.tipos.length == 0) {
+                return null;
+            }
+            int tipoId = indices.tipos[rng.nextInt(indices.tipos.length)];
+            int[] conTipo = catalogo.porTipo(tipoId);
+            int correcto = -1;
+            for (int intento = 0; correcto < 0 && intento < MAX_INTENTOS; intento++) {
+                int p = conTipo[rng.nextInt(conTipo.length)];
+                if (generacion == 0 || catalogo.generacion(p) == generacion) {
+                    correcto = p;
+                }
+            }
+            if (correcto < 0) {
+                return null;
+            }
+            int[] otros = distintos(OPCIONES - 1, p -> catalogo.tipoId1(p) != tipoId && catalogo.tipoId2(p) != tipoId);
+            if (otros == null) {
+                return null;
+            }
+            return pregunta(Categoria.POKEMON_DE_TIPO,
+                    "¿Cuál de estos Pokémon es de tipo " + tipoRegistry.nombre(tipoId) + "?",
+                    null, catalogo.nombre(correcto), nombres(otros));
+        }
+
+        private QuizPreguntaDTO numero() {
+            int i = aleatorio(p -> true);
+            int numero = catalogo.numero(i);
+            List<String> distractores = new ArrayList<>();
+            for (int intento = 0; distractores.size() < OPCIONES - 1 && intento < MAX_INTENTOS; intento++) {
+                int otro = numero + (rng.nextBoolean() ? 1 : -1) * (1 + rng.nextInt(10));
+                String opcion = formatoNumero(otro);
+                if (otro > 0 && otro != numero && !distractores.contains(opcion)) {
+                    distractores.add(opcion);
+                }
+            }
+            return pregunta(Categoria.NUMERO, "¿Qué número tiene " + catalogo.nombre(i) + " en la Pokédex?",
+                    catalogo.id(i), formatoNumero(numero), distractores);
+        }
+
+        private QuizPreguntaDTO generacion() {
+            if (indices.generaciones.length < OPCIONES) {
+                return null;
+            }
+            int i = aleatorio(p -> true);
+            int gen = catalogo.generacion(i);
+            List<String> distractores = new ArrayList<>();
+            for (int intento = 0; distractores.size() < OPCIONES - 1 && intento < MAX_INTENTOS; intento++) {
+                int otra = indices.generaciones[rng.nextInt(indices.generaciones.length)];
+                String opcion = "Generación " + otra;
+                if (otra != gen && !distractores.contains(opcion)) {
+                    distractores.add(opcion);
+                }
+            }
+            return pregunta(Categoria.GENERACION, "¿De qué generación es " + catalogo.nombre(i) + "?",
+                    catalogo.id(i), "Generación " + gen, distractores);
+        }
+
+        private QuizPreguntaDTO efectividad() {
+            int i = aleatorio(p -> catalogo.tipo1(p) >= 0);
+            if (i < 0) {
+                return null;
+            }
+            int atacante = rng.nextInt(efectividadService.numeroTipos());
+            float multiplicador = efectividadService.multiplicador(atacante, catalogo.tipo1(i), catalogo.tipo2(i));
+
+            List<String> distractores = new ArrayList<>();
+            for (int intento = 0; distractores.size() < OPCIONES - 1 && intento < MAX_INTENTOS; intento++) {
+                float otro = MULTIPLICADORES[rng.nextInt(MULTIPLICADORES.length)];
+                String opcion = formatoMultiplicador(otro);
+                if (otro != multiplicador && !distractores.contains(opcion)) {
+                    distractores.add(opcion);
+                }
+            }
+            return pregunta(Categoria.EFECTIVIDAD, "¿Cuánto daño recibe " + catalogo.nombre(i)
+                            + " de un ataque de tipo " + efectividadService.nombre(atacante) + "?",
+                    catalogo.id(i), formatoMultiplicador(multiplicador), distractores);
+        }
+
+        /**
+         * Pregunta con la respuesta correcta en una posición aleatoria
+         */
+        private QuizPreguntaDTO pregunta(Categoria categoria, String texto, Integer pokemonId,
+                                         String correcta, List<String> distractores) {
+            if (distractores.size() < OPCIONES - 1) {
+                return null;
+            }
+            int posicion = rng.nextInt(OPCIONES);
+            List<String> opciones = new ArrayList<>(distractores.subList(0, OPCIONES - 1));
+            opciones.add(posicion, correcta);
+            return new QuizPreguntaDTO(categoria.nombre, texto, opciones, pokemonId, posicion);
+        }
+
+        /**
+         * Posición aleatoria del grupo de la pregunta que cumple el filtro (-1 si no se encuentra)
+         */
+        private int aleatorio(IntPredicate filtro) {
+            for (int intento = 0; intento < MAX_INTENTOS; intento++) {
+                int p = pool != null ? pool[rng.nextInt(pool.length)] : rng.nextInt(catalogo.getTamano());
+                if (filtro.test(p)) {
+                    return p;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * n posiciones distintas que cumplen el filtro (null si no se encuentran)
+         */
+        private int[] distintos(int n, IntPredicate filtro) {
+            int[] elegidos = new int[n];
+            int encontrados = 0;
+            for (int intento = 0; encontrados < n && intento < MAX_INTENTOS; intento++) {
+                int p = aleatorio(filtro);
+                if (p >= 0 && !contiene(elegidos, encontrados, p)) {
+                    elegidos[encontrados++] = p;
+                }
+            }
+            return encontrados == n ? elegidos : null;
+        }
+
+        private List<String> nombres(int[] posiciones) {
+            List<String> nombres = new ArrayList<>(posiciones.length);
+            for (int p : posiciones) {
+                nombres.add(catalogo.nombre(p));
+            }
+            return nombres;
+        }
+
+        private String nombreTipos(int tipoId1, int tipoId2) {
+            return tipoId2 != 0
+                    ? tipoRegistry.nombre(tipoId1) + "/" + tipoRegistry.nombre(tipoId2)
+                    : tipoRegistry.nombre(tipoId1);
+        }
+    }
+
+    /**
+     * Clave de un tipo o par de tipos que no depende del orden
+     */
+    private static int claveTipos(int tipoId1, int tipoId2) {
+        if (tipoId2 == 0 || tipoId2 == tipoId1) {
+            return tipoId1;
+        }
+        return Math.min(tipoId1, tipoId2) << 16 | Math.max(tipoId1, tipoId2);
+    }
+
+    private static boolean contiene(int[] valores, int valor) {
+        return contiene(valores, valores.length, valor);
+    }
+
+    private static boolean contiene(int[] valores, int longitud, int valor) {
+        for (int k = 0; k < longitud; k++) {
+            if (valores[k] == valor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String formatoNumero(int numero) {
+        return String.format("#%03d", numero);
+    }
+
+    private static String formatoMultiplicador(float multiplicador) {
+        return multiplicador == (int) multiplicador ? "x" + (int) multiplicador : "x" + multiplicador;
+    }
+
+    /**
+     * Parámetros que determinan un quiz (semilla de 8 bytes, dificultad, generación,
+     * número de preguntas, usuario al que está ligado, fecha de emisión y nonce).
+     * Si está ligado a un usuario, la semilla se codifica como 0 y se deriva del nonce.
+     */
+    private static final class Parametros {
+        static final int SIN_USUARIO = 0;
+        static final int LONGITUD = Long.BYTES + 3 + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+        final long semilla;
+        final QuizDificultad dificultad;
+        final int generacion;
+        final int preguntas;
+        final int usuarioId;
+        final long emitido;
+        final long nonce;
+
+        Parametros(long semilla, QuizDificultad dificultad, int generacion, int preguntas,
+                   int usuarioId, long emitido, long nonce) {
+            this.semilla = semilla;
+            this.dificultad = dificultad;
+            this.generacion = generacion;
+            this.preguntas = preguntas;
+            this.usuarioId = usuarioId;
+            this.emitido = emitido;
+            this.nonce = nonce;
+        }
+
+        Parametros conSemilla(long otra) {
+            return new Parametros(otra, dificultad, generacion, preguntas, usuarioId, emitido, nonce);
+        }
+
+        boolean esDe(Integer usuario) {
+            return usuarioId != SIN_USUARIO && usuario != null && usuario == usuarioId;
+        }
+
+        byte[] codificar() {
+            return ByteBuffer.allocate(LONGITUD)
+                    .putLong(usuarioId != SIN_USUARIO ? 0L : semilla)
+                    .put((byte) dificultad.ordinal())
+                    .put((byte) generacion)
+                    .put((byte) preguntas)
+                    .putInt(usuarioId)
+                    .putLong(emitido)
+                    .putLong(nonce)
+                    .array();
+        }
+
+        static Parametros decodificar(byte[] datos) {
+            ByteBuffer buffer = ByteBuffer.wrap(datos);
+            long semilla = buffer.getLong();
+            int dificultad = buffer.get();
+            int generacion = buffer.get();
+            int preguntas = buffer.get();
+            int usuarioId = buffer.getInt();
+            long emitido = buffer.getLong();
+            long nonce = buffer.getLong();
+            if (dificultad < 0 || dificultad >= QuizDificultad.values().length || generacion < 0
+                    || preguntas < 1 || preguntas > MAX_PREGUNTAS) {
+                throw new RuntimeException("Código de quiz no válido");
+            }
+            return new Parametros(semilla, QuizDificultad.values()[dificultad], generacion, preguntas,
+                    usuarioId, emitido, nonce);
+        }
+    }
+
+    /**
+     * Índices auxiliares de una instantánea: evoluciones por origen, tipos con algún Pokémon y generaciones
+     */
+    private static final class Indices {
+        final long version;
+        // destinos[posición] = posiciones en las que evoluciona (null si no evoluciona)
+        final int[][] destinos;
+        final int[] origenes;
+        final Map<Integer, int[]> origenesPorGeneracion;
+        final int[] tipos;
+        final int[] generaciones;
+
+        Indices(CatalogoSnapshot catalogo, List<TipoRegistry.TipoInfo> tiposRegistrados) {
+            this.version = catalogo.getVersion();
+            int n = catalogo.getTamano();
+
+            int[] origen = catalogo.getEvolucionOrigen();
+            int[] destino = catalogo.getEvolucionDestino();
+            this.destinos = new int[n][];
+            for (int k = 0; k < origen.length; k++) {
+                int[] actuales = destinos[origen[k]];
+                int[] nuevos = actuales == null ? new int[1] : Arrays.copyOf(actuales, actuales.length + 1);
+                nuevos[nuevos.length - 1] = destino[k];
+                destinos[origen[k]] = nuevos;
+            }
+
+            TreeSet<Integer> gens = new TreeSet<>();
+            Map<Integer, List<Integer>> porGeneracion = new HashMap<>();
+            List<Integer> todos = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                gens.add(catalogo.generacion(i));
+                if (destinos[i] != null) {
+                    todos.add(i);
+                    porGeneracion.computeIfAbsent(catalogo.generacion(i), g -> new ArrayList<>()).add(i);
+                }
+            }
+            this.origenes = todos.stream().mapToInt(Integer::intValue).toArray();
+            Map<Integer, int[]> origenesGen = new HashMap<>();
+            porGeneracion.forEach((g, lista) -> origenesGen.put(g, lista.stream().mapToInt(Integer::intValue).toArray()));
+            this.origenesPorGeneracion = origenesGen;
+            this.generaciones = gens.stream().mapToInt(Integer::intValue).toArray();
+
+            List<Integer> conPokemon = new ArrayList<>();
+            for (TipoRegistry.TipoInfo tipo : tiposRegistrados) {
+                if (catalogo.porTipo(tipo.getId()).length > 0) {
+                    conPokemon.add(tipo.getId());
+                }
+            }
+            this.tipos = conPokemon.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] origenes(int generacion) {
+            return generacion == 0 ? origenes : origenesPorGeneracion.getOrDefault(generacion, new int[0]);
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package service;
+
+import dto.PokemonResumenDTO;
+import dto.RecomendacionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recomendaciones "quien tiene X en favoritos también tiene Y"
+ *
+ * Matriz dispersa de co-ocurrencias en memoria: una fila IntIntMap por Pokémon con
+ * el número de usuarios que tienen en favoritos a la vez ese Pokémon y cada uno de
+ * los demás (la diagonal guarda los usuarios que lo tienen). FavoritoService la
+ * actualiza en cada alta o baja confirmada, así que las consultas no tocan la BD.
+ *
+ * Al arrancar, y periódicamente para corregir desvíos, se reconstruye desde la tabla
+ * favoritos: se lee por páginas en orden (usuario, pokemon) y las filas se cuentan en
+ * paralelo por rangos de usuarios. Los cambios que llegan durante la reconstrucción se
+ * anotan y se repiten sobre la matriz nueva antes de sustituir a la anterior
+ * (altas y bajas son idempotentes, así que da igual si la lectura ya los incluía).
+ */
+@Service
+public class RecomendacionService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RecomendacionService.class);
+
+    public static final int LIMITE_DEFECTO = 10;
+    public static final int MAX_LIMITE = 50;
+
+    // Las parejas con pocas coincidencias pesan menos: afinidad * c / (c + SOPORTE)
+    private static final double SOPORTE = 5.0;
+
+    private static final int TAMANO_PAGINA = 100_000;
+
+    // Usuarios por subtarea fork-join en la reconstrucción
+    private static final int UMBRAL_DIVISION = 2048;
+
+    private static final String PAGINA =
+            "SELECT usuario_id, pokemon_id FROM favoritos WHERE (usuario_id, pokemon_id) > (?, ?) " +
+            "ORDER BY usuario_id, pokemon_id LIMIT " + TAMANO_PAGINA;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogoService catalogoService;
+    private final ForkJoinPool calculoPool;
+
+    private volatile Matriz matriz = new Matriz();
+
+    // Cambios anotados mientras se reconstruye (null si no hay reconstrucción en curso)
+    private volatile Queue<Cambio> anotados;
+
+    // Los cambios toman la parte de lectura; la sustitución de la matriz, la de escritura
+    private final ReadWriteLock sustitucion = new ReentrantReadWriteLock();
+    private final Object reconstruccion = new Object();
+
+    @Autowired
+    public RecomendacionService(JdbcTemplate jdbcTemplate, CatalogoService catalogoService, ForkJoinPool calculoPool) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogoService = catalogoService;
+        this.calculoPool = calculoPool;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconstruir();
+    }
+
+    /**
+     * Un usuario ha añadido un Pokémon a favoritos
+     */
+    public void alta(Integer usuarioId, Integer pokemonId) {
+        registrar(new Cambio(usuarioId, pokemonId, true));
+    }
+
+    /**
+     * Un usuario ha quitado un Pokémon de favoritos
+     */
+    public void baja(Integer usuarioId, Integer pokemonId) {
+        registrar(new Cambio(usuarioId, pokemonId, false));
+    }
+
+    /**
+     * Descontar todos los favoritos de un usuario (al borrar su cuenta)
+     */
+    public void eliminarUsuario(Integer usuarioId) {
+        registrar(new Cambio(usuarioId, 0, false));
+    }
+
+    /**
+     * Pokémon que más comparten favoritos con el indicado, de mayor a menor afinidad
+     */
+    public List<RecomendacionDTO> recomendados(Integer pokemonId, Integer limite) {
+        int n = limite != null ? limite : LIMITE_DEFECTO;
+        if (n < 1 || n > MAX_LIMITE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMITE);
+        }
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        if (catalogo.indice(pokemonId) < 0) {
+            throw new RuntimeException("Pokemon no encontrado con id: " + pokemonId);
+        }
+
+        Matriz m = matriz;
+        IntIntMap fila = m.filas.get(pokemonId);
+        if (fila == null) {
+            return List.of();
+        }
+        // Copia de la fila: no se bloquea otra fila mientras se tiene esta
+        int[] otros;
+        int[] coincidencias;
+        int usuarios;
+        synchronized (fila) {
+            otros = fila.keys();
+            coincidencias = new int[otros.length];
+            for (int k = 0; k < otros.length; k++) {
+                coincidencias[k] = fila.get(otros[k]);
+            }
+            usuarios = fila.get(pokemonId);
+        }
+
+        // Montículo de mínimos con los n mejores candidatos
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(n + 1, Candidato.ORDEN);
+        for (int k = 0; k < otros.length; k++) {
+            int otro = otros[k];
+            int c = coincidencias[k];
+            if (otro == pokemonId || c <= 0 || catalogo.indice(otro) < 0) {
+                continue;
+            }
+            int usuariosOtro = m.usuariosDe(otro);
+            double afinidad = Math.min(1.0, c / Math.sqrt((double) Math.max(usuarios, c) * Math.max(usuariosOtro, c)));
+            mejores.add(new Candidato(otro, c, afinidad, afinidad * c / (c + SOPORTE)));
+            if (mejores.size() > n) {
+                mejores.poll();
+            }
+        }
+
+        List<Candidato> ordenados = new ArrayList<>(mejores);
+        ordenados.sort(Candidato.ORDEN.reversed());
+        List<RecomendacionDTO> resultado = new ArrayList<>(ordenados.size());
+        for (Candidato candidato : ordenados) {
+            PokemonResumenDTO resumen = catalogoService.resumen(catalogo, catalogo.indice(candidato.pokemonId));
+            resultado.add(new RecomendacionDTO(resumen.getId(), resumen.getNumero(), resumen.getNombre(),
+                    resumen.getTipos(), candidato.coincidencias, candidato.afinidad));
+        }
+        return resultado;
+    }
+
+    /**
+     * Reconstruir la matriz completa desde la tabla favoritos
+     */
+    @Scheduled(fixedDelayString = "${recomendaciones.rebuild-ms:3600000}",
+            initialDelayString = "${recomendaciones.rebuild-ms:3600000}")
+    public void reconstruir() {
+        synchronized (reconstruccion) {
+            long inicio = System.nanoTime();
+            anotados = new ConcurrentLinkedQueue<>();
+            try {
+                Favoritos favoritos = cargar();
+                Matriz nueva = calcular(favoritos);
+
+                sustitucion.writeLock().lock();
+                try {
+                    for (Cambio cambio : anotados) {
+                        nueva.aplicar(cambio, null);
+                    }
+                    matriz = nueva;
+                } finally {
+                    anotados = null;
+                    sustitucion.writeLock().unlock();
+                }
+                log.info("Recomendaciones reconstruidas: {} favoritos de {} usuarios en {} ms",
+                        favoritos.tamano, nueva.usuarios.size(), (System.nanoTime() - inicio) / 1_000_000);
+            } catch (RuntimeException e) {
+                anotados = null;
+                log.warn("No se pudieron reconstruir las recomendaciones: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aplicar el cambio en memoria; dentro de una transacción, solo cuando se confirme
+     */
+    private void registrar(Cambio cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(cambio);
+                }
+            });
+        } else {
+            aplicar(cambio);
+        }
+    }
+
+    private void aplicar(Cambio cambio) {
+        sustitucion.readLock().lock();
+        try {
+            matriz.aplicar(cambio, anotados);
+        } finally {
+            sustitucion.readLock().unlock();
+        }
+    }
+
+    /**
+     * Leer todos los favoritos ordenados por usuario, por páginas (keyset sobre el índice único)
+     */
+    private Favoritos cargar() {
+        Favoritos favoritos = new Favoritos();
+        int[] ultimo = {0, 0};
+        int leidas;
+        do {
+            int antes = favoritos.tamano;
+            jdbcTemplate.query(PAGINA, rs -> {
+                favoritos.agregar(rs.getInt(1), rs.getInt(2));
+            }, ultimo[0], ultimo[1]);
+            leidas = favoritos.tamano - antes;
+            if (leidas > 0) {
+                ultimo[0] = favoritos.usuarios[favoritos.tamano - 1];
+                ultimo[1] = favoritos.pokemon[favoritos.tamano - 1];
+            }
+        } while (leidas == TAMANO_PAGINA);
+        return favoritos;
+    }
+
+    /**
+     * Contar las co-ocurrencias en paralelo por rangos de usuarios y montar la matriz
+     */
+    private Matriz calcular(Favoritos favoritos) {
+        // Inicio de los favoritos de cada usuario (más un centinela al final)
+        int[] inicios = new int[favoritos.tamano + 1];
+        int numUsuarios = 0;
+        for (int k = 0; k < favoritos.tamano; k++) {
+            if (k == 0 || favoritos.usuarios[k] != favoritos.usuarios[k - 1]) {
+                inicios[numUsuarios++] = k;
+            }
+        }
+        inicios[numUsuarios] = favoritos.tamano;
+
+        Matriz nueva = new Matriz();
+        nueva.filas.putAll(calculoPool.invoke(new Conteo(favoritos, inicios, 0, numUsuarios)));
+        for (int u = 0; u < numUsuarios; u++) {
+            IntIntMap conjunto = new IntIntMap(inicios[u + 1] - inicios[u]);
+            for (int k = inicios[u]; k < inicios[u + 1]; k++) {
+                conjunto.put(favoritos.pokemon[k], 1);
+            }
+            nueva.usuarios.put(favoritos.usuarios[inicios[u]], conjunto);
+        }
+        return nueva;
+    }
+
+    /**
+     * Favoritos de todos los usuarios en arrays paralelos
+     */
+    private static final class Favoritos {
+        int[] usuarios = new int[TAMANO_PAGINA];
+        int[] pokemon = new int[TAMANO_PAGINA];
+        int tamano;
+
+        void agregar(int usuarioId, int pokemonId) {
+            if (tamano == usuarios.length) {
+                usuarios = Arrays.copyOf(usuarios, tamano * 2);
+                pokemon = Arrays.copyOf(pokemon, tamano * 2);
+            }
+            usuarios[tamano] = usuarioId;
+            pokemon[tamano] = pokemonId;
+            tamano++;
+        }
+    }
+
+    /**
+     * Alta, baja, o baja de todos los favoritos del usuario (pokemonId = 0)
+     */
+    private static final class Cambio {
+        final int usuarioId;
+        final int pokemonId;
+        final boolean alta;
+
+        Cambio(int usuarioId, int pokemonId, boolean alta) {
+            this.usuarioId = usuarioId;
+            this.pokemonId = pokemonId;
+            this.alta = alta;
+        }
+    }
+
+    /**
+     * Co-ocurrencias por Pokémon y favoritos por usuario (como conjunto)
+     * Cada IntIntMap se protege con su propio monitor; el del usuario se toma antes
+     * que los de las filas y nunca al revés.
+     */
+    private static final class Matriz {
+        final Map<Integer, IntIntMap> filas = new ConcurrentHashMap<>();
+        final Map<Integer, IntIntMap> usuarios = new ConcurrentHashMap<>();
+
+        void aplicar(Cambio cambio, Queue<Cambio> anotados) {
+            if (cambio.pokemonId == 0) {
+                IntIntMap conjunto = usuarios.remove(cambio.usuarioId);
+                if (anotados != null) {
+                    anotados.add(cambio);
+                }
+                if (conjunto != null) {
+                    synchronized (conjunto) {
+                        int[] pokemon = conjunto.keys();
+                        for (int k = 0; k < pokemon.length; k++) {
+                            sumarPares(pokemon[k], pokemon, k, -1);
+                        }
+                        conjunto.clear();
+                    }
+                }
+                return;
+            }
+
+            IntIntMap conjunto = usuarios.computeIfAbsent(cambio.usuarioId, id -> new IntIntMap());
+            synchronized (conjunto) {
+                // Se anota con el conjunto bloqueado para repetir los cambios del usuario en su orden
+                if (anotados != null) {
+                    anotados.add(cambio);
+                }
+                if (cambio.alta == conjunto.contains(cambio.pokemonId)) {
+                    return;
+                }
+                int delta = cambio.alta ? 1 : -1;
+                if (cambio.alta) {
+                    conjunto.put(cambio.pokemonId, 1);
+                } else {
+                    conjunto.remove(cambio.pokemonId);
+                }
+                int[] otros = conjunto.keys();
+                sumar(cambio.pokemonId, cambio.pokemonId, delta);
+                for (int otro : otros) {
+                    if (otro != cambio.pokemonId) {
+                        sumar(cambio.pokemonId, otro, delta);
+                        sumar(otro, cambio.pokemonId, delta);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sumar delta a las parejas de pokemon[k] con pokemon[k..] (ambos sentidos)
+         */
+        private void sumarPares(int pokemonId, int[] pokemon, int k, int delta) {
+            sumar(pokemonId, pokemonId, delta);
+            for (int j = k + 1; j < pokemon.length; j++) {
+                sumar(pokemonId, pokemon[j], delta);
+                sumar(pokemon[j], pokemonId, delta);
+            }
+        }
+
+        private void sumar(int fila, int columna, int delta) {
+            IntIntMap valores = filas.computeIfAbsent(fila, id -> new IntIntMap());
+            synchronized (valores) {
+                valores.add(columna, delta);
+            }
+        }
+
+        int usuariosDe(int pokemonId) {
+            IntIntMap fila = filas.get(pokemonId);
+            if (fila == null) {
+                return 0;
+            }
+            synchronized (fila) {
+                return fila.get(pokemonId);
+            }
+        }
+    }
+
+    /**
+     * Conteo de co-ocurrencias de los usuarios [desde, hasta)
+     */
+    private static final class Conteo extends RecursiveTask<Map<Integer, IntIntMap>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Favoritos favoritos;
+        private final int[] inicios;
+        private final int desde;
+        private final int hasta;
+
+        Conteo(Favoritos favoritos, int[] inicios, int desde, int hasta) {
+            this.favoritos = favoritos;
+            this.inicios = inicios;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Map<Integer, IntIntMap> compute() {
+            if (hasta - desde > UMBRAL_DIVISION) {
+                int mitad = (desde + hasta) >>> 1;
+                Conteo izquierda = new Conteo(favoritos, inicios, desde, mitad);
+                izquierda.fork();
+                Map<Integer, IntIntMap> derecha = new Conteo(favoritos, inicios, mitad, hasta).compute();
+                Map<Integer, IntIntMap> resultado = izquierda.join();
+                for (Map.Entry<Integer, IntIntMap> fila : derecha.entrySet()) {
+                    IntIntMap existente = resultado.putIfAbsent(fila.getKey(), fila.getValue());
+                    if (existente != null) {
+                        existente.addAll(fila.getValue());
+                    }
+                }
+                return resultado;
+            }
+
+            Map<Integer, IntIntMap> filas = new HashMap<>();
+            int[] pokemon = favoritos.pokemon;
+            for (int u = desde; u < hasta; u++) {
+                int fin = inicios[u + 1];
+                for (int k = inicios[u]; k < fin; k++) {
+                    IntIntMap fila = filas.computeIfAbsent(pokemon[k], id -> new IntIntMap());
+                    for (int j = inicios[u]; j < fin; j++) {
+                        fila.add(pokemon[j], 1);
+                    }
+                }
+            }
+            return filas;
+        }
+    }
+
+    /**
+     * Pokémon candidato a recomendación
+     */
+    private static final class Candidato {
+        static final Comparator<Candidato> ORDEN = Comparator
+                .comparingDouble((Candidato c) -> c.puntuacion)
+                .thenComparingInt(c -> c.coincidencias)
+                .thenComparingInt(c -> -c.pokemonId);
+
+        final int pokemonId;
+        final int coincidencias;
+        final double afinidad;
+        final double puntuacion;
+
+        Candidato(int pokemonId, int coincidencias, double afinidad, double puntuacion) {
+            this.pokemonId = pokemonId;
+            this.coincidencias = coincidencias;
+            this.afinidad = afinidad;
+            this.puntuacion = puntuacion;
+        }
+    }
+}
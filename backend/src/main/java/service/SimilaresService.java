@@ -0,0 +1,163 @@
+package service;
+
+import dto.PokemonResumenDTO;
+import dto.PokemonSimilarDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Búsqueda de Pokémon con estadísticas parecidas (k vecinos más cercanos)
+ *
+ * Las 6 estadísticas base de cada Pokémon son un punto en un KdTree que se construye
+ * con cada instantánea del catálogo (es decir, de nuevo tras cualquier cambio de
+ * estadísticas). Con ponderación por tipos, la distancia se multiplica por
+ * 1 - 0.25 * tiposComunes: se piden al árbol más candidatos de los necesarios y se
+ * amplía la búsqueda hasta que ningún punto no visto pueda entrar en el resultado.
+ */
+@Service
+public class SimilaresService {
+
+    public static final int K_DEFECTO = 10;
+    public static final int K_MAXIMO = 50;
+
+    private static final float REDUCCION_POR_TIPO = 0.25f;
+    // Factor mínimo posible (dos tipos en común)
+    private static final float FACTOR_MINIMO = 1f - 2 * REDUCCION_POR_TIPO;
+    private static final int CANDIDATOS_POR_RESULTADO = 4;
+
+    private final CatalogoService catalogoService;
+
+    private volatile Indice indice;
+
+    @Autowired
+    public SimilaresService(CatalogoService catalogoService) {
+        this.catalogoService = catalogoService;
+    }
+
+    /**
+     * Los k Pokémon con estadísticas más parecidas a las del indicado
+     */
+    public List<PokemonSimilarDTO> similares(Integer pokemonId, Integer k, boolean porTipos) {
+        int n = k != null ? k : K_DEFECTO;
+        if (n < 1 || n > K_MAXIMO) {
+            throw new IllegalArgumentException("k debe estar entre 1 y " + K_MAXIMO);
+        }
+
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        int posicion = catalogo.indice(pokemonId);
+        if (posicion < 0) {
+            throw new RuntimeException("Pokemon no encontrado con id: " + pokemonId);
+        }
+        if (!catalogo.tieneEstadisticas(posicion)) {
+            throw new IllegalArgumentException("El Pokémon no tiene estadísticas");
+        }
+
+        Indice actual = indice(catalogo);
+        float[] consulta = actual.vector(actual.puntoDe[posicion]);
+        int excluido = actual.puntoDe[posicion];
+
+        int pedidos = porTipos ? n * CANDIDATOS_POR_RESULTADO : n;
+        while (true) {
+            int maximo = Math.min(pedidos, actual.arbol.getTamano());
+            int[] puntos = new int[maximo];
+            float[] distancias = new float[maximo];
+            int encontrados = actual.arbol.vecinos(consulta, maximo, excluido, puntos, distancias);
+
+            List<PokemonSimilarDTO> resultado = new ArrayList<>(encontrados);
+            for (int j = 0; j < encontrados; j++) {
+                int otro = actual.posiciones[puntos[j]];
+                int comunes = tiposComunes(catalogo, posicion, otro);
+                float distancia = (float) Math.sqrt(distancias[j]);
+                if (porTipos) {
+                    distancia *= 1f - REDUCCION_POR_TIPO * comunes;
+                }
+                PokemonResumenDTO resumen = catalogoService.resumen(catalogo, otro);
+                resultado.add(new PokemonSimilarDTO(resumen.getId(), resumen.getNumero(), resumen.getNombre(),
+                        resumen.getTipos(), distancia, comunes));
+            }
+            if (!porTipos) {
+                return resultado;
+            }
+
+            resultado.sort((a, b) -> Float.compare(a.getDistancia(), b.getDistancia()));
+            // Exacto si ya no quedan puntos o si el peor candidato sin ponderar, con la mayor
+            // reducción posible, no puede superar al k-ésimo ponderado
+            boolean agotado = encontrados < pedidos;
+            if (agotado || (encontrados >= n && resultado.get(n - 1).getDistancia()
+                    <= FACTOR_MINIMO * (float) Math.sqrt(distancias[encontrados - 1]))) {
+                return resultado.subList(0, Math.min(n, resultado.size()));
+            }
+            pedidos *= 2;
+        }
+    }
+
+    private static int tiposComunes(CatalogoSnapshot catalogo, int a, int b) {
+        int comunes = 0;
+        int a1 = catalogo.tipoId1(a);
+        int a2 = catalogo.tipoId2(a);
+        for (int tipo : new int[]{catalogo.tipoId1(b), catalogo.tipoId2(b)}) {
+            if (tipo != 0 && (tipo == a1 || tipo == a2)) {
+                comunes++;
+            }
+        }
+        return comunes;
+    }
+
+    private Indice indice(CatalogoSnapshot catalogo) {
+        Indice actual = indice;
+        if (actual == null || actual.version != catalogo.getVersion()) {
+            actual = new Indice(catalogo);
+            indice = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Árbol de una instantánea del catálogo (solo los Pokémon con estadísticas)
+     */
+    private static final class Indice {
+        final long version;
+        final KdTree arbol;
+        final float[] vectores;
+        // posiciones[punto] = posición en el catálogo; puntoDe[posición] = punto del árbol (-1 si no tiene)
+        final int[] posiciones;
+        final int[] puntoDe;
+
+        Indice(CatalogoSnapshot catalogo) {
+            this.version = catalogo.getVersion();
+            int n = catalogo.getTamano();
+            int d = CatalogoSnapshot.NUM_ESTADISTICAS;
+
+            this.puntoDe = new int[n];
+            Arrays.fill(puntoDe, -1);
+            int[] conEstadisticas = new int[n];
+            int puntos = 0;
+            for (int i = 0; i < n; i++) {
+                if (catalogo.tieneEstadisticas(i)) {
+                    puntoDe[i] = puntos;
+                    conEstadisticas[puntos++] = i;
+                }
+            }
+            this.posiciones = Arrays.copyOf(conEstadisticas, puntos);
+
+            short[] estadisticas = catalogo.getEstadisticas();
+            this.vectores = new float[puntos * d];
+            for (int p = 0; p < puntos; p++) {
+                int base = posiciones[p] * d;
+                for (int e = 0; e < d; e++) {
+                    vectores[p * d + e] = estadisticas[base + e];
+                }
+            }
+            this.arbol = new KdTree(vectores, d);
+        }
+
+        float[] vector(int punto) {
+            int d = arbol.getDimensiones();
+            return Arrays.copyOfRange(vectores, punto * d, punto * d + d);
+        }
+    }
+}
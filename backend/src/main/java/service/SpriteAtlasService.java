@@ -0,0 +1,356 @@
+package service;
+
+import config.FileStorageProperties;
+import dto.SpriteAtlasDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import repository.PokemonRepository;
+import util.ImagenUtil;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Atlas de sprites para la cuadrícula de la Pokédex
+ *
+ * Empaqueta las miniaturas de una generación (o de cualquier conjunto de Pokémon,
+ * ordenado por id) en un único PNG con un mapa de coordenadas. El atlas se guarda
+ * en disco con el hash de su contenido como nombre, así que cambia de URL cuando
+ * cambia cualquier imagen y se puede cachear como inmutable. Al cambiar una sola
+ * imagen se parte del último atlas dibujado para esa lista y solo se redibujan las
+ * celdas afectadas. En disco se guardan como mucho MAX_ATLAS atlas: al pasar de
+ * ahí se borran los más antiguos (y se vuelven a generar si se piden).
+ */
+@Service
+public class SpriteAtlasService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpriteAtlasService.class);
+
+    // Lado de cada celda (tamaño de la miniatura)
+    public static final int CELDA = ImageVariant.THUMBNAIL.getMaxLado();
+
+    private static final int COLUMNAS = 16;
+    private static final int MAX_SPRITES = 512;
+
+    // Últimos lienzos en memoria para el redibujado incremental
+    private static final int MAX_LIENZOS = 16;
+
+    // Atlas guardados en disco
+    private static final int MAX_ATLAS = 256;
+
+    private static final long TIMEOUT_SEGUNDOS = 30;
+
+    private static final Pattern CLAVE = Pattern.compile("[0-9a-f]{64}");
+
+    private final FileStorageService fileStorageService;
+    private final PokemonRepository pokemonRepository;
+    private final Path atlasLocation;
+
+    // Un único hilo genera los atlas: los lienzos solo se tocan desde él
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Future<?>> enCurso = new ConcurrentHashMap<>();
+    private final Map<String, Lienzo> lienzos = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Lienzo> eldest) {
+            return size() > MAX_LIENZOS;
+        }
+    };
+
+    @Autowired
+    public SpriteAtlasService(FileStorageService fileStorageService,
+                              PokemonRepository pokemonRepository,
+                              FileStorageProperties fileStorageProperties) {
+        this.fileStorageService = fileStorageService;
+        this.pokemonRepository = pokemonRepository;
+        this.atlasLocation = Paths.get(fileStorageProperties.getAtlasDir())
+                .toAbsolutePath()
+                .normalize();
+
+        try {
+            Files.createDirectories(this.atlasLocation);
+        } catch (IOException ex) {
+            throw new RuntimeException("No se pudo crear el directorio de atlas", ex);
+        }
+
+        this.executor = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sprite-atlas");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Atlas con todos los Pokémon de una generación
+     */
+    public SpriteAtlasDTO atlasGeneracion(Integer generacion) {
+        List<Integer> ids = pokemonRepository.findIdsByGeneracion(generacion);
+        if (ids.isEmpty()) {
+            throw new RuntimeException("No hay Pokémon en la generación " + generacion);
+        }
+        return atlas(ids);
+    }
+
+    /**
+     * Atlas con un conjunto de Pokémon (p. ej. resultado de una búsqueda). Los ids se
+     * ordenan y se quitan los repetidos, así que el orden de la lista no crea atlas nuevos.
+     */
+    public SpriteAtlasDTO atlas(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("Debe indicar al menos un Pokémon");
+        }
+        List<Integer> unicos = new ArrayList<>(new TreeSet<>(ids));
+        if (unicos.size() > MAX_SPRITES) {
+            throw new RuntimeException("Un atlas admite como máximo " + MAX_SPRITES + " Pokémon");
+        }
+
+        // Fuente de cada celda: miniatura si ya existe, si no el original
+        int n = unicos.size();
+        int[] orden = new int[n];
+        StoredImage[] fuentes = new StoredImage[n];
+        String[] hashes = new String[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = unicos.get(i);
+            StoredImage fuente = fileStorageService.getImage(orden[i], ImageVariant.THUMBNAIL);
+            if (fuente == null) {
+                fuente = fileStorageService.getImage(orden[i]);
+            }
+            fuentes[i] = fuente;
+            hashes[i] = fuente != null ? fuente.getHash() : null;
+        }
+
+        String clave = claveAtlas(orden, hashes);
+        if (!Files.exists(atlasLocation.resolve(clave + ".png"))) {
+            esperar(clave, orden, fuentes, hashes);
+        }
+
+        int columnas = Math.min(COLUMNAS, n);
+        int filas = (n + columnas - 1) / columnas;
+        Map<Integer, int[]> sprites = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (hashes[i] != null) {
+                sprites.put(orden[i], new int[]{(i % columnas) * CELDA, (i / columnas) * CELDA, CELDA, CELDA});
+            }
+        }
+
+        return new SpriteAtlasDTO("/api/pokemon/sprites/" + clave + ".png",
+                CELDA, columnas, columnas * CELDA, filas * CELDA, sprites);
+    }
+
+    /**
+     * Atlas ya generado (null si la clave no es válida o no existe)
+     */
+    public StoredImage getAtlas(String clave) {
+        if (clave == null || !CLAVE.matcher(clave).matches()) {
+            return null;
+        }
+        Path archivo = atlasLocation.resolve(clave + ".png");
+        try {
+            return new StoredImage(archivo, "image/png", Files.size(archivo),
+                    Files.getLastModifiedTime(archivo).toMillis(), clave);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Encolar la generación (una sola vez por clave) y esperar a que termine
+     */
+    private void esperar(String clave, int[] orden, StoredImage[] fuentes, String[] hashes) {
+        Future<?> tarea;
+        try {
+            tarea = enCurso.computeIfAbsent(clave,
+                    k -> executor.submit(() -> {
+                        try {
+                            generar(clave, orden, fuentes, hashes);
+                            return null;
+                        } finally {
+                            enCurso.remove(clave);
+                        }
+                    }));
+        } catch (RejectedExecutionException ex) {
+            throw new RuntimeException("Generador de atlas ocupado, inténtalo de nuevo en unos segundos");
+        }
+
+        try {
+            tarea.get(TIMEOUT_SEGUNDOS, TimeUnit.SECONDS);
+        } catch (TimeoutException ex) {
+            throw new RuntimeException("El atlas aún se está generando, inténtalo de nuevo en unos segundos");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Generación del atlas interrumpida");
+        } catch (ExecutionException ex) {
+            throw new RuntimeException("Error al generar el atlas: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Dibujar el atlas partiendo del último lienzo de esta lista de Pokémon:
+     * solo se redibujan las celdas cuyo hash ha cambiado
+     */
+    private void generar(String clave, int[] orden, StoredImage[] fuentes, String[] hashes) throws IOException {
+        String disposicion = claveAtlas(orden, new String[orden.length]);
+        int columnas = Math.min(COLUMNAS, orden.length);
+        int filas = (orden.length + columnas - 1) / columnas;
+
+        Lienzo lienzo = lienzos.remove(disposicion);
+        if (lienzo == null) {
+            lienzo = new Lienzo(new BufferedImage(columnas * CELDA, filas * CELDA, BufferedImage.TYPE_INT_ARGB),
+                    new String[orden.length]);
+        }
+
+        int redibujadas = 0;
+        Graphics2D g = lienzo.imagen.createGraphics();
+        try {
+            for (int i = 0; i < orden.length; i++) {
+                if (Objects.equals(lienzo.hashes[i], hashes[i])) {
+                    continue;
+                }
+                int x = (i % columnas) * CELDA;
+                int y = (i / columnas) * CELDA;
+
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(x, y, CELDA, CELDA);
+                g.setComposite(AlphaComposite.SrcOver);
+
+                if (fuentes[i] != null) {
+                    BufferedImage sprite = ImagenUtil.leer(fuentes[i].getPath());
+                    if (sprite == null) {
+                        throw new IOException("No se pudo leer " + fuentes[i].getFileName());
+                    }
+                    sprite = ImagenUtil.redimensionar(sprite, CELDA);
+                    g.drawImage(sprite, x + (CELDA - sprite.getWidth()) / 2, y + (CELDA - sprite.getHeight()) / 2, null);
+                }
+                lienzo.hashes[i] = hashes[i];
+                redibujadas++;
+            }
+        } finally {
+            g.dispose();
+        }
+
+        // Escribir con el hash como nombre y borrar el atlas anterior de esta lista
+        Path destino = atlasLocation.resolve(clave + ".png");
+        Path temporal = Files.createTempFile(atlasLocation, "atlas", ".tmp");
+        try {
+            Files.write(temporal, ImagenUtil.aPngComprimido(lienzo.imagen));
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        if (lienzo.clave != null && !lienzo.clave.equals(clave)) {
+            Files.deleteIfExists(atlasLocation.resolve(lienzo.clave + ".png"));
+        }
+        lienzo.clave = clave;
+        podar(destino);
+
+        // Solo se guarda si todo ha ido bien (si falla a medias se empieza de cero la próxima vez)
+        lienzos.put(disposicion, lienzo);
+        log.debug("Atlas {} generado: {} de {} celdas redibujadas", clave, redibujadas, orden.length);
+    }
+
+    /**
+     * Borrar los atlas más antiguos cuando en disco hay más de MAX_ATLAS
+     */
+    private void podar(Path actual) {
+        List<Path> archivos;
+        try (Stream<Path> listado = Files.list(atlasLocation)) {
+            archivos = listado.filter(p -> p.getFileName().toString().endsWith(".png")).toList();
+        } catch (IOException ex) {
+            log.warn("No se pudo listar el directorio de atlas: {}", ex.getMessage());
+            return;
+        }
+        if (archivos.size() <= MAX_ATLAS) {
+            return;
+        }
+
+        Map<Path, Long> modificados = new HashMap<>();
+        for (Path archivo : archivos) {
+            try {
+                modificados.put(archivo, Files.getLastModifiedTime(archivo).toMillis());
+            } catch (IOException ex) {
+                // Borrado mientras tanto
+            }
+        }
+        List<Path> antiguos = new ArrayList<>(modificados.keySet());
+        antiguos.sort(Comparator.comparingLong(modificados::get));
+        int sobran = antiguos.size() - MAX_ATLAS;
+        for (int i = 0; i < antiguos.size() && sobran > 0; i++) {
+            Path archivo = antiguos.get(i);
+            if (archivo.equals(actual)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(archivo);
+                sobran--;
+            } catch (IOException ex) {
+                log.warn("No se pudo borrar el atlas {}: {}", archivo.getFileName(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hash de la lista de Pokémon y del contenido de cada celda
+     */
+    private String claveAtlas(int[] orden, String[] hashes) {
+        MessageDigest digest = ImagenUtil.nuevoSha256();
+        digest.update(("celda=" + CELDA + ";columnas=" + COLUMNAS).getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < orden.length; i++) {
+            digest.update((";" + orden[i] + "=" + hashes[i]).getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Último atlas dibujado para una lista de Pokémon y el hash de cada celda
+     */
+    private static final class Lienzo {
+        private final BufferedImage imagen;
+        private final String[] hashes;
+        private String clave;
+
+        private Lienzo(BufferedImage imagen, String[] hashes) {
+            this.imagen = imagen;
+            this.hashes = hashes;
+        }
+    }
+}
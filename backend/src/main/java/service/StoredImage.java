@@ -0,0 +1,61 @@
+package service;
+
+import java.nio.file.Path;
+
+/**
+ * Imagen almacenada en disco con los metadatos necesarios para servirla
+ * (tipo MIME, tamaño, fecha de modificación y ETag por hash de contenido)
+ */
+public final class StoredImage {
+
+    private final Path path;
+    private final String mimeType;
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+    private final String etag;
+
+    public StoredImage(Path path, String mimeType, long size, long lastModified, String hash) {
+        this.path = path;
+        this.mimeType = mimeType;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+        this.etag = "\"" + hash + "\"";
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getFileName() {
+        return path.getFileName().toString();
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * Versión corta del contenido para URLs cacheables (?v=)
+     */
+    public String getVersion() {
+        return hash.substring(0, 12);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+}
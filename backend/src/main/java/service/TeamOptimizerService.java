@@ -0,0 +1,509 @@
+package service;
+
+import dto.PokemonResumenDTO;
+import dto.TeamOptimizeRequest;
+import dto.TeamOptimizeResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optimizador de equipos: busca el equipo con mejor cobertura de tipos y estadísticas
+ *
+ * Cada Pokémon del catálogo se reduce a máscaras de bits sobre la tabla de efectividad
+ * (tipos a los que pega súper eficaz, tipos que resiste) y a contadores de debilidades
+ * empaquetados en un long (3 bits por tipo). La búsqueda es en haz: en cada paso se
+ * amplían en paralelo (pool fork-join de cálculo) los mejores equipos parciales con
+ * cada candidato, podando con una cota superior del aporte de cada candidato, y se
+ * conservan los anchoHaz mejores. Si se agota el presupuesto de tiempo, el mejor
+ * equipo parcial se completa de forma voraz.
+ *
+ * Puntuación de un equipo:
+ *   3 por cada tipo al que algún miembro pega súper eficaz con sus tipos
+ * + 2 por cada tipo atacante que algún miembro resiste (o es inmune)
+ * - 4 por cada debilidad compartida no compensada (2+ miembros débiles a un tipo
+ *     sin otros tantos que lo resistan)
+ * + 10 por miembro, según su total de estadísticas (normalizado con el máximo del catálogo)
+ */
+@Service
+public class TeamOptimizerService {
+
+    private static final int TAMANO_EQUIPO = 6;
+    private static final int ANCHO_DEFECTO = 64;
+    private static final int ANCHO_MAXIMO = 512;
+
+    // Equipos parciales que expande cada subtarea fork-join
+    private static final int UMBRAL_DIVISION = 4;
+
+    private static final float PESO_COBERTURA = 3f;
+    private static final float PESO_RESISTENCIA = 2f;
+    private static final float PESO_DEBILIDAD = 4f;
+    private static final float PESO_ESTADISTICAS = 10f;
+
+    // Bits por tipo en los contadores empaquetados (hasta 7 miembros por tipo)
+    private static final int BITS_CONTADOR = 3;
+    private static final int TOTAL = -1;
+
+    private static final Map<String, Integer> ESTADISTICAS = new LinkedHashMap<>();
+
+    static {
+        ESTADISTICAS.put("ps", CatalogoSnapshot.PS);
+        ESTADISTICAS.put("ataque", CatalogoSnapshot.ATAQUE);
+        ESTADISTICAS.put("defensa", CatalogoSnapshot.DEFENSA);
+        ESTADISTICAS.put("velocidad", CatalogoSnapshot.VELOCIDAD);
+        ESTADISTICAS.put("ataqueEspecial", CatalogoSnapshot.ATAQUE_ESPECIAL);
+        ESTADISTICAS.put("defensaEspecial", CatalogoSnapshot.DEFENSA_ESPECIAL);
+        ESTADISTICAS.put("total", TOTAL);
+    }
+
+    private static final Comparator<Estado> POR_PUNTUACION = Comparator.comparingDouble(e -> e.puntuacion);
+
+    private final CatalogoService catalogoService;
+    private final EfectividadService efectividadService;
+    private final ForkJoinPool calculoPool;
+    private final long presupuestoDefectoMs;
+    private final long presupuestoMaximoMs;
+
+    // Máscaras por Pokémon de la última instantánea del catálogo
+    private volatile Perfiles perfiles;
+
+    @Autowired
+    public TeamOptimizerService(CatalogoService catalogoService,
+                                EfectividadService efectividadService,
+                                ForkJoinPool calculoPool,
+                                @Value("${team.optimizer.budget-ms:500}") long presupuestoDefectoMs,
+                                @Value("${team.optimizer.max-budget-ms:3000}") long presupuestoMaximoMs) {
+        this.catalogoService = catalogoService;
+        this.efectividadService = efectividadService;
+        this.calculoPool = calculoPool;
+        this.presupuestoDefectoMs = presupuestoDefectoMs;
+        this.presupuestoMaximoMs = presupuestoMaximoMs;
+    }
+
+    /**
+     * Buscar el mejor equipo que cumpla las restricciones
+     */
+    public TeamOptimizeResponse optimizar(TeamOptimizeRequest request) {
+        long inicio = System.nanoTime();
+
+        int tamano = request.getTamano() != null ? request.getTamano() : TAMANO_EQUIPO;
+        if (tamano < 1 || tamano > TAMANO_EQUIPO) {
+            throw new RuntimeException("El equipo debe tener entre 1 y " + TAMANO_EQUIPO + " Pokémon");
+        }
+        int ancho = request.getAnchoHaz() != null ? request.getAnchoHaz() : ANCHO_DEFECTO;
+        if (ancho < 1 || ancho > ANCHO_MAXIMO) {
+            throw new RuntimeException("El ancho del haz debe estar entre 1 y " + ANCHO_MAXIMO);
+        }
+        long presupuesto = request.getPresupuestoMs() != null ? request.getPresupuestoMs() : presupuestoDefectoMs;
+        if (presupuesto < 1) {
+            throw new RuntimeException("El presupuesto de tiempo debe ser positivo");
+        }
+        long limite = inicio + TimeUnit.MILLISECONDS.toNanos(Math.min(presupuesto, presupuestoMaximoMs));
+
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        Perfiles p = perfiles(catalogo);
+
+        // Miembros fijos
+        List<Integer> fijos = request.getFijos() != null ? request.getFijos() : List.of();
+        if (fijos.size() > tamano) {
+            throw new RuntimeException("Hay más Pokémon fijos que miembros en el equipo");
+        }
+        Estado inicial = Estado.VACIO;
+        for (Integer id : fijos) {
+            int i = id != null ? catalogo.indice(id) : -1;
+            if (i < 0) {
+                throw new RuntimeException("Pokemon no encontrado con id: " + id);
+            }
+            if (inicial.contiene(i)) {
+                throw new RuntimeException("El Pokémon " + id + " está repetido en los fijos");
+            }
+            inicial = p.anadir(inicial, i);
+        }
+
+        Busqueda busqueda = new Busqueda(p, candidatos(catalogo, p, request, inicial), ancho, limite);
+        Estado mejor = busqueda.ejecutar(inicial, tamano);
+
+        return respuesta(catalogo, p, mejor, busqueda.evaluados.sum(),
+                (System.nanoTime() - inicio) / 1_000_000, !busqueda.cortada);
+    }
+
+    /**
+     * Candidatos que cumplen las restricciones, ordenados por su aporte máximo
+     * (así la poda por cota puede cortar el resto de la lista de una vez)
+     */
+    private int[] candidatos(CatalogoSnapshot catalogo, Perfiles p, TeamOptimizeRequest request, Estado inicial) {
+        Set<Integer> generaciones = request.getGeneraciones() != null && !request.getGeneraciones().isEmpty()
+                ? new HashSet<>(request.getGeneraciones()) : null;
+
+        Map<String, Integer> minimos = request.getEstadisticasMinimas() != null
+                ? request.getEstadisticasMinimas() : Map.of();
+        for (String clave : minimos.keySet()) {
+            if (!ESTADISTICAS.containsKey(clave)) {
+                throw new RuntimeException("Estadística desconocida: " + clave
+                        + " (válidas: " + String.join(", ", ESTADISTICAS.keySet()) + ")");
+            }
+        }
+
+        List<Integer> candidatos = new ArrayList<>();
+        for (int i = 0; i < catalogo.getTamano(); i++) {
+            if (!p.valido[i] || inicial.contiene(i)) {
+                continue;
+            }
+            if (generaciones != null && !generaciones.contains(catalogo.generacion(i))) {
+                continue;
+            }
+            if (!minimos.isEmpty() && !cumpleMinimos(catalogo, i, minimos)) {
+                continue;
+            }
+            candidatos.add(i);
+        }
+
+        candidatos.sort((a, b) -> Float.compare(p.aporteMaximo[b], p.aporteMaximo[a]));
+        return candidatos.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean cumpleMinimos(CatalogoSnapshot catalogo, int i, Map<String, Integer> minimos) {
+        if (!catalogo.tieneEstadisticas(i)) {
+            return false;
+        }
+        for (Map.Entry<String, Integer> minimo : minimos.entrySet()) {
+            if (minimo.getValue() == null) {
+                continue;
+            }
+            int estadistica = ESTADISTICAS.get(minimo.getKey());
+            int valor = estadistica == TOTAL ? catalogo.total(i) : catalogo.estadistica(i, estadistica);
+            if (valor < minimo.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TeamOptimizeResponse respuesta(CatalogoSnapshot catalogo, Perfiles p, Estado equipo,
+                                           long evaluados, long tiempoMs, boolean completo) {
+        List<PokemonResumenDTO> miembros = new ArrayList<>();
+        for (int i : equipo.miembros) {
+            miembros.add(catalogoService.resumen(catalogo, i));
+        }
+
+        List<String> cubiertos = new ArrayList<>();
+        List<String> sinCobertura = new ArrayList<>();
+        List<String> resistencias = new ArrayList<>();
+        List<String> compartidas = new ArrayList<>();
+        for (int t = 0; t < p.tipos; t++) {
+            String nombre = efectividadService.nombre(t);
+            ((equipo.ofensiva & (1 << t)) != 0 ? cubiertos : sinCobertura).add(nombre);
+            if ((equipo.resiste & (1 << t)) != 0) {
+                resistencias.add(nombre);
+            }
+            if (contador(equipo.debiles, t) - contador(equipo.resistencias, t) >= 2) {
+                compartidas.add(nombre);
+            }
+        }
+
+        return new TeamOptimizeResponse(miembros, equipo.puntuacion, cubiertos, sinCobertura,
+                resistencias, compartidas, evaluados, tiempoMs, completo);
+    }
+
+    private Perfiles perfiles(CatalogoSnapshot catalogo) {
+        Perfiles actual = perfiles;
+        if (actual == null || actual.version != catalogo.getVersion()) {
+            actual = new Perfiles(catalogo, efectividadService);
+            perfiles = actual;
+        }
+        return actual;
+    }
+
+    private static int contador(long contadores, int tipo) {
+        return (int) (contadores >>> (tipo * BITS_CONTADOR)) & ((1 << BITS_CONTADOR) - 1);
+    }
+
+    /**
+     * Hash de un miembro; el de un equipo es el XOR de los de sus miembros
+     * (no depende del orden, para descartar el mismo equipo alcanzado por dos caminos)
+     */
+    private static long mezclar(int i) {
+        long z = (i + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Equipo (parcial o completo) con sus máscaras acumuladas
+     */
+    private static final class Estado {
+        static final Estado VACIO = new Estado(new int[0], 0, 0, 0L, 0L, 0f, 0f, 0L);
+
+        final int[] miembros;
+        final int ofensiva;
+        final int resiste;
+        final long debiles;
+        final long resistencias;
+        final float estadisticas;
+        final float puntuacion;
+        final long hash;
+
+        Estado(int[] miembros, int ofensiva, int resiste, long debiles, long resistencias,
+               float estadisticas, float puntuacion, long hash) {
+            this.miembros = miembros;
+            this.ofensiva = ofensiva;
+            this.resiste = resiste;
+            this.debiles = debiles;
+            this.resistencias = resistencias;
+            this.estadisticas = estadisticas;
+            this.puntuacion = puntuacion;
+            this.hash = hash;
+        }
+
+        boolean contiene(int i) {
+            for (int m : miembros) {
+                if (m == i) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Máscaras y aportes precalculados de cada Pokémon de una instantánea del catálogo
+     */
+    private static final class Perfiles {
+        final long version;
+        final int tipos;
+        final boolean[] valido;
+        final int[] ofensiva;
+        final int[] resiste;
+        final long[] debiles;
+        final long[] resistencias;
+        final float[] estadisticas;
+        final float[] aporteMaximo;
+
+        Perfiles(CatalogoSnapshot catalogo, EfectividadService efectividad) {
+            this.version = catalogo.getVersion();
+            this.tipos = efectividad.numeroTipos();
+            if (tipos * BITS_CONTADOR > Long.SIZE || tipos > Integer.SIZE) {
+                throw new IllegalStateException("Demasiados tipos para las máscaras del optimizador: " + tipos);
+            }
+
+            int n = catalogo.getTamano();
+            this.valido = new boolean[n];
+            this.ofensiva = new int[n];
+            this.resiste = new int[n];
+            this.debiles = new long[n];
+            this.resistencias = new long[n];
+            this.estadisticas = new float[n];
+            this.aporteMaximo = new float[n];
+
+            int maxTotal = 1;
+            for (int i = 0; i < n; i++) {
+                maxTotal = Math.max(maxTotal, catalogo.total(i));
+            }
+
+            for (int i = 0; i < n; i++) {
+                int t1 = catalogo.tipo1(i);
+                int t2 = catalogo.tipo2(i);
+                if (t1 < 0) {
+                    continue;
+                }
+                valido[i] = true;
+                for (int t = 0; t < tipos; t++) {
+                    // Ataque con los tipos propios contra un defensor de tipo t
+                    if (efectividad.multiplicador(t1, t) > 1f || (t2 >= 0 && efectividad.multiplicador(t2, t) > 1f)) {
+                        ofensiva[i] |= 1 << t;
+                    }
+                    // Defensa frente a un atacante de tipo t
+                    float recibido = efectividad.multiplicador(t, t1, t2);
+                    if (recibido > 1f) {
+                        debiles[i] += 1L << (t * BITS_CONTADOR);
+                    } else if (recibido < 1f) {
+                        resiste[i] |= 1 << t;
+                        resistencias[i] += 1L << (t * BITS_CONTADOR);
+                    }
+                }
+                estadisticas[i] = PESO_ESTADISTICAS * catalogo.total(i) / maxTotal;
+
+                // Cota del aporte: cobertura y resistencias nuevas, debilidades compensadas y estadísticas
+                aporteMaximo[i] = PESO_COBERTURA * Integer.bitCount(ofensiva[i])
+                        + (PESO_RESISTENCIA + PESO_DEBILIDAD) * Integer.bitCount(resiste[i])
+                        + estadisticas[i];
+            }
+        }
+
+        Estado anadir(Estado equipo, int i) {
+            int[] miembros = Arrays.copyOf(equipo.miembros, equipo.miembros.length + 1);
+            miembros[equipo.miembros.length] = i;
+            int of = equipo.ofensiva | ofensiva[i];
+            int res = equipo.resiste | resiste[i];
+            long deb = equipo.debiles + debiles[i];
+            long resCont = equipo.resistencias + resistencias[i];
+            float est = equipo.estadisticas + estadisticas[i];
+
+            int compartidas = 0;
+            for (int t = 0; t < tipos; t++) {
+                compartidas += Math.max(0, contador(deb, t) - contador(resCont, t) - 1);
+            }
+            float puntuacion = PESO_COBERTURA * Integer.bitCount(of)
+                    + PESO_RESISTENCIA * Integer.bitCount(res)
+                    - PESO_DEBILIDAD * compartidas
+                    + est;
+
+            return new Estado(miembros, of, res, deb, resCont, est, puntuacion, equipo.hash ^ mezclar(i));
+        }
+    }
+
+    /**
+     * Una ejecución de la búsqueda en haz
+     */
+    private final class Busqueda {
+        final Perfiles perfiles;
+        final int[] candidatos;
+        final int ancho;
+        final long limite;
+        final LongAdder evaluados = new LongAdder();
+        volatile boolean cortada;
+
+        Busqueda(Perfiles perfiles, int[] candidatos, int ancho, long limite) {
+            this.perfiles = perfiles;
+            this.candidatos = candidatos;
+            this.ancho = ancho;
+            this.limite = limite;
+        }
+
+        Estado ejecutar(Estado inicial, int tamano) {
+            List<Estado> haz = List.of(inicial);
+            for (int nivel = inicial.miembros.length; nivel < tamano && !cortada; nivel++) {
+                List<Estado> siguiente = seleccionar(calculoPool.invoke(new Expansion(haz, 0, haz.size())));
+                if (siguiente.isEmpty()) {
+                    break; // No quedan candidatos
+                }
+                haz = siguiente;
+            }
+
+            // Sin tiempo para terminar: completar el mejor equipo parcial de forma voraz
+            Estado mejor = haz.get(0);
+            while (mejor.miembros.length < tamano) {
+                Estado siguiente = mejorHijo(mejor);
+                if (siguiente == null) {
+                    break;
+                }
+                mejor = siguiente;
+            }
+            return mejor;
+        }
+
+        /**
+         * Mejores equipos del nivel, sin repetidos y de mayor a menor puntuación
+         */
+        private List<Estado> seleccionar(List<Estado> hijos) {
+            hijos.sort(POR_PUNTUACION.reversed());
+            List<Estado> seleccion = new ArrayList<>(Math.min(ancho, hijos.size()));
+            Set<Long> vistos = new HashSet<>();
+            for (Estado hijo : hijos) {
+                if (seleccion.size() == ancho) {
+                    break;
+                }
+                if (vistos.add(hijo.hash)) {
+                    seleccion.add(hijo);
+                }
+            }
+            return seleccion;
+        }
+
+        private Estado mejorHijo(Estado padre) {
+            Estado mejor = null;
+            for (int c : candidatos) {
+                if (!padre.contiene(c)) {
+                    Estado hijo = perfiles.anadir(padre, c);
+                    if (mejor == null || hijo.puntuacion > mejor.puntuacion) {
+                        mejor = hijo;
+                    }
+                }
+            }
+            return mejor;
+        }
+
+        /**
+         * Amplía los equipos haz[desde, hasta) con cada candidato;
+         * devuelve como mucho los anchoHaz mejores de su tramo
+         */
+        private final class Expansion extends RecursiveTask<List<Estado>> {
+            private static final long serialVersionUID = 1L;
+
+            private final List<Estado> haz;
+            private final int desde;
+            private final int hasta;
+
+            Expansion(List<Estado> haz, int desde, int hasta) {
+                this.haz = haz;
+                this.desde = desde;
+                this.hasta = hasta;
+            }
+
+            @Override
+            protected List<Estado> compute() {
+                if (hasta - desde <= UMBRAL_DIVISION) {
+                    return expandir();
+                }
+                int mitad = (desde + hasta) >>> 1;
+                Expansion izquierda = new Expansion(haz, desde, mitad);
+                izquierda.fork();
+                List<Estado> derecha = new Expansion(haz, mitad, hasta).compute();
+                List<Estado> resultado = izquierda.join();
+                resultado.addAll(derecha);
+                return resultado;
+            }
+
+            private List<Estado> expandir() {
+                PriorityQueue<Estado> mejores = new PriorityQueue<>(ancho + 1, POR_PUNTUACION);
+                Set<Long> vistos = new HashSet<>();
+                long contador = 0;
+                int pasos = 0;
+
+                padres:
+                for (int s = desde; s < hasta; s++) {
+                    Estado padre = haz.get(s);
+                    for (int c : candidatos) {
+                        if ((++pasos & 63) == 0 && (cortada || System.nanoTime() - limite > 0)) {
+                            cortada = true;
+                            break padres;
+                        }
+                        // Candidatos ordenados por aporte máximo: si este no puede entrar, los siguientes tampoco
+                        if (mejores.size() == ancho && padre.puntuacion + perfiles.aporteMaximo[c] <= mejores.peek().puntuacion) {
+                            break;
+                        }
+                        if (padre.contiene(c) || !vistos.add(padre.hash ^ mezclar(c))) {
+                            continue;
+                        }
+                        Estado hijo = perfiles.anadir(padre, c);
+                        contador++;
+                        if (mejores.size() < ancho) {
+                            mejores.add(hijo);
+                        } else if (hijo.puntuacion > mejores.peek().puntuacion) {
+                            mejores.poll();
+                            mejores.add(hijo);
+                        }
+                    }
+                }
+
+                evaluados.add(contador);
+                return new ArrayList<>(mejores);
+            }
+        }
+    }
+}
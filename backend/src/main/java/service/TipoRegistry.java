@@ -0,0 +1,200 @@
+package service;
+
+import entity.Tipo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import repository.TipoRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Registro en memoria de los tipos de Pokémon
+ *
+ * Los 18 tipos casi nunca cambian: se cargan una vez en una instantánea inmutable
+ * (id, nombre, icono, color) y se sustituye entera al recargar. La búsqueda por nombre
+ * no distingue mayúsculas ni tildes y acepta también la clave en inglés (icono), así
+ * que "electrico", "Eléctrico" y "electric" resuelven al mismo tipo. Los nombres
+ * devueltos son siempre la misma instancia de String.
+ */
+@Service
+public class TipoRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TipoRegistry.class);
+
+    // Si la tabla estaba vacía (p. ej. antes de la carga inicial) se reintenta cada 10 s
+    private static final long REINTENTO_VACIO_MS = 10_000;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private final TipoRepository tipoRepository;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public TipoRegistry(TipoRepository tipoRepository) {
+        this.tipoRepository = tipoRepository;
+    }
+
+    /**
+     * Todos los tipos ordenados por id
+     */
+    public List<TipoInfo> todos() {
+        return snapshot().todos;
+    }
+
+    /**
+     * Tipo por id (null si no existe)
+     */
+    public TipoInfo porId(Integer id) {
+        return id != null ? snapshot().porId.get(id) : null;
+    }
+
+    /**
+     * Tipo por nombre en español o clave en inglés, sin distinguir tildes (null si no existe)
+     */
+    public TipoInfo porNombre(String nombre) {
+        return nombre != null ? snapshot().porClave.get(normalizar(nombre)) : null;
+    }
+
+    /**
+     * Tipo por nombre; lanza excepción si no existe
+     */
+    public TipoInfo resolver(String nombre) {
+        TipoInfo tipo = porNombre(nombre);
+        if (tipo == null) {
+            throw new RuntimeException("El tipo '" + nombre + "' no existe");
+        }
+        return tipo;
+    }
+
+    /**
+     * Nombre del tipo con ese id (null si no existe)
+     */
+    public String nombre(Integer id) {
+        TipoInfo tipo = porId(id);
+        return tipo != null ? tipo.getNombre() : null;
+    }
+
+    /**
+     * Versión de la instantánea actual (cambia cuando cambia algún tipo)
+     */
+    public long version() {
+        return snapshot().version;
+    }
+
+    /**
+     * Volver a leer los tipos de la base de datos (llamar tras modificarlos)
+     */
+    public synchronized void recargar() {
+        List<Tipo> tipos = tipoRepository.findAll();
+        tipos.sort(Comparator.comparing(Tipo::getId));
+
+        List<TipoInfo> todos = new ArrayList<>(tipos.size());
+        Map<Integer, TipoInfo> porId = new HashMap<>();
+        Map<String, TipoInfo> porClave = new HashMap<>();
+        for (Tipo tipo : tipos) {
+            TipoInfo info = new TipoInfo(tipo.getId(), tipo.getNombre().intern(), tipo.getIcono(), tipo.getColor());
+            todos.add(info);
+            porId.put(info.getId(), info);
+            porClave.put(normalizar(info.getNombre()), info);
+            if (info.getIcono() != null) {
+                porClave.putIfAbsent(normalizar(info.getIcono()), info);
+            }
+        }
+
+        // Versión derivada del contenido: estable entre reinicios mientras los tipos no cambien
+        CRC32 crc = new CRC32();
+        for (TipoInfo info : todos) {
+            crc.update((info.getId() + "|" + info.getNombre() + "|" + info.getIcono() + "|" + info.getColor() + ";")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        long version = crc.getValue();
+        snapshot = new Snapshot(Collections.unmodifiableList(todos), Map.copyOf(porId), Map.copyOf(porClave),
+                version, System.currentTimeMillis());
+        log.info("Registro de tipos cargado: {} tipos", todos.size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot actual = snapshot;
+        if (actual == null || (actual.todos.isEmpty()
+                && System.currentTimeMillis() - actual.cargadoEn > REINTENTO_VACIO_MS)) {
+            synchronized (this) {
+                if (snapshot == actual) {
+                    recargar();
+                }
+                actual = snapshot;
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Minúsculas y sin tildes ni espacios sobrantes
+     */
+    static String normalizar(String texto) {
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return sinMarcas.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+        private final List<TipoInfo> todos;
+        private final Map<Integer, TipoInfo> porId;
+        private final Map<String, TipoInfo> porClave;
+        private final long version;
+        private final long cargadoEn;
+
+        private Snapshot(List<TipoInfo> todos, Map<Integer, TipoInfo> porId,
+                         Map<String, TipoInfo> porClave, long version, long cargadoEn) {
+            this.todos = todos;
+            this.porId = porId;
+            this.porClave = porClave;
+            this.version = version;
+            this.cargadoEn = cargadoEn;
+        }
+    }
+
+    /**
+     * Datos inmutables de un tipo
+     */
+    public static final class TipoInfo {
+        private final Integer id;
+        private final String nombre;
+        private final String icono;
+        private final String color;
+
+        public TipoInfo(Integer id, String nombre, String icono, String color) {
+            this.id = id;
+            this.nombre = nombre;
+            this.icono = icono;
+            this.color = color;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public String getIcono() {
+            return icono;
+        }
+
+        public String getColor() {
+            return color;
+        }
+    }
+}
@@ -1,36 +1,33 @@
 package service;
 
 import dto.TipoDTO;
-import entity.Tipo;
-import repository.TipoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Servicio para Tipos de Pokémon
+ * Lee del registro en memoria (TipoRegistry), sin consultas a la base de datos
  */
 @Service
-@Transactional
 public class TipoService {
 
-    private final TipoRepository tipoRepository;
+    private final TipoRegistry tipoRegistry;
 
     @Autowired
-    public TipoService(TipoRepository tipoRepository) {
-        this.tipoRepository = tipoRepository;
+    public TipoService(TipoRegistry tipoRegistry) {
+        this.tipoRegistry = tipoRegistry;
     }
 
     /**
      * Obtener todos los tipos
      */
     public List<TipoDTO> obtenerTodos() {
-        List<Tipo> tipos = tipoRepository.findAll();
-        List<TipoDTO> dtos = new ArrayList<>();
-        for (Tipo tipo : tipos) {
+        List<TipoRegistry.TipoInfo> tipos = tipoRegistry.todos();
+        List<TipoDTO> dtos = new ArrayList<>(tipos.size());
+        for (TipoRegistry.TipoInfo tipo : tipos) {
             dtos.add(convertirADTO(tipo));
         }
         return dtos;
@@ -40,17 +37,21 @@ public class TipoService {
      * Obtener tipo por ID
      */
     public TipoDTO obtenerPorId(Integer id) {
-        Tipo tipo = tipoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Tipo no encontrado con id: " + id));
+        TipoRegistry.TipoInfo tipo = tipoRegistry.porId(id);
+        if (tipo == null) {
+            throw new RuntimeException("Tipo no encontrado con id: " + id);
+        }
         return convertirADTO(tipo);
     }
 
     /**
-     * Obtener tipo por nombre
+     * Obtener tipo por nombre (sin distinguir mayúsculas ni tildes)
      */
     public TipoDTO obtenerPorNombre(String nombre) {
-        Tipo tipo = tipoRepository.findByNombre(nombre)
-                .orElseThrow(() -> new RuntimeException("Tipo no encontrado: " + nombre));
+        TipoRegistry.TipoInfo tipo = tipoRegistry.porNombre(nombre);
+        if (tipo == null) {
+            throw new RuntimeException("Tipo no encontrado: " + nombre);
+        }
         return convertirADTO(tipo);
     }
 
@@ -58,10 +59,17 @@ public class TipoService {
      * Verificar si un tipo existe
      */
     public boolean existeTipo(Integer id) {
-        return tipoRepository.existsById(id);
+        return tipoRegistry.porId(id) != null;
+    }
+
+    /**
+     * Versión de los datos de tipos (para ETag)
+     */
+    public long version() {
+        return tipoRegistry.version();
     }
 
-    private TipoDTO convertirADTO(Tipo tipo) {
+    private TipoDTO convertirADTO(TipoRegistry.TipoInfo tipo) {
         TipoDTO dto = new TipoDTO();
         dto.setId(tipo.getId());
         dto.setNombre(tipo.getNombre());
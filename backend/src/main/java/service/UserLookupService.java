@@ -0,0 +1,96 @@
+package service;
+
+import dto.UserSummary;
+import repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import util.CacheLru;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché username -> (id, rol, habilitado)
+ *
+ * Evita cargar la fila completa de User (con su avatar) en cada petición
+ * autenticada que solo necesita el id. Se invalida al actualizar el perfil,
+ * renombrar o eliminar la cuenta.
+ *
+ * Cada invalidación incrementa una versión: una consulta que empezó antes de la
+ * invalidación no deja en caché lo que leyó (podría ser el nombre antiguo).
+ */
+@Service
+public class UserLookupService {
+
+    // Máximo de usuarios en memoria
+    private static final int MAX_USUARIOS = 10_000;
+
+    private final UserRepository userRepository;
+    private final CacheLru<String, UserSummary> usuarios = new CacheLru<>(MAX_USUARIOS);
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public UserLookupService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Obtener el resumen de un usuario (desde caché si es posible)
+     */
+    public UserSummary obtener(String username) {
+        UserSummary cached = usuarios.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long leida = version.get();
+        UserSummary summary = userRepository.findSummaryByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+
+        if (version.get() == leida) {
+            usuarios.put(username, summary);
+            // Si se invalidó justo entre la comprobación y el put, se deshace el put
+            if (version.get() != leida) {
+                usuarios.remove(username, summary);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Obtener solo el id de un usuario
+     */
+    public Integer obtenerId(String username) {
+        return obtener(username).getId();
+    }
+
+    /**
+     * Invalidar la entrada de un usuario.
+     * Si hay una transacción activa se invalida también tras el commit,
+     * para que una lectura concurrente no deje datos antiguos en caché.
+     */
+    public void invalidar(String username) {
+        if (username == null) {
+            return;
+        }
+        quitar(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    quitar(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Primero la versión y después la entrada (ver obtener)
+     */
+    private void quitar(String username) {
+        version.incrementAndGet();
+        usuarios.remove(username);
+    }
+}
@@ -0,0 +1,170 @@
+package service;
+
+import dto.PokemonResumenDTO;
+import dto.VisitasDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import repository.PokemonRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Visitas a la ficha de cada Pokémon
+ *
+ * Servir la ficha solo suma en un LongAdder (sin bloqueos ni escrituras en la BD).
+ * Cada pocos segundos las visitas nuevas se suman a la columna Pokemon.visitas con
+ * un único UPDATE por lotes. Para "lo más visto" de la última hora y del último día
+ * se cuentan además en dos ventanas deslizantes: 12 tramos de 5 minutos y 24 de 1 hora.
+ */
+@Service
+public class VisitasService {
+
+    private static final Logger log = LoggerFactory.getLogger(VisitasService.class);
+
+    public static final int LIMITE_DEFECTO = 20;
+    public static final int MAX_LIMITE = 100;
+
+    private static final long MINUTO_MS = 60_000L;
+
+    private static final String UPDATE = "UPDATE Pokemon SET visitas = visitas + ? WHERE idPokemon = ?";
+
+    private final PokemonRepository pokemonRepository;
+    private final CatalogoService catalogoService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Visitas desde el arranque y las ya volcadas a la BD (esta solo la toca el volcado)
+    private final Map<Integer, LongAdder> visitas = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> volcadas = new HashMap<>();
+
+    // Pokémon con visitas sin volcar
+    private final Set<Integer> modificados = ConcurrentHashMap.newKeySet();
+
+    private final ContadorPorTramos ultimaHora = new ContadorPorTramos(12);
+    private final ContadorPorTramos ultimoDia = new ContadorPorTramos(24);
+
+    private final Object volcado = new Object();
+
+    @Autowired
+    public VisitasService(PokemonRepository pokemonRepository,
+                          CatalogoService catalogoService,
+                          JdbcTemplate jdbcTemplate) {
+        this.pokemonRepository = pokemonRepository;
+        this.catalogoService = catalogoService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Contar una visita a la ficha del Pokémon
+     */
+    public void registrar(Integer pokemonId) {
+        visitas.computeIfAbsent(pokemonId, id -> new LongAdder()).increment();
+        ultimaHora.sumar(pokemonId, 1);
+        ultimoDia.sumar(pokemonId, 1);
+        // Después de sumar: si el volcado ya leyó el contador, el Pokémon vuelve a quedar pendiente
+        modificados.add(pokemonId);
+    }
+
+    /**
+     * Pokémon más visitados en el periodo: hora, dia o total
+     * (el total es el de la BD, hasta el último volcado)
+     */
+    public List<VisitasDTO> masVistos(String periodo, Integer limite) {
+        int n = limite != null ? limite : LIMITE_DEFECTO;
+        if (n < 1 || n > MAX_LIMITE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMITE);
+        }
+
+        Map<Integer, Long> cuentas;
+        switch (periodo != null ? periodo : "hora") {
+            case "hora" -> cuentas = ultimaHora.totales();
+            case "dia" -> cuentas = ultimoDia.totales();
+            case "total" -> {
+                cuentas = new HashMap<>();
+                for (Object[] fila : pokemonRepository.findMasVistos(PageRequest.of(0, n))) {
+                    cuentas.put((Integer) fila[0], (Long) fila[1]);
+                }
+            }
+            default -> throw new IllegalArgumentException("Periodo no válido: " + periodo + " (hora, dia o total)");
+        }
+
+        CatalogoSnapshot catalogo = catalogoService.obtener();
+        List<VisitasDTO> resultado = new ArrayList<>();
+        for (Map.Entry<Integer, Long> entrada : cuentas.entrySet()) {
+            int i = catalogo.indice(entrada.getKey());
+            if (i >= 0 && entrada.getValue() > 0) {
+                PokemonResumenDTO resumen = catalogoService.resumen(catalogo, i);
+                resultado.add(new VisitasDTO(resumen.getId(), resumen.getNumero(), resumen.getNombre(),
+                        resumen.getTipos(), entrada.getValue()));
+            }
+        }
+        resultado.sort(Comparator.comparing(VisitasDTO::getVisitas).reversed()
+                .thenComparing(VisitasDTO::getNumero));
+        return resultado.size() > n ? new ArrayList<>(resultado.subList(0, n)) : resultado;
+    }
+
+    /**
+     * Sumar las visitas nuevas a Pokemon.visitas en un único lote
+     */
+    @Scheduled(fixedDelayString = "${visitas.flush-ms:5000}")
+    public void volcar() {
+        synchronized (volcado) {
+            List<Integer> ids = new ArrayList<>();
+            List<Long> totales = new ArrayList<>();
+            List<Object[]> lote = new ArrayList<>();
+            for (Integer pokemonId : modificados) {
+                // Primero se quita y luego se lee: una visita posterior lo vuelve a marcar
+                if (modificados.remove(pokemonId)) {
+                    long total = visitas.get(pokemonId).sum();
+                    long nuevas = total - volcadas.getOrDefault(pokemonId, 0L);
+                    if (nuevas > 0) {
+                        ids.add(pokemonId);
+                        totales.add(total);
+                        lote.add(new Object[]{nuevas, pokemonId});
+                    }
+                }
+            }
+            if (lote.isEmpty()) {
+                return;
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(UPDATE, lote);
+                for (int k = 0; k < ids.size(); k++) {
+                    volcadas.put(ids.get(k), totales.get(k));
+                }
+            } catch (DataAccessException ex) {
+                log.warn("No se pudieron volcar las visitas ({} Pokémon): {}", lote.size(), ex.getMessage());
+                modificados.addAll(ids);
+            }
+        }
+    }
+
+    @Scheduled(fixedRate = 5 * MINUTO_MS, initialDelay = 5 * MINUTO_MS)
+    public void rotarHora() {
+        ultimaHora.rotar();
+    }
+
+    @Scheduled(fixedRate = 60 * MINUTO_MS, initialDelay = 60 * MINUTO_MS)
+    public void rotarDia() {
+        ultimoDia.rotar();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        volcar();
+    }
+}
@@ -0,0 +1,95 @@
+package util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché acotada que descarta las entradas usadas hace más tiempo (LRU)
+ *
+ * Está repartida en segmentos por hash, cada uno un LinkedHashMap en orden de acceso
+ * con su propio cerrojo: al llenarse solo sale la entrada menos usada de un segmento
+ * (nunca se vacía entera) y las lecturas de claves distintas apenas compiten.
+ */
+public final class CacheLru<K, V> {
+
+    private static final int SEGMENTOS = 16;
+
+    private final Segmento<K, V>[] segmentos;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CacheLru(int capacidad) {
+        int porSegmento = Math.max(1, (capacidad + SEGMENTOS - 1) / SEGMENTOS);
+        segmentos = new Segmento[SEGMENTOS];
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Segmento<>(porSegmento);
+        }
+    }
+
+    /**
+     * Valor de la clave (null si no está); cuenta como uso reciente
+     */
+    public V get(K clave) {
+        Segmento<K, V> segmento = segmento(clave);
+        synchronized (segmento) {
+            return segmento.get(clave);
+        }
+    }
+
+    /**
+     * Guardar la entrada; si el segmento está lleno sale la menos usada
+     */
+    public void put(K clave, V valor) {
+        Segmento<K, V> segmento = segmento(clave);
+        synchronized (segmento) {
+            segmento.put(clave, valor);
+        }
+    }
+
+    public void remove(K clave) {
+        Segmento<K, V> segmento = segmento(clave);
+        synchronized (segmento) {
+            segmento.remove(clave);
+        }
+    }
+
+    /**
+     * Quitar la entrada solo si sigue teniendo ese valor
+     */
+    public boolean remove(K clave, V valor) {
+        Segmento<K, V> segmento = segmento(clave);
+        synchronized (segmento) {
+            return segmento.remove(clave, valor);
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    private Segmento<K, V> segmento(K clave) {
+        int h = clave.hashCode();
+        return segmentos[(h ^ (h >>> 16)) & (SEGMENTOS - 1)];
+    }
+
+    private static final class Segmento<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacidad;
+
+        Segmento(int capacidad) {
+            super(16, 0.75f, true);
+            this.capacidad = capacidad;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> masAntigua) {
+            return size() > capacidad;
+        }
+    }
+}
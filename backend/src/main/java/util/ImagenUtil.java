@@ -0,0 +1,229 @@
+package util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * Utilidades para procesar imágenes (redimensionar, codificar, hash de contenido)
+ */
+public final class ImagenUtil {
+
+    // Máximo de píxeles que se aceptan al decodificar (4096 x 4096: 64 MB en ARGB)
+    public static final long MAX_PIXELES = 4096L * 4096L;
+
+    private ImagenUtil() {
+    }
+
+    /**
+     * Decodificar una imagen recibida en memoria, comprobando antes sus dimensiones.
+     * Devuelve null si no es un formato de imagen reconocido.
+     */
+    public static BufferedImage leer(byte[] datos) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(new ByteArrayInputStream(datos))) {
+            return leer(entrada);
+        }
+    }
+
+    /**
+     * Decodificar una imagen de disco, comprobando antes sus dimensiones.
+     * Devuelve null si no es un formato de imagen reconocido.
+     */
+    public static BufferedImage leer(Path archivo) throws IOException {
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(archivo.toFile())) {
+            return leer(entrada);
+        }
+    }
+
+    /**
+     * Ancho y alto salen de la cabecera: una imagen pequeña en bytes que declara
+     * dimensiones enormes se rechaza sin reservar el búfer de píxeles.
+     */
+    private static BufferedImage leer(ImageInputStream entrada) throws IOException {
+        if (entrada == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(entrada);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(entrada, true, true);
+            int ancho = reader.getWidth(0);
+            int alto = reader.getHeight(0);
+            if ((long) ancho * alto > MAX_PIXELES) {
+                throw new ImagenDemasiadoGrandeException(ancho, alto);
+            }
+            return reader.read(0);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Redimensionar manteniendo la proporción para que el lado mayor no supere maxLado.
+     * Si la imagen ya es más pequeña se devuelve tal cual.
+     * Reduce a la mitad por pasos para conservar calidad en reducciones grandes.
+     */
+    public static BufferedImage redimensionar(BufferedImage original, int maxLado) {
+        int ancho = original.getWidth();
+        int alto = original.getHeight();
+        if (ancho <= maxLado && alto <= maxLado) {
+            return original;
+        }
+
+        double escala = (double) maxLado / Math.max(ancho, alto);
+        int anchoFinal = Math.max(1, (int) Math.round(ancho * escala));
+        int altoFinal = Math.max(1, (int) Math.round(alto * escala));
+
+        BufferedImage actual = original;
+        int w = ancho;
+        int h = alto;
+        do {
+            w = Math.max(anchoFinal, w / 2);
+            h = Math.max(altoFinal, h / 2);
+            actual = escalar(actual, w, h);
+        } while (w != anchoFinal || h != altoFinal);
+
+        return actual;
+    }
+
+    /**
+     * Escalar a un tamaño exacto con interpolación bilineal
+     */
+    public static BufferedImage escalar(BufferedImage origen, int ancho, int alto) {
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origen, 0, 0, ancho, alto, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    /**
+     * Codificar una imagen como PNG
+     */
+    public static byte[] aPng(BufferedImage imagen) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(imagen, "png", out)) {
+            throw new IOException("No hay codificador PNG disponible");
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Codificar como JPEG con la calidad indicada (0-1).
+     * JPEG no admite canal alfa: la imagen se aplana sobre fondo blanco.
+     */
+    public static byte[] aJpeg(BufferedImage imagen, float calidad) throws IOException {
+        BufferedImage rgb = new BufferedImage(imagen.getWidth(), imagen.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(imagen, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return codificar(rgb, "jpeg", calidad);
+    }
+
+    /**
+     * Codificar como PNG con la compresión máxima
+     */
+    public static byte[] aPngComprimido(BufferedImage imagen) throws IOException {
+        return codificar(imagen, "png", 0.0f);
+    }
+
+    /**
+     * Indica si la imagen tiene algún píxel no opaco
+     */
+    public static boolean tieneTransparencia(BufferedImage imagen) {
+        if (!imagen.getColorModel().hasAlpha()) {
+            return false;
+        }
+        for (int y = 0; y < imagen.getHeight(); y++) {
+            for (int x = 0; x < imagen.getWidth(); x++) {
+                if ((imagen.getRGB(x, y) >>> 24) != 0xFF) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Codificar con un ImageWriter ajustando la compresión
+     * (para PNG, una calidad menor significa más compresión)
+     */
+    private static byte[] codificar(BufferedImage imagen, String formato, float calidad) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(formato);
+        if (!writers.hasNext()) {
+            throw new IOException("No hay codificador " + formato + " disponible");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(calidad);
+            }
+            writer.write(null, new IIOImage(imagen, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Hash SHA-256 en hexadecimal
+     */
+    public static String sha256Hex(byte[] datos) {
+        return HexFormat.of().formatHex(nuevoSha256().digest(datos));
+    }
+
+    /**
+     * Nuevo MessageDigest SHA-256
+     */
+    public static MessageDigest nuevoSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * La imagen declara más píxeles de los permitidos (MAX_PIXELES)
+     */
+    public static class ImagenDemasiadoGrandeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public ImagenDemasiadoGrandeException(int ancho, int alto) {
+            super("La imagen es demasiado grande (" + ancho + "x" + alto + " px)");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -24,17 +26,66 @@ public class JwtUtil {
     // Tiempo de expiración: 24 horas (en milisegundos)
     private static final long JWT_TOKEN_VALIDITY = 24 * 60 * 60 * 1000;
 
+    // Máximo de tokens verificados que se mantienen en memoria
+    private static final int MAX_VERIFIED_TOKENS = 10_000;
+
+    // Clave y parser se construyen una sola vez (son inmutables y thread-safe)
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
+    // Caché token -> datos ya verificados, para no repetir la firma HMAC en cada petición
+    // (LRU: una ráfaga de tokens distintos solo desplaza a los menos usados)
+    private final CacheLru<String, VerifiedToken> verifiedTokens = new CacheLru<>(MAX_VERIFIED_TOKENS);
+
     /**
-     * Generar clave de firma
+     * Obtener clave de firma
      */
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return signingKey;
+    }
+
+    /**
+     * Verificar el token una única vez y devolver username, rol y expiración.
+     * Si el token ya fue verificado y no ha expirado se responde desde la caché.
+     * Devuelve null si el token no es válido o ha expirado.
+     */
+    public VerifiedToken verifyToken(String token) {
+        VerifiedToken cached = getCachedToken(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = extractAllClaims(token);
+            Date expiration = claims.getExpiration();
+            verified = new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    expiration != null ? expiration.getTime() : Long.MAX_VALUE
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        if (verified.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+
+        cacheToken(token, verified);
+        return verified;
     }
 
     /**
      * Extraer el username del token
      */
     public String extractUsername(String token) {
+        VerifiedToken cached = getCachedToken(token);
+        if (cached != null) {
+            return cached.getUsername();
+        }
         return extractClaim(token, Claims::getSubject);
     }
 
@@ -42,6 +93,10 @@ public class JwtUtil {
      * Extraer el rol del token
      */
     public String extractRole(String token) {
+        VerifiedToken cached = getCachedToken(token);
+        if (cached != null) {
+            return cached.getRole();
+        }
         return extractClaim(token, claims -> claims.get("role", String.class));
     }
 
@@ -64,11 +119,32 @@ public class JwtUtil {
      * Extraer todos los claims del token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Token de la caché si existe y sigue vigente
+     */
+    private VerifiedToken getCachedToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            verifiedTokens.remove(token, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Guardar token verificado (la caché descarta sola los menos usados al llenarse)
+     */
+    private void cacheToken(String token, VerifiedToken verified) {
+        verifiedTokens.put(token, verified);
     }
 
     /**
@@ -116,10 +192,40 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return verifyToken(token) != null;
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Datos de un token ya verificado (firma y expiración comprobadas)
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final String role;
+        private final long expiresAt;
+
+        public VerifiedToken(String username, String role, long expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+
+        public boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package config;
+
+import com.pokedex.PokedexApplication;
+import entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Una tabla favoritos sin índice único y con duplicados queda limpia y con el índice
+ */
+@SpringBootTest(classes = PokedexApplication.class)
+@ActiveProfiles("test")
+class MigracionFavoritosTest {
+
+    private static final String INSERTAR =
+            "INSERT INTO favoritos (usuario_id, pokemon_id, fecha_agregado) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private MigracionFavoritos migracion;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void borraDuplicadosYCreaElIndice() {
+        Integer usuarioId = userRepository.save(new User("migracion", "x", "migracion@test.local")).getId();
+        assertTrue(migracion.tieneIndiceUnico());
+
+        jdbcTemplate.execute("ALTER TABLE favoritos DROP CONSTRAINT " + MigracionFavoritos.INDICE);
+        assertFalse(migracion.tieneIndiceUnico());
+        for (int k = 0; k < 3; k++) {
+            jdbcTemplate.update(INSERTAR, usuarioId, 1);
+        }
+        jdbcTemplate.update(INSERTAR, usuarioId, 2);
+
+        migracion.run(null);
+
+        assertTrue(migracion.tieneIndiceUnico());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM favoritos WHERE usuario_id = ?", Integer.class, usuarioId));
+        assertThrows(RuntimeException.class, () -> jdbcTemplate.update(INSERTAR, usuarioId, 1));
+    }
+}
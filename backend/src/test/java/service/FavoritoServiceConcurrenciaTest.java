@@ -0,0 +1,82 @@
+package service;
+
+import com.pokedex.PokedexApplication;
+import entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Muchos hilos alternando el mismo favorito a la vez: nunca hay filas duplicadas
+ * y el contador de popularidad coincide con las filas de la tabla
+ */
+@SpringBootTest(classes = PokedexApplication.class)
+@ActiveProfiles("test")
+class FavoritoServiceConcurrenciaTest {
+
+    private static final int HILOS = 16;
+    private static final int ALTERNANCIAS = 50;
+    private static final int POKEMON_ID = 25;
+
+    @Autowired
+    private FavoritoService favoritoService;
+
+    @Autowired
+    private PopularidadService popularidadService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void toggleConcurrenteMantieneFilasYPopularidad() throws Exception {
+        userRepository.save(new User("concurrente", "x", "concurrente@test.local"));
+        long popularidadInicial = popularidadService.favoritos(POKEMON_ID);
+
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+        try {
+            for (int h = 0; h < HILOS; h++) {
+                resultados.add(pool.submit(() -> {
+                    salida.await();
+                    int altas = 0;
+                    for (int k = 0; k < ALTERNANCIAS; k++) {
+                        if (favoritoService.toggleFavorito("concurrente", POKEMON_ID)) {
+                            altas++;
+                        }
+                    }
+                    return altas;
+                }));
+            }
+            salida.countDown();
+            for (Future<Integer> resultado : resultados) {
+                resultado.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Integer filas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM favoritos f JOIN users u ON u.id = f.usuario_id " +
+                "WHERE u.username = 'concurrente' AND f.pokemon_id = ?", Integer.class, POKEMON_ID);
+        assertTrue(filas == 0 || filas == 1, "Filas duplicadas: " + filas);
+        assertEquals(filas.longValue(), popularidadService.favoritos(POKEMON_ID) - popularidadInicial);
+        assertEquals(filas == 1, favoritoService.esFavorito("concurrente", POKEMON_ID));
+    }
+}
@@ -0,0 +1,99 @@
+package service;
+
+import config.FileStorageProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.ImagenUtil;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Subidas simultáneas de la misma imagen con distinta extensión
+ */
+class FileStorageServiceTest {
+
+    private static final int HILOS = 8;
+    private static final int SUBIDAS = 25;
+
+    @TempDir
+    Path directorio;
+
+    private FileStorageService servicio;
+
+    @BeforeEach
+    void crear() {
+        FileStorageProperties propiedades = new FileStorageProperties();
+        propiedades.setUploadDir(directorio.resolve("pokemon").toString());
+        propiedades.setAvatarDir(directorio.resolve("avatars").toString());
+        // Cabe una generación de variantes por subida (sin avisos de cola llena)
+        propiedades.setVariantThreads(1);
+        propiedades.setVariantQueueCapacity(HILOS * SUBIDAS);
+        propiedades.setCompressedQuality(0.8f);
+        servicio = new FileStorageService(propiedades);
+    }
+
+    @AfterEach
+    void cerrar() {
+        servicio.shutdown();
+    }
+
+    @Test
+    void siempreQuedaUnaImagenPublicadaYSoloUna() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> subidas = new ArrayList<>();
+        try {
+            for (int h = 0; h < HILOS; h++) {
+                String extension = h % 2 == 0 ? ".png" : ".jpg";
+                byte[] contenido = png(h);
+                subidas.add(pool.submit(() -> {
+                    salida.await();
+                    for (int k = 0; k < SUBIDAS; k++) {
+                        servicio.storeImage(1, () -> new ByteArrayInputStream(contenido), extension);
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> subida : subidas) {
+                subida.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        StoredImage publicada = servicio.getImage(1);
+        assertTrue(Files.exists(publicada.getPath()), "El índice apunta a un archivo borrado");
+        try (Stream<Path> archivos = Files.list(directorio.resolve("pokemon"))) {
+            assertEquals(List.of(publicada.getFileName()), archivos
+                    .map(archivo -> archivo.getFileName().toString())
+                    .filter(nombre -> nombre.matches("pokemon_1\\.(png|jpg)"))
+                    .toList());
+        }
+    }
+
+    /**
+     * PNG real y pequeño (las variantes se generan sin errores), distinto por semilla
+     */
+    private static byte[] png(int semilla) throws IOException {
+        BufferedImage imagen = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        imagen.setRGB(0, 0, 0xFF000000 | semilla * 0x10101);
+        return ImagenUtil.aPng(imagen);
+    }
+}
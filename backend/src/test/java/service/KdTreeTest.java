@@ -0,0 +1,112 @@
+package service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Vecinos del árbol k-d comparados con fuerza bruta. Con empates el orden de los
+ * índices puede variar, así que se comparan las distancias y se comprueba que cada
+ * índice devuelto está a la distancia indicada.
+ */
+class KdTreeTest {
+
+    @Test
+    void coincideConFuerzaBruta() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int dimensiones : new int[]{1, 2, 6}) {
+            for (int tamano : new int[]{1, 5, 64, 2_000}) {
+                // Coordenadas enteras en un rango pequeño: muchos empates y puntos repetidos
+                float[] puntos = new float[tamano * dimensiones];
+                for (int i = 0; i < puntos.length; i++) {
+                    puntos[i] = random.nextInt(20);
+                }
+                KdTree arbol = new KdTree(puntos, dimensiones);
+
+                for (int consulta = 0; consulta < Math.min(tamano, 100); consulta++) {
+                    for (int k : new int[]{1, 10, tamano + 3}) {
+                        comprobar(arbol, puntos, dimensiones, punto(puntos, dimensiones, consulta), k, consulta);
+                        comprobar(arbol, puntos, dimensiones, punto(puntos, dimensiones, consulta), k, -1);
+                    }
+                }
+                // Consultas que no son puntos del árbol
+                for (int q = 0; q < 50; q++) {
+                    float[] consulta = new float[dimensiones];
+                    for (int e = 0; e < dimensiones; e++) {
+                        consulta[e] = random.nextInt(-5, 25) + 0.5f;
+                    }
+                    comprobar(arbol, puntos, dimensiones, consulta, 7, -1);
+                }
+            }
+        }
+    }
+
+    @Test
+    void arbolVacioYParametrosNoValidos() {
+        KdTree vacio = new KdTree(new float[0], 3);
+        assertEquals(0, vacio.vecinos(new float[3], 5, -1, new int[5], new float[5]));
+
+        KdTree arbol = new KdTree(new float[]{1, 2, 3, 4}, 2);
+        assertEquals(0, arbol.vecinos(new float[]{0, 0}, 0, -1, new int[1], new float[1]));
+
+        assertThrows(IllegalArgumentException.class, () -> new KdTree(new float[5], 2));
+        assertThrows(IllegalArgumentException.class, () -> new KdTree(new float[4], 0));
+    }
+
+    private static void comprobar(KdTree arbol, float[] puntos, int dimensiones, float[] consulta,
+                                  int k, int excluido) {
+        int[] indices = new int[k];
+        float[] distancias = new float[k];
+        int encontrados = arbol.vecinos(consulta, k, excluido, indices, distancias);
+
+        float[] esperadas = fuerzaBruta(puntos, dimensiones, consulta, excluido);
+        int n = Math.min(k, esperadas.length);
+        assertEquals(n, encontrados);
+        assertArrayEquals(Arrays.copyOf(esperadas, n), Arrays.copyOf(distancias, n));
+
+        Set<Integer> vistos = new HashSet<>();
+        for (int j = 0; j < encontrados; j++) {
+            assertNotEquals(excluido, indices[j]);
+            assertTrue(vistos.add(indices[j]), "Índice repetido: " + indices[j]);
+            assertEquals(distancia(punto(puntos, dimensiones, indices[j]), consulta), distancias[j]);
+        }
+    }
+
+    /**
+     * Distancias (al cuadrado) a todos los puntos menos el excluido, de menor a mayor
+     */
+    private static float[] fuerzaBruta(float[] puntos, int dimensiones, float[] consulta, int excluido) {
+        int tamano = puntos.length / dimensiones;
+        float[] distancias = new float[excluido >= 0 ? tamano - 1 : tamano];
+        int n = 0;
+        for (int p = 0; p < tamano; p++) {
+            if (p != excluido) {
+                distancias[n++] = distancia(punto(puntos, dimensiones, p), consulta);
+            }
+        }
+        Arrays.sort(distancias);
+        return distancias;
+    }
+
+    private static float distancia(float[] a, float[] b) {
+        float d = 0;
+        for (int e = 0; e < a.length; e++) {
+            float diferencia = a[e] - b[e];
+            d += diferencia * diferencia;
+        }
+        return d;
+    }
+
+    private static float[] punto(float[] puntos, int dimensiones, int i) {
+        return Arrays.copyOfRange(puntos, i * dimensiones, (i + 1) * dimensiones);
+    }
+}
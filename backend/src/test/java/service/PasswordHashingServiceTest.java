@@ -0,0 +1,69 @@
+package service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Una tarea que agota la espera en cola se quita y no llega a calcularse
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger calculados = new AtomicInteger();
+    private PasswordHashingService servicio;
+
+    @AfterEach
+    void cerrar() {
+        liberar.countDown();
+        servicio.shutdown();
+    }
+
+    @Test
+    void laTareaEnColaSeDescartaAlAgotarLaEspera() throws Exception {
+        CountDownLatch ocupado = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                calculados.incrementAndGet();
+                ocupado.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        servicio = new PasswordHashingService(lento, new SimpleMeterRegistry(), 10, 1, 4, 100);
+
+        // El único hilo queda ocupado con la primera contraseña (su llamante también se rinde)
+        CompletableFuture.runAsync(() -> assertThrows(PasswordHashingService.BusyException.class,
+                () -> servicio.encode("uno")));
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+
+        // La segunda espera en cola, agota los 100 ms y sale de la cola
+        assertThrows(PasswordHashingService.BusyException.class, () -> servicio.encode("dos"));
+        assertEquals(0, servicio.enCola());
+
+        // Con el hilo libre, la tercera se calcula justo después de la primera: la segunda nunca
+        liberar.countDown();
+        assertEquals("hash", servicio.encode("tres"));
+        assertEquals(2, calculados.get());
+    }
+}
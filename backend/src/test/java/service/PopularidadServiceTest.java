@@ -0,0 +1,105 @@
+package service;
+
+import com.pokedex.PokedexApplication;
+import entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Contadores de popularidad: volcado diferido a pokemon_popularidad, reconciliación
+ * con la tabla favoritos y borrado de cuentas con favoritos
+ * (cada prueba usa sus propios Pokémon para no depender de las demás)
+ */
+@SpringBootTest(classes = PokedexApplication.class)
+@ActiveProfiles("test")
+class PopularidadServiceTest {
+
+    private static final String INSERTAR_FAVORITO =
+            "INSERT INTO favoritos (usuario_id, pokemon_id, fecha_agregado) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private PopularidadService popularidadService;
+
+    @Autowired
+    private FavoritoService favoritoService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void volcadoInsertaYActualizaLosTotales() {
+        int pokemonId = 901;
+        popularidadService.sumar(pokemonId);
+        popularidadService.sumar(pokemonId);
+        popularidadService.sumar(pokemonId);
+        popularidadService.volcar();
+        assertEquals(3L, guardado(pokemonId));
+
+        popularidadService.restar(pokemonId);
+        popularidadService.volcar();
+        assertEquals(2L, guardado(pokemonId));
+        assertEquals(2L, popularidadService.favoritos(pokemonId));
+    }
+
+    @Test
+    void reconciliarCorrigeLosTotalesConLosFavoritos() {
+        int conFavoritos = 911;
+        int sinFavoritos = 912;
+        // Favoritos escritos sin pasar por FavoritoService y una fila guardada que ya no es cierta
+        jdbcTemplate.update(INSERTAR_FAVORITO, usuario("popularidad_uno"), conFavoritos);
+        jdbcTemplate.update(INSERTAR_FAVORITO, usuario("popularidad_dos"), conFavoritos);
+        jdbcTemplate.update("INSERT INTO pokemon_popularidad (pokemon_id, favoritos, actualizado) " +
+                "VALUES (?, 5, CURRENT_TIMESTAMP)", sinFavoritos);
+
+        popularidadService.reconciliar();
+        assertEquals(2L, popularidadService.favoritos(conFavoritos));
+        assertEquals(0L, popularidadService.favoritos(sinFavoritos));
+
+        popularidadService.volcar();
+        assertEquals(2L, guardado(conFavoritos));
+        assertEquals(0L, guardado(sinFavoritos));
+    }
+
+    @Test
+    void borrarCuentaEliminaYDescuentaSusFavoritos() {
+        usuario("popularidad_borrada");
+        for (int pokemonId : List.of(921, 922)) {
+            favoritoService.toggleFavorito("popularidad_borrada", pokemonId);
+        }
+        assertEquals(1L, popularidadService.favoritos(921));
+
+        authService.deleteAccount("popularidad_borrada");
+
+        assertFalse(userRepository.findByUsername("popularidad_borrada").isPresent());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM favoritos WHERE pokemon_id IN (921, 922)", Integer.class));
+        assertEquals(0L, popularidadService.favoritos(921));
+        assertEquals(0L, popularidadService.favoritos(922));
+    }
+
+    private long guardado(int pokemonId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT favoritos FROM pokemon_popularidad WHERE pokemon_id = ?", Long.class, pokemonId);
+    }
+
+    private int usuario(String username) {
+        return userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(new User(username, "x", username + "@test.local")))
+                .getId();
+    }
+}
@@ -0,0 +1,113 @@
+package service;
+
+import com.pokedex.PokedexApplication;
+import dto.RankingEntradaDTO;
+import entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Posiciones del ranking del quiz (con empates) y su volcado diferido a quiz_ranking
+ * (cada prueba usa una generación propia para no depender de las demás)
+ */
+@SpringBootTest(classes = PokedexApplication.class)
+@ActiveProfiles("test")
+class QuizRankingServiceTest {
+
+    @Autowired
+    private QuizRankingService quizRankingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void posicionEsUnoMasLosQueTienenMasPuntos() {
+        int gen = 71;
+        int ana = usuario("ranking_ana");
+        int bea = usuario("ranking_bea");
+        int carla = usuario("ranking_carla");
+        int dani = usuario("ranking_dani");
+
+        registrar(ana, gen, 300);
+        registrar(bea, gen, 500);
+        registrar(carla, gen, 300);
+        registrar(dani, gen, 100);
+
+        assertEquals(1, quizRankingService.posicion(bea, gen));
+        assertEquals(2, quizRankingService.posicion(ana, gen));
+        assertEquals(2, quizRankingService.posicion(carla, gen));
+        assertEquals(4, quizRankingService.posicion(dani, gen));
+        assertEquals(4, quizRankingService.miPosicion(dani, gen).getParticipantes());
+
+        // Los empatados comparten posición; a igualdad de puntos, primero quien llegó antes
+        List<RankingEntradaDTO> top = quizRankingService.top(gen, 10);
+        assertEquals(List.of("ranking_bea", "ranking_ana", "ranking_carla", "ranking_dani"),
+                top.stream().map(RankingEntradaDTO::getUsername).toList());
+        assertEquals(List.of(1, 2, 2, 4), top.stream().map(RankingEntradaDTO::getPosicion).toList());
+
+        // Solo cuenta la mejor puntuación de cada usuario
+        registrar(ana, gen, 200);
+        registrar(dani, gen, 600);
+        assertEquals(1, quizRankingService.posicion(dani, gen));
+        assertEquals(2, quizRankingService.posicion(bea, gen));
+        assertEquals(3, quizRankingService.posicion(ana, gen));
+        assertEquals(3, quizRankingService.posicion(carla, gen));
+        assertEquals(4, quizRankingService.miPosicion(dani, gen).getParticipantes());
+    }
+
+    @Test
+    void volcadoInsertaYMejoraLasFilas() {
+        int gen = 72;
+        int eva = usuario("ranking_eva");
+
+        registrar(eva, gen, 300);
+        quizRankingService.volcar();
+        assertEquals(300, puntosGuardados(eva, gen));
+
+        registrar(eva, gen, 450);
+        registrar(eva, gen, 150);
+        quizRankingService.volcar();
+        assertEquals(450, puntosGuardados(eva, gen));
+        assertEquals(450, puntosGuardados(eva, QuizRankingService.GLOBAL));
+
+        quizRankingService.eliminarUsuario(eva);
+        assertNull(quizRankingService.posicion(eva, gen));
+        assertEquals(0, filas(eva));
+        quizRankingService.volcar();
+        assertEquals(0, filas(eva));
+    }
+
+    private void registrar(int usuarioId, int generacion, int puntos) {
+        int aciertos = puntos / QuizDificultad.EASY.getPuntosPorAcierto();
+        quizRankingService.registrar(usuarioId, generacion, QuizDificultad.EASY, aciertos, 10, puntos);
+    }
+
+    private int puntosGuardados(int usuarioId, int generacion) {
+        return jdbcTemplate.queryForObject(
+                "SELECT puntos FROM quiz_ranking WHERE usuario_id = ? AND generacion = ?",
+                Integer.class, usuarioId, generacion);
+    }
+
+    private int filas(int usuarioId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM quiz_ranking WHERE usuario_id = ?", Integer.class, usuarioId);
+    }
+
+    private int usuario(String username) {
+        return userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(new User(username, "x", username + "@test.local")))
+                .getId();
+    }
+}
@@ -0,0 +1,226 @@
+package service;
+
+import com.pokedex.PokedexApplication;
+import dto.QuizDTO;
+import dto.QuizPreguntaDTO;
+import dto.QuizResultadoDTO;
+import entity.User;
+import loader.GeneradorDatosSinteticos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import repository.UserRepository;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Puntuación del quiz y validación de sus códigos (firma, usuario al que están ligados,
+ * un solo envío, caducidad, semilla secreta y revisión solo para quien lo envió) y
+ * opciones sin repetir
+ */
+@SpringBootTest(classes = PokedexApplication.class)
+@ActiveProfiles("test")
+class QuizServiceTest {
+
+    private static final int PREGUNTAS = 10;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private EfectividadService efectividadService;
+
+    @Autowired
+    private TipoRegistry tipoRegistry;
+
+    @Autowired
+    private QuizRankingService quizRankingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Integer jugador;
+    private Integer otro;
+
+    @BeforeEach
+    void preparar() {
+        Integer pokemon = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM Pokemon", Integer.class);
+        if (pokemon == null || pokemon == 0) {
+            new GeneradorDatosSinteticos(jdbcTemplate, 7, catalogoService).generar(300, 0, 0);
+            tipoRegistry.recargar();
+        }
+        jugador = usuario("quiz_jugador");
+        otro = usuario("quiz_otro");
+    }
+
+    @Test
+    void puntuaLosAciertosUnaSolaVez() {
+        QuizDTO quiz = quizService.generar("normal", null, PREGUNTAS, null, jugador);
+        List<Integer> respuestas = Collections.nCopies(PREGUNTAS, 0);
+
+        // Solo lo puede enviar el usuario al que está ligado
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(quiz.getCodigo(), respuestas, otro));
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(quiz.getCodigo(), respuestas, null));
+
+        QuizResultadoDTO resultado = quizService.puntuar(quiz.getCodigo(), respuestas, jugador);
+
+        long aciertos = resultado.getRespuestasCorrectas().stream().filter(c -> c == 0).count();
+        assertEquals(aciertos, resultado.getAciertos().longValue());
+        assertEquals(PREGUNTAS, resultado.getTotal());
+        assertEquals(resultado.getAciertos() * QuizDificultad.NORMAL.getPuntosPorAcierto(), resultado.getPuntos());
+        assertNotNull(resultado.getPosicionGlobal());
+
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(quiz.getCodigo(), respuestas, jugador));
+    }
+
+    @Test
+    void semillaDelClienteRepiteElQuizPeroNoPuntuaEnElRanking() {
+        QuizDTO primero = quizService.generar("hard", null, PREGUNTAS, 42L, null);
+        QuizDTO segundo = quizService.generar("hard", null, PREGUNTAS, 42L, otro);
+        assertEquals(textos(primero), textos(segundo));
+
+        List<Integer> correctas = quizService.puntuar(primero.getCodigo(),
+                Collections.nCopies(PREGUNTAS, 0), null).getRespuestasCorrectas();
+        QuizResultadoDTO resultado = quizService.puntuar(segundo.getCodigo(), correctas, otro);
+
+        assertEquals(PREGUNTAS, resultado.getAciertos());
+        assertEquals(PREGUNTAS * QuizDificultad.HARD.getPuntosPorAcierto(), resultado.getPuntos());
+        assertNull(resultado.getPosicionGlobal());
+        assertNull(quizRankingService.posicion(otro, QuizRankingService.GLOBAL));
+
+        // Sin ligar a un usuario no se registra el envío ni hay revisión
+        assertEquals(PREGUNTAS, quizService.puntuar(segundo.getCodigo(), correctas, otro).getAciertos());
+        assertThrows(RuntimeException.class, () -> quizService.revision(segundo.getCodigo(), otro));
+    }
+
+    @Test
+    void laSemillaDeUnQuizClasificableNoSePuedeReproducir() {
+        QuizDTO clasificable = quizService.generar("normal", null, PREGUNTAS, null, jugador);
+
+        // La semilla no viaja en el código: pedir un quiz con los bytes que ocupaba
+        // (o con cualquier otra semilla) no repite las preguntas
+        byte[] datos = Base64.getUrlDecoder().decode(clasificable.getCodigo());
+        long enElCodigo = ByteBuffer.wrap(datos).getLong();
+        assertEquals(0L, enElCodigo);
+        for (long semilla : new long[]{enElCodigo, 1L, 42L}) {
+            QuizDTO repetido = quizService.generar("normal", null, PREGUNTAS, semilla, null);
+            assertNotEquals(textos(clasificable), textos(repetido));
+        }
+
+        // Dos quizzes clasificables del mismo usuario tampoco coinciden
+        assertNotEquals(textos(clasificable),
+                textos(quizService.generar("normal", null, PREGUNTAS, null, jugador)));
+    }
+
+    @Test
+    void rechazaCodigosManipuladosOAjenos() {
+        QuizDTO quiz = quizService.generar("easy", null, PREGUNTAS, null, jugador);
+        List<Integer> respuestas = Collections.nCopies(PREGUNTAS, 0);
+
+        // Otro usuario con la misma firma
+        byte[] ajenoDatos = Base64.getUrlDecoder().decode(quiz.getCodigo());
+        ByteBuffer.wrap(ajenoDatos).putInt(Long.BYTES + 3, otro);
+        String deOtro = Base64.getUrlEncoder().withoutPadding().encodeToString(ajenoDatos);
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(deOtro, respuestas, otro));
+
+        // Más preguntas con la misma firma
+        byte[] datos = Base64.getUrlDecoder().decode(quiz.getCodigo());
+        datos[Long.BYTES + 2] = (byte) (PREGUNTAS + 1);
+        String manipulado = Base64.getUrlEncoder().withoutPadding().encodeToString(datos);
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(manipulado,
+                Collections.nCopies(PREGUNTAS + 1, 0), jugador));
+
+        // Formato anterior, sin firma: semilla, dificultad, generación y preguntas
+        String sinFirma = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ByteBuffer.allocate(Long.BYTES + 3).putLong(42L).put((byte) 3).put((byte) 0)
+                        .put((byte) PREGUNTAS).array());
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(sinFirma, respuestas, jugador));
+        assertThrows(RuntimeException.class, () -> quizService.puntuar("no-es-un-codigo", respuestas, jugador));
+
+        // Firmado con otra clave
+        QuizService otroServidor = new QuizService(catalogoService, efectividadService, tipoRegistry,
+                quizRankingService, "otra-clave", 60_000);
+        String ajeno = otroServidor.generar("easy", null, PREGUNTAS, null, jugador).getCodigo();
+        assertThrows(RuntimeException.class, () -> quizService.puntuar(ajeno, respuestas, jugador));
+
+        // El original sigue siendo válido
+        assertEquals(PREGUNTAS, quizService.puntuar(quiz.getCodigo(), respuestas, jugador).getTotal());
+    }
+
+    @Test
+    void rechazaCodigosCaducados() {
+        QuizService caducidadInmediata = new QuizService(catalogoService, efectividadService, tipoRegistry,
+                quizRankingService, "clave", -1);
+        String codigo = caducidadInmediata.generar("easy", null, PREGUNTAS, null, jugador).getCodigo();
+        assertThrows(RuntimeException.class, () ->
+                caducidadInmediata.puntuar(codigo, Collections.nCopies(PREGUNTAS, 0), jugador));
+    }
+
+    @Test
+    void revisionSoloDespuesDeEnviarYParaQuienLoEnvio() {
+        QuizDTO quiz = quizService.generar("expert", null, PREGUNTAS, null, jugador);
+        assertNull(quiz.getPreguntas().get(0).getRespuestaCorrecta());
+        assertThrows(RuntimeException.class, () -> quizService.revision(quiz.getCodigo(), jugador));
+
+        QuizResultadoDTO resultado = quizService.puntuar(quiz.getCodigo(), Collections.nCopies(PREGUNTAS, 1), jugador);
+
+        assertThrows(RuntimeException.class, () -> quizService.revision(quiz.getCodigo(), otro));
+        assertThrows(RuntimeException.class, () -> quizService.revision(quiz.getCodigo(), null));
+        QuizDTO revision = quizService.revision(quiz.getCodigo(), jugador);
+        assertEquals(textos(quiz), textos(revision));
+        assertEquals(resultado.getRespuestasCorrectas(),
+                revision.getPreguntas().stream().map(QuizPreguntaDTO::getRespuestaCorrecta).toList());
+    }
+
+    @Test
+    void lasOpcionesDeTipoNoRepitenUnParEnOtroOrden() {
+        int preguntasDeTipo = 0;
+        for (long semilla = 0; semilla < 1_000; semilla++) {
+            for (QuizPreguntaDTO pregunta : quizService.generar("easy", null, QuizService.MAX_PREGUNTAS, semilla, null).getPreguntas()) {
+                if (!"tipo".equals(pregunta.getCategoria())) {
+                    continue;
+                }
+                preguntasDeTipo++;
+                Set<Set<String>> distintas = new HashSet<>();
+                for (String opcion : pregunta.getOpciones()) {
+                    assertTrue(distintas.add(Set.of(opcion.split("/"))),
+                            "Opción repetida en otro orden: " + pregunta.getOpciones());
+                }
+            }
+        }
+        assertTrue(preguntasDeTipo > 0);
+    }
+
+    private Integer usuario(String username) {
+        return userRepository.findByUsername(username)
+                .orElseGet(() -> userRepository.save(new User(username, "x", username + "@test.local")))
+                .getId();
+    }
+
+    private static List<String> textos(QuizDTO quiz) {
+        return quiz.getPreguntas().stream()
+                .map(p -> p.getPregunta() + " " + p.getOpciones())
+                .toList();
+    }
+}
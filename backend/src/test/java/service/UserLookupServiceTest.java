@@ -0,0 +1,42 @@
+package service;
+
+import dto.UserSummary;
+import org.junit.jupiter.api.Test;
+import repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLookupServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserLookupService servicio = new UserLookupService(userRepository);
+
+    @Test
+    void cacheaLaConsulta() {
+        when(userRepository.findSummaryByUsername("ash"))
+                .thenReturn(Optional.of(new UserSummary(1, "ash", "USER", true)));
+
+        servicio.obtenerId("ash");
+        servicio.obtenerId("ash");
+
+        verify(userRepository, times(1)).findSummaryByUsername("ash");
+    }
+
+    @Test
+    void unaConsultaQueCruzaUnaInvalidacionNoSeQuedaEnCache() {
+        // La cuenta se renombra mientras la consulta está leyendo la fila antigua
+        when(userRepository.findSummaryByUsername("ash")).thenAnswer(invocacion -> {
+            servicio.invalidar("ash");
+            return Optional.of(new UserSummary(1, "ash", "USER", true));
+        }).thenReturn(Optional.of(new UserSummary(2, "ash", "USER", true)));
+
+        assertEquals(1, servicio.obtenerId("ash"));
+        assertEquals(2, servicio.obtenerId("ash"));
+    }
+}
@@ -0,0 +1,37 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheLruTest {
+
+    @Test
+    void unaRafagaDeClavesNuevasNoDesplazaALaQueSeUsa() {
+        CacheLru<String, Integer> cache = new CacheLru<>(160);
+        cache.put("habitual", 0);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("rafaga-" + i, i);
+            assertEquals(0, cache.get("habitual"));
+        }
+
+        assertTrue(cache.size() <= 160, "Tamaño: " + cache.size());
+        assertNull(cache.get("rafaga-0"));
+        assertEquals(9_999, cache.get("rafaga-9999"));
+    }
+
+    @Test
+    void quitarSoloSiNoHaCambiado() {
+        CacheLru<String, Integer> cache = new CacheLru<>(16);
+        cache.put("clave", 1);
+        cache.put("clave", 2);
+
+        assertFalse(cache.remove("clave", 1));
+        assertTrue(cache.remove("clave", 2));
+        assertNull(cache.get("clave"));
+    }
+}
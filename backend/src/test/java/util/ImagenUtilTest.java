@@ -0,0 +1,49 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImagenUtilTest {
+
+    @Test
+    void leeUnaImagenNormal() throws Exception {
+        BufferedImage imagen = ImagenUtil.leer(ImagenUtil.aPng(new BufferedImage(3, 2, BufferedImage.TYPE_INT_ARGB)));
+
+        assertEquals(3, imagen.getWidth());
+        assertEquals(2, imagen.getHeight());
+    }
+
+    @Test
+    void rechazaDimensionesEnormesSinDecodificar() throws Exception {
+        // PNG de unos pocos bytes cuya cabecera declara 100.000 x 100.000 px
+        byte[] png = conDimensiones(ImagenUtil.aPng(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB)),
+                100_000, 100_000);
+
+        assertThrows(ImagenUtil.ImagenDemasiadoGrandeException.class, () -> ImagenUtil.leer(png));
+    }
+
+    @Test
+    void devuelveNullSiNoEsUnaImagen() throws Exception {
+        assertNull(ImagenUtil.leer("no es una imagen".getBytes()));
+    }
+
+    /**
+     * Reescribir ancho y alto del bloque IHDR (y su CRC)
+     */
+    private static byte[] conDimensiones(byte[] png, int ancho, int alto) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, ancho);
+        buffer.putInt(20, alto);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+}